@@ -0,0 +1,33 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import maze.BulkLoader;
+
+/**
+ * Loads every maze file under a directory, printing whether each one is
+ * valid and the throughput of the whole load.
+ * Usage: java BulkLoad directory [threads] [memory limit in MB]
+ * @version 19/10/2026
+ */
+public class BulkLoad {
+
+  public static void main(String[] args) {
+    if (args.length < 1) {
+      System.out.println("Usage: java BulkLoad directory [threads] [memory limit in MB]");
+      return;
+    }
+    int threads = args.length > 1 ? Integer.parseInt(args[1])
+                                  : Runtime.getRuntime().availableProcessors();
+    long limit = args.length > 2 ? Long.parseLong(args[2]) << 20
+                                 : Runtime.getRuntime().maxMemory() / 2;
+    try {
+      BulkLoader.Report report = new BulkLoader(threads, limit).load(Paths.get(args[0]));
+      for (BulkLoader.Result result : report.getResults()) {
+        System.out.println(result);
+      }
+      System.out.println(report);
+    } catch (IOException e) {
+      System.out.println("Load failed: " + e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,94 @@
+import java.util.Arrays;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import maze.ByteClassifier;
+import maze.Maze;
+import maze.PackedGrid;
+import maze.ScalarClassifier;
+import maze.TxtParser;
+import maze.generation.EllerGenerator;
+
+/**
+ * Compares the ways of checking the characters of a maze file. The scalar
+ * and Vector API classifiers scan every row of a generated file, and the
+ * Tile.fromChar path is timed by building a maze from the parsed grid,
+ * which makes a tile per character. The Vector API classifier is only
+ * used when it is compiled and run with --add-modules jdk.incubator.vector.
+ * Usage: java ClassifierBenchmark [size] [runs]
+ * @version 19/10/2026
+ */
+public class ClassifierBenchmark {
+
+  public static void main(String[] args) throws Exception {
+    int size = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+    int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+    Path file = Files.createTempFile("classifier", ".txt");
+    try {
+      EllerGenerator.write(size, size, 1, file);
+      byte[] text = Files.readAllBytes(file);
+      PackedGrid grid = TxtParser.parse(file, false);
+      System.out.println("Checking a " + grid.getWidth() + " x " + grid.getHeight()
+                         + " maze, " + runs + " runs");
+
+      ByteClassifier[] classifiers = {new ScalarClassifier(), ByteClassifier.load()};
+      for (int i = 0; i < classifiers.length; i++) {
+        if (i > 0 && classifiers[i].getName().equals(classifiers[0].getName())) {
+          System.out.println("Vector API classifier not available");
+          break;
+        }
+        // Warms up the classifier so the timed runs are compiled
+        for (int run = 0; run < 3; run++) {
+          scanRows(classifiers[i], text, grid.getWidth());
+        }
+        long start = System.nanoTime();
+        for (int run = 0; run < runs; run++) {
+          scanRows(classifiers[i], text, grid.getWidth());
+        }
+        report(classifiers[i].getName(), System.nanoTime() - start, text.length, runs);
+      }
+
+      for (int run = 0; run < 2; run++) {
+        Maze.fromGrid(grid);
+      }
+      long start = System.nanoTime();
+      for (int run = 0; run < runs; run++) {
+        Maze.fromGrid(grid);
+      }
+      report("Tile.fromChar", System.nanoTime() - start, text.length, runs);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  /**
+   * Scans each row of a maze file, recording the walls
+   * @param classifier The classifier to scan with
+   * @param text The maze file
+   * @param width The length of a row
+   */
+  private static void scanRows(ByteClassifier classifier, byte[] text, int width) {
+    long[] walls = new long[(width + 63) >>> 6];
+    int[] counts = new int[2];
+    for (int from = 0; from < text.length; from += width + 1) {
+      Arrays.fill(walls, 0);
+      if (classifier.scan(text, from, from + width, walls, counts) != -1) {
+        throw new IllegalStateException("Generated maze has an invalid character");
+      }
+    }
+  }
+
+  /**
+   * Prints the time taken and throughput of a method
+   * @param name The name of the method
+   * @param nanos The time taken by every run
+   * @param bytes The size of the file
+   * @param runs The number of runs
+   */
+  private static void report(String name, long nanos, long bytes, int runs) {
+    double seconds = nanos / 1e9;
+    System.out.printf("%-20s %8.1f ms per file %8.1f MB/s%n", name, seconds * 1000 / runs,
+                      bytes * runs / seconds / 1e6);
+  }
+}
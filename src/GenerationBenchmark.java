@@ -0,0 +1,33 @@
+import maze.generation.MazeGenerator;
+
+/**
+ * Compares the throughput of the maze generators. Each generator is warmed
+ * up first, then timed over several runs and reported in millions of tiles
+ * generated per second.
+ * Usage: java GenerationBenchmark [size] [runs]
+ * @version 19/10/2026
+ */
+public class GenerationBenchmark {
+
+  public static void main(String[] args) {
+    int size = args.length > 0 ? Integer.parseInt(args[0]) : 1001;
+    int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+    String[] names = {"division", "kruskal", "wilson", "prim", "cave"};
+    System.out.println("Generating " + size + " x " + size + " mazes, " + runs + " runs");
+    for (int i = 0; i < names.length; i++) {
+      MazeGenerator generator = MazeGenerator.byName(names[i]);
+      // Warms up the generator so the timed runs are compiled
+      for (int run = 0; run < 3; run++) {
+        generator.generate(size, size, run);
+      }
+      long start = System.nanoTime();
+      for (int run = 0; run < runs; run++) {
+        generator.generate(size, size, run);
+      }
+      double seconds = (System.nanoTime() - start) / 1e9;
+      double tiles = (double) size * size * runs;
+      System.out.printf("%-20s %8.1f ms per maze %8.2f Mtiles/s%n", names[i],
+                        seconds * 1000 / runs, tiles / seconds / 1e6);
+    }
+  }
+}
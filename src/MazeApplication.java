@@ -202,6 +202,7 @@ public class MazeApplication extends Application {
       route = new RouteFinder(maze);
       long endTime = System.currentTimeMillis();
       System.out.println("Took "+(endTime - startTime) + " ms to create maze");
+      System.out.println("Seed " + maze.getSeed());
       startTime = System.currentTimeMillis();
       if (!(route.isFinished())) {
           mid.getChildren().clear();
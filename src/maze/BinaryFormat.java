@@ -0,0 +1,472 @@
+package maze;
+
+// Utils
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.zip.CRC32;
+
+// Input and output imports
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Package imports
+import maze.NoEntranceException;
+import maze.NoExitException;
+
+/**
+ * Compact binary form of a maze, about an eighth of the size of the text
+ * form. Walls are stored as one bit per tile and the entrance and exits as
+ * coordinates in the header, so loading only unpacks bits and never checks
+ * characters. Mazes with weighted terrain get a second plane of two bits
+ * per tile. All numbers are little endian ints.
+ *
+ * Layout, version 1:
+ *   "MAZB", version byte, flags byte (bit 0 set if there is a terrain
+ *   plane), two zero bytes, width, height, entrance column and row, number
+ *   of exits, the column and row of each exit, then a CRC32 of every other
+ *   byte in the file. The wall plane follows, a row at a time with each row
+ *   starting on a new byte and bit c % 8 of byte c / 8 set if column c is a
+ *   wall, then the terrain plane if there is one, with four tiles to a byte
+ *   holding 0 for corridor, 1 rough, 2 mud and 3 water. Row 0 is the top row.
+ * @version 19/10/2026
+ */
+public final class BinaryFormat {
+
+  // Identifies the file and the layout it uses
+  public static final int VERSION = 1;
+  private static final byte[] MAGIC = {'M', 'A', 'Z', 'B'};
+
+  // Flag set when the terrain plane is present
+  private static final int TERRAIN = 1;
+
+  // Bytes before the exits, and the size of each exit
+  private static final int FIXED_HEADER = 28;
+  private static final int COORDINATE = 8;
+
+  // Cell codes of the terrain plane values, and the other way round
+  private static final byte[] TERRAIN_CODES = {PackedGrid.CORRIDOR, PackedGrid.ROUGH,
+                                               PackedGrid.MUD, PackedGrid.WATER};
+  private static final int[] TERRAIN_VALUES = terrainValues();
+
+  // Eight tiles of walls and corridors for every byte of the wall plane
+  private static final long[] SPREAD = spread();
+  private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(
+                                             long[].class, ByteOrder.LITTLE_ENDIAN);
+
+  /**
+   * Private constructor, the class only holds static methods
+   */
+  private BinaryFormat() {
+  }
+
+  /**
+   * Builds the table of terrain plane values for each cell code
+   * @return Returns the value of each code, 0 for codes without terrain
+   */
+  private static int[] terrainValues() {
+    int[] values = new int[PackedGrid.WATER + 1];
+    for (int i = 0; i < TERRAIN_CODES.length; i++) {
+      values[TERRAIN_CODES[i]] = i;
+    }
+    return values;
+  }
+
+  /**
+   * Builds the table turning a byte of the wall plane into eight cells
+   * @return Returns eight cell codes packed into a long for each byte value
+   */
+  private static long[] spread() {
+    long[] spread = new long[256];
+    for (int bits = 0; bits < 256; bits++) {
+      for (int bit = 0; bit < 8; bit++) {
+        if ((bits >>> bit & 1) != 0) {
+          spread[bits] |= (long) PackedGrid.WALL << (bit * 8);
+        }
+      }
+    }
+    return spread;
+  }
+
+  /**
+   * Writes a grid to a file, replacing anything already there
+   * @param grid The grid to write
+   * @param file The file to write to
+   * @throws IOException If the file cannot be written
+   * @throws NoEntranceException If the grid has no entrance
+   * @throws NoExitException If the grid has no exit
+   */
+  public static void write(PackedGrid grid, Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                                                StandardOpenOption.WRITE,
+                                                StandardOpenOption.TRUNCATE_EXISTING)) {
+      write(grid, channel);
+    }
+  }
+
+  /**
+   * Writes a grid to a channel
+   * @param grid The grid to write
+   * @param channel The channel to write to
+   * @throws IOException If the channel cannot be written
+   * @throws NoEntranceException If the grid has no entrance
+   * @throws NoExitException If the grid has no exit
+   */
+  public static void write(PackedGrid grid, WritableByteChannel channel)
+                           throws IOException {
+    int width = grid.getWidth();
+    int height = grid.getHeight();
+    int entrance = grid.indexOf(PackedGrid.ENTRANCE);
+    if (entrance == -1) {
+      throw new NoEntranceException("No Entance");
+    }
+    int exitCount = 0;
+    boolean terrain = false;
+    byte[] cells = grid.cells();
+    for (int i = 0; i < cells.length; i++) {
+      exitCount += cells[i] == PackedGrid.EXIT ? 1 : 0;
+      terrain |= cells[i] > PackedGrid.WALL;
+    }
+    if (exitCount == 0) {
+      throw new NoExitException("No Exit");
+    }
+
+    int headerSize = FIXED_HEADER + exitCount * COORDINATE + 4;
+    ByteBuffer header = ByteBuffer.allocate(headerSize).order(ByteOrder.LITTLE_ENDIAN);
+    header.put(MAGIC).put((byte) VERSION).put((byte) (terrain ? TERRAIN : 0))
+          .putShort((short) 0).putInt(width).putInt(height)
+          .putInt(grid.getColumn(entrance)).putInt(grid.getRow(entrance))
+          .putInt(exitCount);
+    for (int i = 0; i < cells.length; i++) {
+      if (cells[i] == PackedGrid.EXIT) {
+        header.putInt(grid.getColumn(i)).putInt(grid.getRow(i));
+      }
+    }
+
+    byte[] walls = packWalls(cells, width, height);
+    byte[] terrainPlane = terrain ? packTerrain(cells, width, height) : new byte[0];
+    CRC32 crc = new CRC32();
+    crc.update(header.array(), 0, header.position());
+    crc.update(walls);
+    crc.update(terrainPlane);
+    header.putInt((int) crc.getValue());
+    header.flip();
+    ByteBuffer[] parts = {header, ByteBuffer.wrap(walls), ByteBuffer.wrap(terrainPlane)};
+    for (ByteBuffer part : parts) {
+      while (part.hasRemaining()) {
+        channel.write(part);
+      }
+    }
+  }
+
+  /**
+   * Packs the walls of a grid into one bit per tile
+   * @param cells The cells of the grid
+   * @param width The width of the grid
+   * @param height The height of the grid
+   * @return Returns the wall plane
+   */
+  private static byte[] packWalls(byte[] cells, int width, int height) {
+    int rowBytes = (width + 7) >>> 3;
+    byte[] plane = new byte[rowBytes * height];
+    for (int row = 0; row < height; row++) {
+      int base = row * width;
+      for (int column = 0; column < width; column++) {
+        if (cells[base + column] == PackedGrid.WALL) {
+          plane[row * rowBytes + (column >>> 3)] |= 1 << (column & 7);
+        }
+      }
+    }
+    return plane;
+  }
+
+  /**
+   * Packs the terrain of a grid into two bits per tile
+   * @param cells The cells of the grid
+   * @param width The width of the grid
+   * @param height The height of the grid
+   * @return Returns the terrain plane
+   */
+  private static byte[] packTerrain(byte[] cells, int width, int height) {
+    int rowBytes = (width + 3) >>> 2;
+    byte[] plane = new byte[rowBytes * height];
+    for (int row = 0; row < height; row++) {
+      int base = row * width;
+      for (int column = 0; column < width; column++) {
+        int value = TERRAIN_VALUES[cells[base + column]];
+        plane[row * rowBytes + (column >>> 2)] |= value << ((column & 3) * 2);
+      }
+    }
+    return plane;
+  }
+
+  /**
+   * Reads a grid from a file by memory mapping it
+   * @param file The file to read
+   * @return Returns the grid stored in the file
+   * @throws IOException If the file cannot be read, is not a binary maze,
+   *         uses an unknown version or fails its checksum
+   */
+  public static PackedGrid read(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("Not a binary maze");
+      }
+      return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * Reads a grid from the remaining bytes of a buffer
+   * @param buffer The bytes of a binary maze, left unchanged
+   * @return Returns the grid stored in the buffer
+   * @throws IOException If the bytes are not a binary maze, use an unknown
+   *         version or fail their checksum
+   */
+  public static PackedGrid read(ByteBuffer buffer) throws IOException {
+    ByteBuffer in = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+    if (in.remaining() < FIXED_HEADER + 4) {
+      throw new IOException("Not a binary maze");
+    }
+    for (int i = 0; i < MAGIC.length; i++) {
+      if (in.get(i) != MAGIC[i]) {
+        throw new IOException("Not a binary maze");
+      }
+    }
+    if (in.get(4) != VERSION) {
+      throw new IOException("Unsupported binary maze version " + in.get(4));
+    }
+    boolean terrain = (in.get(5) & TERRAIN) != 0;
+    int width = in.getInt(8);
+    int height = in.getInt(12);
+    int exitCount = in.getInt(24);
+    if (width < 1 || height < 1 || (long) width * height > Integer.MAX_VALUE - 8
+        || exitCount < 1 || exitCount > (in.remaining() - FIXED_HEADER) / COORDINATE) {
+      throw new IOException("Corrupt binary maze");
+    }
+    int crcAt = FIXED_HEADER + exitCount * COORDINATE;
+    int wallsAt = crcAt + 4;
+    long wallBytes = (long) ((width + 7) >>> 3) * height;
+    long terrainBytes = terrain ? (long) ((width + 3) >>> 2) * height : 0;
+    if (in.remaining() != wallsAt + wallBytes + terrainBytes) {
+      throw new IOException("Corrupt binary maze");
+    }
+
+    CRC32 crc = new CRC32();
+    crc.update(in.duplicate().limit(crcAt));
+    crc.update(in.duplicate().position(wallsAt));
+    if ((int) crc.getValue() != in.getInt(crcAt)) {
+      throw new IOException("Binary maze checksum does not match");
+    }
+
+    byte[] cells = new byte[width * height];
+    unpackWalls(in, wallsAt, cells, width, height);
+    if (terrain) {
+      unpackTerrain(in, (int) (wallsAt + wallBytes), cells, width, height);
+    }
+    PackedGrid grid = new PackedGrid(width, height, cells);
+    place(grid, in, 16, PackedGrid.ENTRANCE);
+    for (int i = 0; i < exitCount; i++) {
+      place(grid, in, FIXED_HEADER + i * COORDINATE, PackedGrid.EXIT);
+    }
+    return grid;
+  }
+
+  /**
+   * Reads only a rectangle of a binary maze, reading just the bytes of the
+   * planes which cover it. The checksum covers the whole file so it is not
+   * checked.
+   * @param file The file to read
+   * @param column The first column of the rectangle
+   * @param row The first row of the rectangle, 0 being the top row
+   * @param width The width of the rectangle
+   * @param height The height of the rectangle
+   * @return Returns a grid of the rectangle, holding the entrance and exits
+   *         which are inside it
+   * @throws IOException If the file cannot be read, is not a binary maze or
+   *         uses an unknown version
+   * @throws IllegalArgumentException If the rectangle is not inside the maze
+   */
+  public static PackedGrid readRegion(Path file, int column, int row, int width,
+                                      int height) throws IOException {
+    return readRegion(file, column, row, width, height, null);
+  }
+
+  /**
+   * Reads only a rectangle of a binary maze, giving the size of the whole
+   * maze
+   * @param file The file to read
+   * @param column The first column of the rectangle
+   * @param row The first row of the rectangle, 0 being the top row
+   * @param width The width of the rectangle
+   * @param height The height of the rectangle
+   * @param size Array the width and height of the whole maze are put in, or
+   *        null
+   * @return Returns a grid of the rectangle
+   * @throws IOException If the file cannot be read or is not a binary maze
+   */
+  static PackedGrid readRegion(Path file, int column, int row, int width, int height,
+                               int[] size) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer fixed = readAt(channel, 0, FIXED_HEADER);
+      for (int i = 0; i < MAGIC.length; i++) {
+        if (fixed.get(i) != MAGIC[i]) {
+          throw new IOException("Not a binary maze");
+        }
+      }
+      if (fixed.get(4) != VERSION) {
+        throw new IOException("Unsupported binary maze version " + fixed.get(4));
+      }
+      boolean terrain = (fixed.get(5) & TERRAIN) != 0;
+      int fullWidth = fixed.getInt(8);
+      int fullHeight = fixed.getInt(12);
+      int exitCount = fixed.getInt(24);
+      if (fullWidth < 1 || fullHeight < 1 || exitCount < 1
+          || exitCount > (channel.size() - FIXED_HEADER) / COORDINATE) {
+        throw new IOException("Corrupt binary maze");
+      }
+      PackedGrid.checkRegion(fullWidth, fullHeight, column, row, width, height);
+      if (size != null) {
+        size[0] = fullWidth;
+        size[1] = fullHeight;
+      }
+
+      PackedGrid region = new PackedGrid(width, height);
+      byte[] cells = region.cells();
+      long wallsAt = FIXED_HEADER + (long) exitCount * COORDINATE + 4;
+      int wallRow = (fullWidth + 7) >>> 3;
+      int first = column >>> 3;
+      int span = ((column + width - 1) >>> 3) - first + 1;
+      for (int r = 0; r < height; r++) {
+        ByteBuffer bits = readAt(channel, wallsAt + (long) (row + r) * wallRow + first, span);
+        for (int x = 0; x < width; x++) {
+          int bit = column + x - (first << 3);
+          if ((bits.get(bit >>> 3) >>> (bit & 7) & 1) != 0) {
+            cells[r * width + x] = PackedGrid.WALL;
+          }
+        }
+      }
+      if (terrain) {
+        long terrainAt = wallsAt + (long) wallRow * fullHeight;
+        int terrainRow = (fullWidth + 3) >>> 2;
+        first = column >>> 2;
+        span = ((column + width - 1) >>> 2) - first + 1;
+        for (int r = 0; r < height; r++) {
+          ByteBuffer bits = readAt(channel, terrainAt + (long) (row + r) * terrainRow + first,
+                                   span);
+          for (int x = 0; x < width; x++) {
+            int pair = column + x - (first << 2);
+            int value = bits.get(pair >>> 2) >>> ((pair & 3) * 2) & 3;
+            if (value != 0) {
+              cells[r * width + x] = TERRAIN_CODES[value];
+            }
+          }
+        }
+      }
+
+      ByteBuffer coordinates = readAt(channel, 16, FIXED_HEADER - 16
+                                                   + exitCount * COORDINATE);
+      for (int i = 0; i < exitCount + 1; i++) {
+        int at = i == 0 ? 0 : FIXED_HEADER - 16 + (i - 1) * COORDINATE;
+        int x = coordinates.getInt(at) - column;
+        int y = coordinates.getInt(at + 4) - row;
+        if (x >= 0 && x < width && y >= 0 && y < height) {
+          region.set(x, y, i == 0 ? PackedGrid.ENTRANCE : PackedGrid.EXIT);
+        }
+      }
+      return region;
+    }
+  }
+
+  /**
+   * Reads bytes from a position of a file
+   * @param channel The file to read
+   * @param position The position to read from
+   * @param count The number of bytes to read
+   * @return Returns a little endian buffer holding the bytes
+   * @throws IOException If the file ends first
+   */
+  private static ByteBuffer readAt(FileChannel channel, long position, int count)
+                                   throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(count).order(ByteOrder.LITTLE_ENDIAN);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new IOException("Corrupt binary maze");
+      }
+    }
+    return buffer.flip();
+  }
+
+  /**
+   * Unpacks the wall plane into cells, eight tiles at a time
+   * @param in The bytes of the file
+   * @param from The index of the wall plane
+   * @param cells The cells to fill
+   * @param width The width of the grid
+   * @param height The height of the grid
+   */
+  private static void unpackWalls(ByteBuffer in, int from, byte[] cells, int width,
+                                  int height) {
+    int rowBytes = (width + 7) >>> 3;
+    int whole = width >>> 3;
+    byte[] row = new byte[rowBytes];
+    for (int r = 0; r < height; r++) {
+      in.get(from + r * rowBytes, row, 0, rowBytes);
+      int base = r * width;
+      for (int i = 0; i < whole; i++) {
+        LONGS.set(cells, base + (i << 3), SPREAD[row[i] & 0xFF]);
+      }
+      for (int column = whole << 3; column < width; column++) {
+        if ((row[column >>> 3] >>> (column & 7) & 1) != 0) {
+          cells[base + column] = PackedGrid.WALL;
+        }
+      }
+    }
+  }
+
+  /**
+   * Unpacks the terrain plane over the cells
+   * @param in The bytes of the file
+   * @param from The index of the terrain plane
+   * @param cells The cells to fill
+   * @param width The width of the grid
+   * @param height The height of the grid
+   */
+  private static void unpackTerrain(ByteBuffer in, int from, byte[] cells, int width,
+                                    int height) {
+    int rowBytes = (width + 3) >>> 2;
+    for (int r = 0; r < height; r++) {
+      for (int i = 0; i < rowBytes; i++) {
+        int bits = in.get(from + r * rowBytes + i) & 0xFF;
+        // Most bytes of a maze have no terrain at all
+        for (int column = i << 2; bits != 0 && column < width; column++, bits >>>= 2) {
+          if ((bits & 3) != 0) {
+            cells[r * width + column] = TERRAIN_CODES[bits & 3];
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Puts an entrance or exit into the grid from its coordinates
+   * @param grid The grid being read
+   * @param in The bytes of the file
+   * @param at The index of the column, followed by the row
+   * @param code The code to place
+   * @throws IOException If the coordinates are outside the grid
+   */
+  private static void place(PackedGrid grid, ByteBuffer in, int at, byte code)
+                            throws IOException {
+    int column = in.getInt(at);
+    int row = in.getInt(at + 4);
+    if (column < 0 || column >= grid.getWidth() || row < 0 || row >= grid.getHeight()) {
+      throw new IOException("Corrupt binary maze");
+    }
+    grid.set(column, row, code);
+  }
+}
@@ -0,0 +1,348 @@
+package maze;
+
+// Utils
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Input and output imports
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Package imports
+import maze.InvalidMazeException;
+
+/**
+ * Loads every maze file under a directory on a pool of threads, reporting
+ * for each file either a summary of the maze or why it is not valid.
+ *
+ * Memory is the limit when files are large, so each load first reserves an
+ * estimate of what the maze will need from a shared budget and waits while
+ * the budget is spent. A file bigger than the whole budget is loaded alone.
+ * Only the summary of each maze is kept once it has been checked.
+ * @version 19/10/2026
+ */
+public class BulkLoader {
+
+  // Rough bytes needed per byte of a file while its maze is loaded: the
+  // packed grid, a Tile and the reference to it in the rows of tiles
+  private static final long BYTES_PER_TILE = 32;
+
+  // The budget is counted in blocks so a Semaphore can hold it
+  private static final int BLOCK_SHIFT = 10;
+
+  // Attributes
+  private int threads;
+  private long memoryLimit;
+
+  /**
+   * What loading a single file found
+   */
+  public static class Result {
+
+    // Attributes
+    private Path file;
+    private long bytes;
+    private int width;
+    private int height;
+    private int exits;
+    private String entrance;
+    private Exception error;
+
+    /**
+     * Constructor for a file which held a valid maze
+     * @param file The file loaded
+     * @param bytes The size of the file
+     * @param maze The maze loaded from it
+     */
+    Result(Path file, long bytes, Maze maze) {
+      this.file = file;
+      this.bytes = bytes;
+      this.width = maze.getGrid().getWidth();
+      this.height = maze.getGrid().getHeight();
+      this.exits = maze.getExits().size();
+      this.entrance = maze.getTileLocation(maze.getEntrance()).toString();
+    }
+
+    /**
+     * Constructor for a file which could not be loaded
+     * @param file The file loaded
+     * @param bytes The size of the file
+     * @param error Why the file could not be loaded
+     */
+    Result(Path file, long bytes, Exception error) {
+      this.file = file;
+      this.bytes = bytes;
+      this.error = error;
+    }
+
+    /**
+     * Gets the file this is the result of
+     * @return Returns the path of the file
+     */
+    public Path getFile() {
+      return this.file;
+    }
+
+    /**
+     * Gets the size of the file
+     * @return Returns the length of the file in bytes
+     */
+    public long getBytes() {
+      return this.bytes;
+    }
+
+    /**
+     * Checks if the file held a valid maze
+     * @return Returns true if the maze was loaded
+     */
+    public boolean isValid() {
+      return this.error == null;
+    }
+
+    /**
+     * Gets the width of the maze
+     * @return Returns the number of tiles across, 0 if it was not loaded
+     */
+    public int getWidth() {
+      return this.width;
+    }
+
+    /**
+     * Gets the height of the maze
+     * @return Returns the number of tiles down, 0 if it was not loaded
+     */
+    public int getHeight() {
+      return this.height;
+    }
+
+    /**
+     * Gets the number of exits of the maze
+     * @return Returns the number of exits, 0 if it was not loaded
+     */
+    public int getExits() {
+      return this.exits;
+    }
+
+    /**
+     * Gets why the file could not be loaded. Invalid mazes give the
+     * InvalidMazeException subclass for the problem, and files which could
+     * not be read a FileNotFoundException.
+     * @return Returns the error, or null if the maze was loaded
+     */
+    public Exception getError() {
+      return this.error;
+    }
+
+    /**
+     * Describes the result
+     * @return Returns the file followed by the size and entrance of the maze
+     *         or the type of error and its message
+     */
+    @Override
+    public String toString() {
+      if (error != null) {
+        return file + ": " + error.getClass().getSimpleName() + " (" + error.getMessage()
+               + ")";
+      }
+      return file + ": " + width + "x" + height + ", entrance " + entrance + ", "
+             + exits + (exits == 1 ? " exit" : " exits");
+    }
+  }
+
+  /**
+   * Results of loading a directory
+   */
+  public static class Report {
+
+    // Attributes
+    private List<Result> results;
+    private long bytes;
+    private int valid;
+    private long elapsedNanos;
+
+    /**
+     * Constructor for a finished load
+     * @param results The result of every file in path order
+     * @param elapsedNanos The time the load took
+     */
+    Report(List<Result> results, long elapsedNanos) {
+      this.results = results;
+      this.elapsedNanos = elapsedNanos;
+      for (Result result : results) {
+        bytes += result.getBytes();
+        valid += result.isValid() ? 1 : 0;
+      }
+    }
+
+    /**
+     * Gets the result of every file
+     * @return Returns the results in path order
+     */
+    public List<Result> getResults() {
+      return this.results;
+    }
+
+    /**
+     * Gets the number of files which held a valid maze
+     * @return Returns the number of mazes loaded
+     */
+    public int getValid() {
+      return this.valid;
+    }
+
+    /**
+     * Gets the number of files which could not be loaded
+     * @return Returns the number of invalid or unreadable files
+     */
+    public int getInvalid() {
+      return this.results.size() - this.valid;
+    }
+
+    /**
+     * Gets the time the load took
+     * @return Returns the elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+      return this.elapsedNanos;
+    }
+
+    /**
+     * Gets the rate files were loaded at
+     * @return Returns files handled per second, invalid ones included
+     */
+    public double getFilesPerSecond() {
+      return elapsedNanos == 0 ? 0 : results.size() * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Gets the rate bytes were loaded at
+     * @return Returns megabytes read per second
+     */
+    public double getMegabytesPerSecond() {
+      return elapsedNanos == 0 ? 0 : bytes * 1e9 / elapsedNanos / (1 << 20);
+    }
+
+    /**
+     * Describes the load
+     * @return Returns a single line summary
+     */
+    @Override
+    public String toString() {
+      return String.format("%d files (%d invalid) in %.2f s, %.1f files/s, %.1f MB/s",
+                           results.size(), getInvalid(), elapsedNanos / 1e9,
+                           getFilesPerSecond(), getMegabytesPerSecond());
+    }
+  }
+
+  /**
+   * Constructor for a loader
+   * @param threads The number of files loaded at once
+   * @param memoryLimit Roughly the most bytes of memory the mazes being
+   *        loaded may use at once
+   * @throws IllegalArgumentException If threads is less than 1 or the
+   *         limit is less than a kilobyte
+   */
+  public BulkLoader(int threads, long memoryLimit) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("Threads must be positive");
+    }
+    if (memoryLimit >> BLOCK_SHIFT < 1) {
+      throw new IllegalArgumentException("Memory limit is too small");
+    }
+    this.threads = threads;
+    this.memoryLimit = memoryLimit;
+  }
+
+  /**
+   * Loads every regular file under a directory and its subdirectories,
+   * skipping hidden files whose names start with a dot
+   * @param directory The directory to load
+   * @return Returns the result of every file
+   * @throws IOException If the directory cannot be listed
+   */
+  public Report load(Path directory) throws IOException {
+    List<Path> files;
+    try (Stream<Path> walk = Files.walk(directory)) {
+      files = walk.filter(Files::isRegularFile)
+                  .filter(path -> !path.getFileName().toString().startsWith("."))
+                  .sorted().collect(Collectors.toList());
+    }
+    return load(files);
+  }
+
+  /**
+   * Loads a list of files
+   * @param files The files to load
+   * @return Returns the result of every file in the order given
+   * @throws IOException If a load failed with an error rather than a
+   *         result, or was interrupted
+   */
+  public Report load(List<Path> files) throws IOException {
+    int blocks = (int) Math.min(memoryLimit >> BLOCK_SHIFT, Integer.MAX_VALUE);
+    Semaphore budget = new Semaphore(blocks, true);
+    List<Callable<Result>> tasks = new ArrayList<Callable<Result>>(files.size());
+    for (Path file : files) {
+      tasks.add(() -> loadWithin(budget, blocks, file));
+    }
+
+    long start = System.nanoTime();
+    ExecutorService pool = Executors.newFixedThreadPool(
+        Math.max(1, Math.min(threads, files.size())), runnable -> {
+      Thread thread = new Thread(runnable, "bulk-loader");
+      thread.setDaemon(true);
+      return thread;
+    });
+    try {
+      List<Result> results = new ArrayList<Result>(files.size());
+      for (Future<Result> future : pool.invokeAll(tasks)) {
+        results.add(future.get());
+      }
+      return new Report(results, System.nanoTime() - start);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Loading interrupted");
+    } catch (ExecutionException e) {
+      throw new IOException("Loading failed", e.getCause());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * Loads a file once its estimated memory has been reserved
+   * @param budget The blocks of memory not yet reserved
+   * @param blocks The size of the whole budget in blocks
+   * @param file The file to load
+   * @return Returns what was found in the file
+   * @throws InterruptedException If interrupted while waiting for memory
+   */
+  private static Result loadWithin(Semaphore budget, int blocks, Path file)
+                                   throws InterruptedException {
+    long bytes;
+    try {
+      bytes = Files.size(file);
+    } catch (IOException e) {
+      return new Result(file, 0, e);
+    }
+    int needed = (int) Math.max(1, Math.min(blocks,
+                                            (bytes * BYTES_PER_TILE) >> BLOCK_SHIFT));
+    budget.acquire(needed);
+    try {
+      return new Result(file, bytes, Maze.fromTxt(file.toString()));
+    } catch (InvalidMazeException | IllegalArgumentException | IOException e) {
+      return new Result(file, bytes, e);
+    } finally {
+      budget.release(needed);
+    }
+  }
+}
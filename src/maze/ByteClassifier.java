@@ -0,0 +1,51 @@
+package maze;
+
+/**
+ * Checks the bytes of a maze file, finding the first byte which is not a
+ * tile, counting the entrances and exits and marking the walls in a bitmap.
+ * The Vector API version is only used when it was compiled and the
+ * jdk.incubator.vector module is present, otherwise the scalar one is.
+ * @version 19/10/2026
+ */
+public interface ByteClassifier {
+
+  // Positions in the counts array
+  public static final int ENTRANCES = 0;
+  public static final int EXITS = 1;
+
+  /**
+   * Classifies a range of bytes, stopping at the first byte which is not a
+   * tile. Walls and counts are only recorded for the bytes before it.
+   * @param bytes The bytes to classify
+   * @param from The index of the first byte
+   * @param to The index after the last byte
+   * @param walls Bitmap where bit i is set if the byte at from + i is a
+   *        wall, bits are only ever set so it should start clear. Null if
+   *        the walls are not needed.
+   * @param counts Array the number of entrances and exits found are added to
+   * @return Returns the index of the first byte which is not a tile, or -1
+   *         if every byte is one
+   */
+  int scan(byte[] bytes, int from, int to, long[] walls, int[] counts);
+
+  /**
+   * Gets the name of the classifier
+   * @return Returns a short name used by benchmarks and logs
+   */
+  String getName();
+
+  /**
+   * Loads the fastest classifier available. The Vector API version is
+   * loaded by name so this class compiles and runs without the module.
+   * @return Returns the Vector API classifier if it can be used, the scalar
+   *         one otherwise
+   */
+  static ByteClassifier load() {
+    try {
+      return (ByteClassifier) Class.forName("maze.VectorClassifier")
+                                   .getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | LinkageError e) {
+      return new ScalarClassifier();
+    }
+  }
+}
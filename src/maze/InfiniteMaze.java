@@ -0,0 +1,266 @@
+package maze;
+
+// Utils
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Package imports
+import maze.Maze.Direction;
+import maze.generation.KruskalGenerator;
+
+/**
+ * A maze with no edges, built from square chunks which are generated the
+ * first time they are looked at. Every chunk is seeded from a hash of the
+ * maze seed and its position, so an evicted chunk comes back exactly the
+ * same and only a bounded number of chunks are ever held in memory.
+ *
+ * Each chunk owns the wall along its west and north edges and the openings
+ * through them, so two neighbouring chunks always agree on their shared
+ * border. Cells sit on odd columns and rows, as in the other generators.
+ * Rows count down the maze, as in PackedGrid.
+ * @version 19/10/2026
+ */
+public final class InfiniteMaze {
+
+  // Tiles along each side of a chunk
+  public static final int CHUNK_SIZE = 256;
+
+  // Chunks held in memory unless another cap is given
+  public static final int DEFAULT_MAX_CHUNKS = 64;
+
+  // Openings through each of a chunk's two owned borders
+  private static final int BORDER_OPENINGS = 2;
+
+  // Tile type of each cell code
+  private static final Tile.Type[] TYPES = Tile.Type.values();
+
+  // Attributes
+  private long seed;
+  private int maxChunks;
+  private Map<Long, PackedGrid> chunks;
+  private long generated;
+  private long lastKey;
+  private PackedGrid lastChunk;
+
+  /**
+   * Constructor for a maze holding the default number of chunks
+   * @param seed The seed of the maze
+   */
+  public InfiniteMaze(long seed) {
+    this(seed, DEFAULT_MAX_CHUNKS);
+  }
+
+  /**
+   * Constructor for a maze holding a set number of chunks, the least
+   * recently used chunk being dropped when another is needed
+   * @param seed The seed of the maze
+   * @param maxChunks The most chunks to hold in memory at once
+   * @throws IllegalArgumentException If maxChunks is less than 1
+   */
+  public InfiniteMaze(long seed, int maxChunks) {
+    if (maxChunks < 1) {
+      throw new IllegalArgumentException("Must hold at least one chunk");
+    }
+    this.seed = seed;
+    this.maxChunks = maxChunks;
+    this.chunks = new LinkedHashMap<Long, PackedGrid>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Long, PackedGrid> eldest) {
+        return size() > InfiniteMaze.this.maxChunks;
+      }
+    };
+  }
+
+  /**
+   * Gets the seed of the maze
+   * @return Returns the seed every chunk is derived from
+   */
+  public long getSeed() {
+    return this.seed;
+  }
+
+  /**
+   * Gets the cell code of a tile, generating its chunk if needed
+   * @param column The column of the tile, which may be negative
+   * @param row The row of the tile, which may be negative
+   * @return Returns the PackedGrid code of the tile
+   */
+  public synchronized byte get(int column, int row) {
+    return chunkAt(Math.floorDiv(column, CHUNK_SIZE), Math.floorDiv(row, CHUNK_SIZE))
+        .get(Math.floorMod(column, CHUNK_SIZE), Math.floorMod(row, CHUNK_SIZE));
+  }
+
+  /**
+   * Gets the type of a tile, generating its chunk if needed
+   * @param column The column of the tile
+   * @param row The row of the tile
+   * @return Returns the type of the tile
+   */
+  public Tile.Type getType(int column, int row) {
+    return TYPES[get(column, row)];
+  }
+
+  /**
+   * Checks if a tile can be walked on
+   * @param column The column of the tile
+   * @param row The row of the tile
+   * @return Returns false if the tile is a wall
+   */
+  public boolean isNavigable(int column, int row) {
+    return get(column, row) != PackedGrid.WALL;
+  }
+
+  /**
+   * Checks if a tile can be walked on after one step in a direction, using
+   * the same directions as PackedGrid.neighbour
+   * @param column The column of the starting tile
+   * @param row The row of the starting tile
+   * @param dir The direction to step in
+   * @return Returns false if the neighbouring tile is a wall
+   */
+  public boolean isNavigable(int column, int row, Direction dir) {
+    switch(dir) {
+      case NORTH:
+        return isNavigable(column, row - 1);
+      case SOUTH:
+        return isNavigable(column, row + 1);
+      case EAST:
+        return isNavigable(column + 1, row);
+      default:
+        return isNavigable(column - 1, row);
+    }
+  }
+
+  /**
+   * Copies a rectangle of the maze into a finite maze which solvers and the
+   * visualiser can use. The exit is only reachable if a route to it lies
+   * inside the rectangle.
+   * @param column The leftmost column of the rectangle
+   * @param row The uppermost row of the rectangle
+   * @param width The width of the rectangle
+   * @param height The height of the rectangle
+   * @param entranceColumn The column of the entrance within the rectangle
+   * @param entranceRow The row of the entrance within the rectangle
+   * @param exitColumn The column of the exit within the rectangle
+   * @param exitRow The row of the exit within the rectangle
+   * @return Returns the finite maze
+   * @throws IllegalArgumentException If the entrance or exit is outside the
+   *         rectangle or on a wall
+   */
+  public synchronized Maze window(int column, int row, int width, int height,
+                                  int entranceColumn, int entranceRow,
+                                  int exitColumn, int exitRow) {
+    PackedGrid grid = new PackedGrid(width, height);
+    byte[] cells = grid.cells();
+    for (int y = 0; y < height; y++) {
+      int worldRow = row + y;
+      int localRow = Math.floorMod(worldRow, CHUNK_SIZE);
+      int chunkRow = Math.floorDiv(worldRow, CHUNK_SIZE);
+      // Copies the row a chunk at a time
+      for (int x = 0; x < width; ) {
+        int worldColumn = column + x;
+        int localColumn = Math.floorMod(worldColumn, CHUNK_SIZE);
+        int span = Math.min(CHUNK_SIZE - localColumn, width - x);
+        PackedGrid chunk = chunkAt(Math.floorDiv(worldColumn, CHUNK_SIZE), chunkRow);
+        System.arraycopy(chunk.cells(), chunk.index(localColumn, localRow),
+                         cells, grid.index(x, y), span);
+        x += span;
+      }
+    }
+    place(grid, entranceColumn, entranceRow, PackedGrid.ENTRANCE);
+    place(grid, exitColumn, exitRow, PackedGrid.EXIT);
+    return Maze.fromGrid(grid);
+  }
+
+  /**
+   * Gets the number of chunks held in memory
+   * @return Returns the number of loaded chunks
+   */
+  public synchronized int getLoadedChunks() {
+    return chunks.size();
+  }
+
+  /**
+   * Gets the number of times a chunk has been generated, including chunks
+   * generated again after being dropped
+   * @return Returns the number of chunks generated
+   */
+  public synchronized long getGeneratedChunks() {
+    return this.generated;
+  }
+
+  /**
+   * Places the entrance or exit on a corridor of a window
+   * @param grid The window
+   * @param column The column within the window
+   * @param row The row within the window
+   * @param code The code to place
+   * @throws IllegalArgumentException If the tile is outside the window or a
+   *         wall
+   */
+  private static void place(PackedGrid grid, int column, int row, byte code) {
+    if (column < 0 || row < 0 || column >= grid.getWidth() || row >= grid.getHeight()) {
+      throw new IllegalArgumentException("Outside the window");
+    }
+    if (!grid.isNavigable(grid.index(column, row))) {
+      throw new IllegalArgumentException("Cannot be placed on a wall");
+    }
+    grid.set(column, row, code);
+  }
+
+  /**
+   * Gets a chunk, generating it if it is not in memory
+   * @param chunkColumn The column of the chunk
+   * @param chunkRow The row of the chunk
+   * @return Returns the chunk's grid
+   */
+  private PackedGrid chunkAt(int chunkColumn, int chunkRow) {
+    long key = ((long) chunkColumn << 32) | (chunkRow & 0xFFFFFFFFL);
+    // Most lookups fall in the same chunk as the one before
+    if (lastChunk != null && key == lastKey) {
+      return lastChunk;
+    }
+    PackedGrid chunk = chunks.get(key);
+    if (chunk == null) {
+      chunk = generate(mix(seed + mix(key)));
+      chunks.put(key, chunk);
+      generated++;
+    }
+    lastKey = key;
+    lastChunk = chunk;
+    return chunk;
+  }
+
+  /**
+   * Generates a chunk. The grid is one tile larger than a chunk so that the
+   * cells fill it, but the last row and column are the neighbours' borders
+   * and are never read.
+   * @param chunkSeed The seed of the chunk
+   * @return Returns the chunk's grid
+   */
+  private static PackedGrid generate(long chunkSeed) {
+    PackedGrid chunk = new PackedGrid(CHUNK_SIZE + 1, CHUNK_SIZE + 1);
+    chunk.fill(PackedGrid.WALL);
+    KruskalGenerator.carve(chunk, chunkSeed);
+    // Openings through the west and north borders onto odd cell positions
+    long bits = mix(chunkSeed);
+    for (int i = 0; i < BORDER_OPENINGS; i++) {
+      int west = 2 * (int) ((bits >>> (16 * i)) & (CHUNK_SIZE / 2 - 1)) + 1;
+      int north = 2 * (int) ((bits >>> (16 * i + 8)) & (CHUNK_SIZE / 2 - 1)) + 1;
+      chunk.set(0, west, PackedGrid.CORRIDOR);
+      chunk.set(north, 0, PackedGrid.CORRIDOR);
+    }
+    return chunk;
+  }
+
+  /**
+   * Scrambles a value so that nearby inputs give unrelated outputs
+   * @param value The value to scramble
+   * @return Returns the scrambled value
+   */
+  private static long mix(long value) {
+    value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+    value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+    return value ^ (value >>> 31);
+  }
+}
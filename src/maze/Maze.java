@@ -2,11 +2,26 @@ package maze;
 
 //Input, output, file handling and utils
 import java.util.*;
-import java.io.FileReader;
-import java.io.BufferedReader;
+import java.util.concurrent.ForkJoinPool;
 import java.io.IOException;
 import java.io.FileNotFoundException;
+import java.io.InputStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+// Generators
+import maze.generation.Braider;
+import maze.generation.CaveGenerator;
+import maze.generation.KruskalGenerator;
+import maze.generation.PrimGenerator;
+import maze.generation.RecursiveDivision;
+import maze.generation.WilsonGenerator;
 
 //Exception handling
 import maze.InvalidMazeException;
@@ -27,8 +42,13 @@ public class Maze implements java.io.Serializable {
   // attributes
   private Tile entrance;
   private Tile exit;
+  private List<Tile> exits;
   private List<List<Tile>> tiles;
   private String originFile;
+  private transient PackedGrid grid;
+  private Long seed;
+  private int originX;
+  private int originY;
 
   /**
    * Overrides the constructor making it private to stop it from being called
@@ -67,6 +87,8 @@ public class Maze implements java.io.Serializable {
     if (this.getExit() == null && tile.toString().equals("x")) {
       if (this.getTileLocation(tile) != null) {
         this.exit = tile;
+        this.exits = new ArrayList<Tile>(1);
+        this.exits.add(tile);
       } else {
         throw new IllegalArgumentException("Exit not in maze");
       }
@@ -91,6 +113,27 @@ public class Maze implements java.io.Serializable {
     return this.exit;
   }
 
+  /**
+   * Gets the seed a generated maze was built from. Generating again with the
+   * same seed and dimensions gives exactly the same maze.
+   * @return The seed, or null if the maze was not generated.
+   */
+  public Long getSeed() {
+    return this.seed;
+  }
+
+  /**
+   * Gets every exit of the maze. Only mazes loaded with multiple exits
+   * allowed can have more than one.
+   * @return A list of the exit tiles, the first being the one from getExit.
+   */
+  public List<Tile> getExits() {
+    if (this.exits == null) {
+      return Collections.emptyList();
+    }
+    return Collections.unmodifiableList(this.exits);
+  }
+
   /**
    * Gets the list of all tiles contained in the maze.
    * @return a 2d list of tiles which are contained in the maze
@@ -99,6 +142,18 @@ public class Maze implements java.io.Serializable {
     return this.tiles;
   }
 
+  /**
+   * Gets the maze packed into one byte per tile. The grid is built the first
+   * time it is asked for and reused after that.
+   * @return A grid holding the type of every tile, row 0 being the top row
+   */
+  public PackedGrid getGrid() {
+    if (this.grid == null) {
+      this.grid = PackedGrid.fromTiles(this.tiles);
+    }
+    return this.grid;
+  }
+
   /**
    * Enum to represent the 4 different directions that a the route can travel
    */
@@ -190,7 +245,8 @@ public class Maze implements java.io.Serializable {
 
   /**
    * Creates a maze by reading in a txt file and converting the charecters
-   * to a 2d list of tiles.
+   * to a 2d list of tiles. As well as e, x, . and # the weighted terrain
+   * characters , (rough), ~ (mud) and % (water) are accepted.
    * @param file A string containing the full path of the file to be converted.
    * @return Returns a maze object containing a list of tiles representing the
    *         maze, a set entrance and a set exit.
@@ -203,91 +259,370 @@ public class Maze implements java.io.Serializable {
    * @throws FileNotFoundException When the file string is invalid.
    */
   public static Maze fromTxt (String file) throws FileNotFoundException {
-    String mazeRow;
-    Tile tempTile = null;
+    return fromTxt(file, false);
+  }
+
+  /**
+   * Creates a maze from a txt file, optionally allowing it to have more than
+   * one exit. The first exit in the file becomes the one from getExit and
+   * every exit is returned by getExits. A gzip compressed file is
+   * decompressed as it is read.
+   * @param file A string containing the full path of the file to be converted.
+   * @param multipleExits True to accept any number of exits.
+   * @return Returns a maze object containing a list of tiles representing the
+   *         maze, a set entrance and at least one exit.
+   * @throws InvalidMazeException When there is an invalid character in maze.
+   * @throws MultipleEntranceException When there are multiple entances.
+   * @throws MultipleExitException When there are multiple exits and
+   *         multipleExits is false.
+   * @throws RaggedMazeException When row or column lenght are uneven.
+   * @throws NoExitException When no exit is found.
+   * @throws NoEntranceException When no entrance is found.
+   * @throws FileNotFoundException When the file string is invalid.
+   */
+  public static Maze fromTxt (String file, boolean multipleExits)
+                              throws FileNotFoundException {
+    PackedGrid parsed;
+    try {
+      // Memory maps the file and classifies it straight into a grid, large
+      // files being split between threads
+      parsed = ParallelTxtParser.parse(Paths.get(file), multipleExits);
+    } catch (IOException | InvalidPathException e) {
+      throw new FileNotFoundException("Not a valid maze");
+    }
+    Maze newMaze = fromGrid(parsed, multipleExits);
+    newMaze.grid = parsed;
+    return newMaze;
+  }
+
+  /**
+   * Creates a maze from text read from a stream, such as a pipe or a
+   * download. The text is parsed a block at a time as it arrives, and gzip
+   * compressed text is recognised and decompressed on the way.
+   * @param in The stream to read, which is left open.
+   * @return Returns a maze object with a set entrance and a set exit.
+   * @throws InvalidMazeException When the maze is not valid, as for a file.
+   * @throws IOException When the stream cannot be read or the gzip data is
+   *         damaged.
+   */
+  public static Maze fromTxt (InputStream in) throws IOException {
+    return fromTxt(in, false);
+  }
+
+  /**
+   * Creates a maze from text read from a stream, optionally allowing it to
+   * have more than one exit.
+   * @param in The stream to read, which is left open.
+   * @param multipleExits True to accept any number of exits.
+   * @return Returns a maze object with a set entrance and at least one exit.
+   * @throws InvalidMazeException When the maze is not valid, as for a file.
+   * @throws IOException When the stream cannot be read or the gzip data is
+   *         damaged.
+   */
+  public static Maze fromTxt (InputStream in, boolean multipleExits)
+                              throws IOException {
+    PackedGrid parsed = TxtParser.parse(in, multipleExits);
+    Maze newMaze = fromGrid(parsed, multipleExits);
+    newMaze.grid = parsed;
+    return newMaze;
+  }
+
+  /**
+   * Creates a maze from text read from a channel, optionally allowing it to
+   * have more than one exit. Gzip compressed text is decompressed on the
+   * way.
+   * @param channel The channel to read, which is left open.
+   * @param multipleExits True to accept any number of exits.
+   * @return Returns a maze object with a set entrance and at least one exit.
+   * @throws InvalidMazeException When the maze is not valid, as for a file.
+   * @throws IOException When the channel cannot be read or the gzip data is
+   *         damaged.
+   */
+  public static Maze fromTxt (ReadableByteChannel channel, boolean multipleExits)
+                              throws IOException {
+    PackedGrid parsed = TxtParser.parse(channel, multipleExits);
+    Maze newMaze = fromGrid(parsed, multipleExits);
+    newMaze.grid = parsed;
+    return newMaze;
+  }
+
+  /**
+   * Creates a maze from a rectangle of a txt file. As every row is the same
+   * length only the bytes of the rectangle are read, so a small window of a
+   * huge file loads quickly. Only the window is checked for invalid
+   * characters, and it must hold the entrance and exit.
+   * @param file A string containing the full path of the file to be converted.
+   * @param column The first column of the rectangle.
+   * @param row The first row of the rectangle, 0 being the top row of the file.
+   * @param width The width of the rectangle.
+   * @param height The height of the rectangle.
+   * @return Returns a maze of the rectangle, its origin being where its
+   *         bottom left tile is in the whole maze.
+   * @throws InvalidMazeException When there is an invalid character in the
+   *         rectangle.
+   * @throws MultipleEntranceException When there are multiple entances.
+   * @throws MultipleExitException When there are multiple exits.
+   * @throws RaggedMazeException When the rows of the file are uneven.
+   * @throws NoExitException When no exit is in the rectangle.
+   * @throws NoEntranceException When no entrance is in the rectangle.
+   * @throws IllegalArgumentException When the rectangle is not inside the
+   *         maze.
+   * @throws FileNotFoundException When the file string is invalid.
+   */
+  public static Maze fromTxt (String file, int column, int row, int width,
+                              int height) throws FileNotFoundException {
+    return fromTxt(file, column, row, width, height, false);
+  }
+
+  /**
+   * Creates a maze from a rectangle of a txt file, optionally allowing the
+   * rectangle to have more than one exit.
+   * @param file A string containing the full path of the file to be converted.
+   * @param column The first column of the rectangle.
+   * @param row The first row of the rectangle, 0 being the top row of the file.
+   * @param width The width of the rectangle.
+   * @param height The height of the rectangle.
+   * @param multipleExits True to accept any number of exits.
+   * @return Returns a maze of the rectangle with at least one exit, its
+   *         origin being where its bottom left tile is in the whole maze.
+   * @throws InvalidMazeException When there is an invalid character in the
+   *         rectangle.
+   * @throws MultipleEntranceException When there are multiple entances.
+   * @throws MultipleExitException When there are multiple exits and they
+   *         are not allowed.
+   * @throws RaggedMazeException When the rows of the file are uneven.
+   * @throws NoExitException When no exit is in the rectangle.
+   * @throws NoEntranceException When no entrance is in the rectangle.
+   * @throws IllegalArgumentException When the rectangle is not inside the
+   *         maze.
+   * @throws FileNotFoundException When the file string is invalid.
+   */
+  public static Maze fromTxt (String file, int column, int row, int width,
+                              int height, boolean multipleExits)
+                              throws FileNotFoundException {
+    int[] size = new int[2];
+    PackedGrid parsed;
+    try {
+      parsed = TxtParser.parseRegion(Paths.get(file), column, row, width, height, size);
+    } catch (IOException | InvalidPathException e) {
+      throw new FileNotFoundException("Not a valid maze");
+    }
+    return fromRegion(parsed, size[1], column, row, multipleExits);
+  }
+
+  /**
+   * Saves the maze as a txt file which fromTxt reads back as the same maze,
+   * one character per tile and each row ending in a new line. Generated
+   * mazes can be saved once and reloaded instead of generated again. The
+   * last row always gets a new line, so a file loaded without one, or with
+   * \r\n line ends, is not written back byte for byte.
+   * @param outputFile The file the maze will be saved to, replaced if it
+   *                   exists.
+   * @throws IOException When the file cannot be written.
+   */
+  public void toTxt(Path outputFile) throws IOException {
+    TxtWriter.write(getGrid(), outputFile);
+  }
+
+  /**
+   * Saves the maze as a txt file which fromTxt reads back as the same maze.
+   * @param outputFile The name of the file the maze will be saved to.
+   * @throws IOException When the file cannot be written.
+   */
+  public void toTxt(String outputFile) throws IOException {
+    toTxt(Paths.get(outputFile));
+  }
+
+  /**
+   * Saves the maze in the compact binary format of BinaryFormat, which keeps
+   * every exit and any weighted terrain.
+   * @param outputFile The name of the file the maze will be saved to.
+   * @throws IOException When the file cannot be written.
+   */
+  public void toBinary(String outputFile) throws IOException {
+    BinaryFormat.write(getGrid(), Paths.get(outputFile));
+  }
+
+  /**
+   * Creates a maze from a file written by toBinary. The file is checked
+   * against its checksum rather than character by character.
+   * @param inputFile The name of the file the maze will be loaded from.
+   * @return Returns a maze object with a set entrance and every exit saved.
+   * @throws IOException When the file cannot be read, is not a binary maze or
+   *         fails its checksum.
+   */
+  public static Maze fromBinary(String inputFile) throws IOException {
+    PackedGrid loaded = BinaryFormat.read(Paths.get(inputFile));
+    Maze newMaze = fromGrid(loaded, true);
+    newMaze.grid = loaded;
+    return newMaze;
+  }
+
+  /**
+   * Creates a maze from a rectangle of a file written by toBinary, reading
+   * only the parts of the file holding it. The checksum covers the whole file
+   * so it is not checked. As with the whole file, any number of exits is
+   * accepted, but the rectangle must hold the entrance and an exit.
+   * @param inputFile The name of the file the maze will be loaded from.
+   * @param column The first column of the rectangle.
+   * @param row The first row of the rectangle, 0 being the top row of the file.
+   * @param width The width of the rectangle.
+   * @param height The height of the rectangle.
+   * @return Returns a maze of the rectangle with every exit inside it, its
+   *         origin being where its bottom left tile is in the whole maze.
+   * @throws IOException When the file cannot be read or is not a binary maze.
+   * @throws NoExitException When no exit is in the rectangle.
+   * @throws NoEntranceException When no entrance is in the rectangle.
+   * @throws IllegalArgumentException When the rectangle is not inside the
+   *         maze.
+   */
+  public static Maze fromBinary(String inputFile, int column, int row, int width,
+                                int height) throws IOException {
+    int[] size = new int[2];
+    PackedGrid loaded = BinaryFormat.readRegion(Paths.get(inputFile), column, row,
+                                                width, height, size);
+    return fromRegion(loaded, size[1], column, row, true);
+  }
+
+  /**
+   * Creates a maze from a rectangle of a bigger maze, remembering where it
+   * came from.
+   * @param region The grid of the rectangle.
+   * @param fullHeight The height of the whole maze.
+   * @param column The first column of the rectangle.
+   * @param row The first row of the rectangle, 0 being the top row.
+   * @param multipleExits True to accept any number of exits.
+   * @return Returns a maze of the rectangle.
+   */
+  private static Maze fromRegion(PackedGrid region, int fullHeight, int column, int row,
+                                 boolean multipleExits) {
+    Maze newMaze = fromGrid(region, multipleExits);
+    newMaze.grid = region;
+    newMaze.originX = column;
+    newMaze.originY = fullHeight - row - region.getHeight();
+    return newMaze;
+  }
+
+  /**
+   * Gets where the bottom left tile of the maze is in the maze it was loaded
+   * from. This is (0, 0) unless only a rectangle of a file was loaded.
+   * @return Returns the coordinate of the origin in the whole maze.
+   */
+  public Maze.Coordinate getOrigin() {
+    return new Coordinate(this.originX, this.originY);
+  }
+
+  /**
+   * Translates a coordinate of this maze to the maze it was loaded from.
+   * @param coord A coordinate in this maze.
+   * @return Returns the same location in the whole maze.
+   */
+  public Maze.Coordinate toOriginal(Maze.Coordinate coord) {
+    return new Coordinate(coord.getX() + this.originX, coord.getY() + this.originY);
+  }
+
+  /**
+   * Translates a coordinate of the maze this was loaded from to this maze.
+   * @param coord A coordinate in the whole maze.
+   * @return Returns the same location in this maze, which may be outside it.
+   */
+  public Maze.Coordinate fromOriginal(Maze.Coordinate coord) {
+    return new Coordinate(coord.getX() - this.originX, coord.getY() - this.originY);
+  }
+
+  /**
+   * Saves the maze compressed by RunLengthFormat, which suits mazes with
+   * long walls and corridors.
+   * @param outputFile The name of the file the maze will be saved to.
+   * @throws IOException When the file cannot be written.
+   */
+  public void toRunLength(String outputFile) throws IOException {
+    RunLengthFormat.write(getGrid(), Paths.get(outputFile));
+  }
+
+  /**
+   * Creates a maze from a file written by toRunLength, decoding the rows as
+   * they are read.
+   * @param inputFile The name of the file the maze will be loaded from.
+   * @return Returns a maze object with a set entrance and every exit saved.
+   * @throws IOException When the file cannot be read, is not a run length
+   *         maze or fails its checksum.
+   * @throws NoExitException When no exit is found.
+   * @throws NoEntranceException When no entrance is found.
+   * @throws MultipleEntranceException When there are multiple entances.
+   */
+  public static Maze fromRunLength(String inputFile) throws IOException {
+    PackedGrid loaded = RunLengthFormat.read(Paths.get(inputFile));
+    Maze newMaze = fromGrid(loaded, true);
+    newMaze.grid = loaded;
+    return newMaze;
+  }
+
+  /**
+   * Creates a maze from a packed grid, converting each cell to a tile.
+   * @param grid The grid to be converted, row 0 being the top of the maze.
+   * @return Returns a maze object containing a list of tiles representing the
+   *         grid, a set entrance and a set exit.
+   * @throws MultipleEntranceException When there are multiple entances.
+   * @throws MultipleExitException When there are multiple exits.
+   * @throws NoExitException When no exit is found.
+   * @throws NoEntranceException When no entrance is found.
+   */
+  public static Maze fromGrid(PackedGrid grid) {
+    return fromGrid(grid, false);
+  }
+
+  /**
+   * Creates a maze from a packed grid, optionally allowing it to have more
+   * than one exit. The first exit in row order becomes the one from getExit.
+   * @param grid The grid to be converted, row 0 being the top of the maze.
+   * @param multipleExits True to accept any number of exits.
+   * @return Returns a maze object containing a list of tiles representing the
+   *         grid, a set entrance and at least one exit.
+   */
+  private static Maze fromGrid(PackedGrid grid, boolean multipleExits) {
     Maze newMaze = new Maze();
     Tile tempEntrance = null;
     Tile tempExit = null;
-    try (
-      // Reads in file
-      FileReader mazeFile = new FileReader(file);
-      BufferedReader mazeStream = new BufferedReader(mazeFile);
-      ) {
-        // Reads first line
-        mazeRow = mazeStream.readLine();
-        // Constructs 2d tile container
-        List<List<Tile>> tiles = new ArrayList<List<Tile>>(mazeRow.length());
-        // Loops as long as the line is not empty
-        while (mazeRow != null) {
-          // Constructs a 1d array for the line
-          List<Tile> RowOfTiles = new ArrayList<Tile>(mazeRow.length());
-          // Loops through individual line
-          for (int i = 0; i < mazeRow.length(); i++) {
-            // Single tile
-            tempTile = Tile.fromChar(mazeRow.charAt(i));
-            //Check if invalid char
-            if (mazeRow.charAt(i) != 'e' && mazeRow.charAt(i) != 'x' && mazeRow.charAt(i) != '.' && mazeRow.charAt(i) != '#') {
-              throw new InvalidMazeException("Invalid Character");
-            }
-            // Adds to the line and checks what type of tile it is
-            RowOfTiles.add(i, (tempTile));
-            if (mazeRow.charAt(i) == 'e') {
-              if (tempEntrance == null) {
-                tempEntrance = tempTile;
-              } else {
-                throw new MultipleEntranceException("Multiple Entrances");
-              }
-            }
-            if (mazeRow.charAt(i) == 'x') {
-              if (tempExit == null) {
-                tempExit = tempTile;
-              } else {
-                throw new MultipleExitException("Multiple Exits");
-              }
-            }
-          }
-          // Reads next line
-          mazeRow = mazeStream.readLine();
-          // Adds 1d array to 2d array (Adds row to list of rows)
-          tiles.add(RowOfTiles);
-          // Checks if previous row is of same length as next row
-          if (mazeRow != null) {
-            if (mazeRow.length() != RowOfTiles.size()) {
-              throw new RaggedMazeException("Variable length");
-            }
+    List<Tile> tempExits = new ArrayList<Tile>(1);
+    List<List<Tile>> tiles = new ArrayList<List<Tile>>(grid.getHeight());
+    for (int row = 0; row < grid.getHeight(); row++) {
+      List<Tile> RowOfTiles = new ArrayList<Tile>(grid.getWidth());
+      for (int column = 0; column < grid.getWidth(); column++) {
+        byte code = grid.get(column, row);
+        Tile tempTile = Tile.fromChar(PackedGrid.symbolOf(code));
+        RowOfTiles.add(tempTile);
+        if (code == PackedGrid.ENTRANCE) {
+          if (tempEntrance != null) {
+            throw new MultipleEntranceException("Multiple Entrances");
           }
-        }
-        newMaze.tiles = tiles;
-        // Ensures both exit and entrance were set
-        if (tempExit != null) {
-          try {
-            newMaze.setExit(tempExit);
-          } catch (MultipleExitException MulExit) {
+          tempEntrance = tempTile;
+        } else if (code == PackedGrid.EXIT) {
+          if (tempExit != null && !multipleExits) {
             throw new MultipleExitException("Multiple Exits");
-          } catch (IllegalArgumentException InvalidExit) {
-            System.out.println("Invalid Exit");
           }
-        } else {
-          throw new NoExitException("No Exit");
-        }
-        if (tempEntrance != null) {
-          try {
-            newMaze.setEntrance(tempEntrance);
-          } catch (MultipleEntranceException MulEntrance) {
-            throw new MultipleEntranceException("Multiple Entrances");
-          } catch (IllegalArgumentException InvalidEntrance) {
-            System.out.println("Invalid Entrance");
+          if (tempExit == null) {
+            tempExit = tempTile;
           }
-        } else {
-          throw new NoEntranceException("No Entance");
+          tempExits.add(tempTile);
         }
       }
-      catch (IOException e) {
-        throw new FileNotFoundException("Not a valid maze");
-      }
+      tiles.add(RowOfTiles);
+    }
+    newMaze.tiles = tiles;
+    if (tempExit == null) {
+      throw new NoExitException("No Exit");
+    }
+    if (tempEntrance == null) {
+      throw new NoEntranceException("No Entance");
+    }
+    newMaze.entrance = tempEntrance;
+    newMaze.exit = tempExit;
+    newMaze.exits = tempExits;
     return newMaze;
   }
 
+
   /**
    * Custom maze builder which uses recursive division to construct a random
    * maze.
@@ -296,41 +631,184 @@ public class Maze implements java.io.Serializable {
    * @return Returns the constructed maze.
    */
   public static Maze fromRecursiveDevision(int widthMaze, int heightMaze) {
-    Maze newMaze = new Maze();
-    Random random = new Random();
-    //Constructs an emptyMaze of all entrances
-    List<List<Tile>> tiles = new ArrayList<List<Tile>>(widthMaze);
-    for (int j = 0; j < heightMaze; j++) {
-      List<Tile> RowOfTiles = new ArrayList<Tile>(widthMaze);
-      for (int i = 0; i < widthMaze; i++) {
-        Tile tempTile = Tile.fromChar('e');
-        RowOfTiles.add(i, (tempTile));
-      }
-      tiles.add(RowOfTiles);
-    }
-    newMaze.tiles = tiles;
+    return fromRecursiveDevision(widthMaze, heightMaze,
+                                 new SplittableRandom().nextLong());
+  }
+
+  /**
+   * Custom maze builder which uses recursive division to construct the maze
+   * identified by a seed. Building the Tile of every cell takes far longer
+   * than generating the maze, so for very large mazes, such as 20000 by
+   * 20000, use RecursiveDivision.generate and work on the PackedGrid it
+   * returns instead.
+   * @param widthMaze The width of the required maze
+   * @param heightMaze The height of the required maze
+   * @param seed The seed of the maze, the same seed always gives the same maze
+   * @return Returns the constructed maze.
+   */
+  public static Maze fromRecursiveDevision(int widthMaze, int heightMaze, long seed) {
+    Maze newMaze = fromGrid(RecursiveDivision.generate(widthMaze, heightMaze, seed));
+    newMaze.seed = seed;
+    return newMaze;
+  }
+
+  /**
+   * Custom maze builder which uses recursive division to construct a random
+   * maze, splitting large sections in parallel on the common fork join pool.
+   * @param widthMaze The width of the required maze
+   * @param heightMaze The height of the required maze
+   * @return Returns the constructed maze.
+   */
+  public static Maze fromRecursiveDevisionParallel(int widthMaze, int heightMaze) {
+    return fromRecursiveDevisionParallel(widthMaze, heightMaze,
+                                         new SplittableRandom().nextLong());
+  }
+
+  /**
+   * Custom maze builder which uses parallel recursive division to construct
+   * the maze identified by a seed. Gives the same maze as
+   * fromRecursiveDevision for the same seed. As there, very large mazes
+   * should use RecursiveDivision.generateParallel and keep the PackedGrid.
+   * @param widthMaze The width of the required maze
+   * @param heightMaze The height of the required maze
+   * @param seed The seed of the maze, the same seed always gives the same maze
+   * @return Returns the constructed maze.
+   */
+  public static Maze fromRecursiveDevisionParallel(int widthMaze, int heightMaze,
+                                                   long seed) {
+    Maze newMaze = fromGrid(RecursiveDivision.generateParallel(widthMaze,
+                            heightMaze, seed, ForkJoinPool.commonPool()));
+    newMaze.seed = seed;
+    return newMaze;
+  }
+
+  /**
+   * Custom maze builder which uses randomized Kruskal's algorithm to
+   * construct a random perfect maze.
+   * @param widthMaze The width of the required maze
+   * @param heightMaze The height of the required maze
+   * @return Returns the constructed maze.
+   * @throws IllegalArgumentException If the maze is smaller than 3 by 3
+   */
+  public static Maze fromKruskal(int widthMaze, int heightMaze) {
+    return fromKruskal(widthMaze, heightMaze, new SplittableRandom().nextLong());
+  }
+
+  /**
+   * Custom maze builder which uses randomized Kruskal's algorithm to
+   * construct the perfect maze identified by a seed.
+   * @param widthMaze The width of the required maze
+   * @param heightMaze The height of the required maze
+   * @param seed The seed of the maze, the same seed always gives the same maze
+   * @return Returns the constructed maze.
+   * @throws IllegalArgumentException If the maze is smaller than 3 by 3
+   */
+  public static Maze fromKruskal(int widthMaze, int heightMaze, long seed) {
+    Maze newMaze = fromGrid(KruskalGenerator.generate(widthMaze, heightMaze, seed));
+    newMaze.seed = seed;
+    return newMaze;
+  }
+
+  /**
+   * Custom maze builder which uses Wilson's algorithm to construct a random
+   * perfect maze.
+   * @param widthMaze The width of the required maze
+   * @param heightMaze The height of the required maze
+   * @return Returns the constructed maze.
+   * @throws IllegalArgumentException If the maze is smaller than 3 by 3
+   */
+  public static Maze fromWilson(int widthMaze, int heightMaze) {
+    return fromWilson(widthMaze, heightMaze, new SplittableRandom().nextLong());
+  }
 
-    // Starts recursive function to break down maze and create walls
-    newMaze = newMaze.divide(newMaze, 0, 0, widthMaze, heightMaze);
+  /**
+   * Custom maze builder which uses Wilson's algorithm to construct the
+   * perfect maze identified by a seed.
+   * @param widthMaze The width of the required maze
+   * @param heightMaze The height of the required maze
+   * @param seed The seed of the maze, the same seed always gives the same maze
+   * @return Returns the constructed maze.
+   * @throws IllegalArgumentException If the maze is smaller than 3 by 3
+   */
+  public static Maze fromWilson(int widthMaze, int heightMaze, long seed) {
+    Maze newMaze = fromGrid(WilsonGenerator.generate(widthMaze, heightMaze, seed));
+    newMaze.seed = seed;
+    return newMaze;
+  }
 
-    //  Creates an entrance at the coord (0, 0)
-    Tile emptyTile = Tile.fromChar('e');
-    newMaze.getTiles().get(0).set(0, emptyTile);
-    newMaze.setEntrance(newMaze.getTileAtLocation(
-                  newMaze.new Coordinate(0, heightMaze - 1)));
-    // Creates exit at (width of maze, height of maze)
-    emptyTile = Tile.fromChar('x');
-    newMaze.getTiles().get(heightMaze-1).set(widthMaze-1, emptyTile);
-    newMaze.setExit(newMaze.getTileAtLocation(
-                  newMaze.new Coordinate(widthMaze - 1, 0)));
+  /**
+   * Custom maze builder which uses randomized Prim's algorithm to
+   * construct a random perfect maze.
+   * @param widthMaze The width of the required maze
+   * @param heightMaze The height of the required maze
+   * @return Returns the constructed maze.
+   * @throws IllegalArgumentException If the maze is smaller than 3 by 3
+   */
+  public static Maze fromPrim(int widthMaze, int heightMaze) {
+    return fromPrim(widthMaze, heightMaze, new SplittableRandom().nextLong());
+  }
 
+  /**
+   * Custom maze builder which uses randomized Prim's algorithm to
+   * construct the perfect maze identified by a seed.
+   * @param widthMaze The width of the required maze
+   * @param heightMaze The height of the required maze
+   * @param seed The seed of the maze, the same seed always gives the same maze
+   * @return Returns the constructed maze.
+   * @throws IllegalArgumentException If the maze is smaller than 3 by 3
+   */
+  public static Maze fromPrim(int widthMaze, int heightMaze, long seed) {
+    Maze newMaze = fromGrid(PrimGenerator.generate(widthMaze, heightMaze, seed));
+    newMaze.seed = seed;
     return newMaze;
   }
 
   /**
-   * Recursive fucntion which divides the maze into two parts places a wall
-   * down the centre and then calls itself on the to parts it creates until
-   * there is a gap of 2 inbetween (1 creates adjacent walls)
+   * Custom maze builder which grows a random cave with a cellular automaton.
+   * @param widthMaze The width of the required maze
+   * @param heightMaze The height of the required maze
+   * @return Returns the constructed maze.
+   * @throws IllegalArgumentException If the cave has no room for a route
+   */
+  public static Maze fromCave(int widthMaze, int heightMaze) {
+    return fromCave(widthMaze, heightMaze, new SplittableRandom().nextLong());
+  }
+
+  /**
+   * Custom maze builder which grows the cave identified by a seed with a
+   * cellular automaton. Only the largest open region is kept.
+   * @param widthMaze The width of the required maze
+   * @param heightMaze The height of the required maze
+   * @param seed The seed of the maze, the same seed always gives the same maze
+   * @return Returns the constructed maze.
+   * @throws IllegalArgumentException If the cave has no room for a route
+   */
+  public static Maze fromCave(int widthMaze, int heightMaze, long seed) {
+    Maze newMaze = fromGrid(CaveGenerator.generate(widthMaze, heightMaze, seed));
+    newMaze.seed = seed;
+    return newMaze;
+  }
+
+  /**
+   * Builds a braided copy of a maze, with a fraction of its dead ends
+   * knocked through into loops. The original maze is left unchanged, and
+   * the copy keeps every exit if the original has more than one.
+   * @param mazeToBraid The maze to copy
+   * @param fraction The fraction of dead ends to remove, from 0 to 1
+   * @param seed The seed choosing which dead ends are removed
+   * @return Returns the braided maze.
+   * @throws IllegalArgumentException If the fraction is not between 0 and 1
+   */
+  public static Maze braid(Maze mazeToBraid, double fraction, long seed) {
+    PackedGrid grid = PackedGrid.fromTiles(mazeToBraid.getTiles());
+    Braider.braid(grid, fraction, seed);
+    return fromGrid(grid, mazeToBraid.getExits().size() > 1);
+  }
+
+  /**
+   * Divides a section of the maze into two parts, places a wall down the
+   * centre with one opening and repeats on both parts until they are too
+   * small to split. The work is done on a packed grid by RecursiveDivision.
    * @param mazeToSplit The maze that needs to be broken down
    * @param x The leftmost x value of the section of maze to be split
    * @param y The uppermost y value of the section of maze to be split
@@ -339,110 +817,195 @@ public class Maze implements java.io.Serializable {
    * @return Returns the maze split maze.
    */
   public static Maze divide(Maze mazeToSplit, int x, int y, int width, int height) {
-    // If the space to place is 3 or less it cannot place a split so just returns
-    if (width < 3 || height < 3) {
-      return mazeToSplit;
-    }
-    // Picks the corrent orientation to split it
-    String orientation = chooseOrientation(width, height);
-    if (orientation.equals("Vertical")) {
-      Random random = new Random();
-
-      // Chooses where to split the maze
-      // Can be changed a set divider for less randomness
-      int splitX = random.nextInt(width-2) + 1;
-      //int splitX = (width/3);
-      //splitX = splitX + x;
-
-      // Chooses where to place the opening for this wall
-      // Could also be changed for a set place along all walls
-      int openingY = random.nextInt(height);
-      openingY = openingY + y;
-      // Changes tiles to walls except for the opening and any other openings
-      for (int i = y; i < y + height; i++) {
-        if (i != openingY && !mazeToSplit.getTiles().get(i).get(
-                                        splitX + x).toString().equals(".")) {
-          Tile emptyTile = Tile.fromChar('#');
-          mazeToSplit.getTiles().get(i).set(splitX + x, emptyTile);
-        } else {
-          // Sets opening to an empty tile a the two parallel adjacent tiles.
-          Tile emptyTile = Tile.fromChar('.');
-          mazeToSplit.getTiles().get(i).set(splitX + x, emptyTile);
-          emptyTile = Tile.fromChar('.');
-          mazeToSplit.getTiles().get(i).set(splitX + x + 1, emptyTile);
-          emptyTile = Tile.fromChar('.');
-          mazeToSplit.getTiles().get(i).set(splitX + x - 1, emptyTile);
+    PackedGrid grid = PackedGrid.fromTiles(mazeToSplit.getTiles());
+    RecursiveDivision.divide(grid, x, y, width, height,
+                             new SplittableRandom().nextLong());
+    // Only tiles which were changed are replaced
+    for (int row = y; row < y + height; row++) {
+      List<Tile> RowOfTiles = mazeToSplit.getTiles().get(row);
+      for (int column = x; column < x + width; column++) {
+        byte code = grid.get(column, row);
+        if (RowOfTiles.get(column).getType().ordinal() != code) {
+          RowOfTiles.set(column, Tile.fromChar(PackedGrid.symbolOf(code)));
         }
       }
-      // Calls itself on the section to the right and the left of the split
-      mazeToSplit = divide(mazeToSplit, x, y, splitX, height);
-      mazeToSplit = mazeToSplit.divide(
-                mazeToSplit, x + splitX + 1, y, width - splitX - 1, height);
-    } else if (orientation.equals("Horizontal")) {
-      Random random = new Random();
-      int splitY = random.nextInt(height - 2) + 1;
-      //int splitY = (width/3);
-      //splitY = splitY;
-      int openingX = random.nextInt(width);
-      openingX = openingX + x;
-      for (int i = x; i < x + width; i++) {
-        if (i != openingX && !mazeToSplit.getTiles().get(
-                                splitY + y).get(i).toString().equals(".")) {
-          Tile emptyTile = Tile.fromChar('#');
-          mazeToSplit.getTiles().get(splitY + y).set(i, emptyTile);
+    }
+    mazeToSplit.grid = null;
+    return mazeToSplit;
+  }
+
+  /**
+   * Overrides the default toString method to output the maze with numbered axis
+   * @return Returns the maze as a string
+   */
+  @Override
+  public String toString() {
+    int width = tiles.get(0).size();
+    int height = tiles.size();
+    StringBuilder output = new StringBuilder(width * height * 2 + height * 8 + width * 6);
+    try {
+      writeTo(output, null, null);
+    } catch (IOException e) {
+      // A StringBuilder never throws
+      throw new UncheckedIOException(e);
+    }
+    return output.toString();
+  }
+
+  /**
+   * Writes the maze with numbered axis, exactly as toString, without
+   * building it up as one string first.
+   * @param out Where the maze is written.
+   * @throws IOException When out cannot be written to.
+   */
+  public void writeTo(Appendable out) throws IOException {
+    writeTo(out, null, null);
+  }
+
+  /**
+   * Writes the maze with numbered axis to a channel as ASCII, exactly as
+   * toString, a block at a time.
+   * @param channel Where the maze is written, which is left open.
+   * @throws IOException When the channel cannot be written to.
+   */
+  public void writeTo(WritableByteChannel channel) throws IOException {
+    writeTo(channel, null, null);
+  }
+
+  /**
+   * Writes the maze with numbered axis and a route drawn over it. Tiles on
+   * the route are drawn as * and other visited tiles as -. The tiles are
+   * read as they are now, so changes made through getTiles are shown.
+   * @param out Where the maze is written.
+   * @param route The row major grid indices of the route, row 0 being the
+   *              top row, or null for none.
+   * @param visited The row major grid indices of visited tiles, or null for
+   *                none.
+   * @throws IOException When out cannot be written to.
+   */
+  public void writeTo(Appendable out, BitSet route, BitSet visited) throws IOException {
+    int width = tiles.get(0).size();
+    int height = tiles.size();
+    StringBuilder line = new StringBuilder(width * 2 + 12);
+    for (int row = 0; row < height; row++) {
+      List<Tile> rowOfTiles = tiles.get(row);
+      line.setLength(0);
+      line.append(height - (row + 1)).append(' ');
+      int base = row * width;
+      for (int column = 0; column < width; column++) {
+        int index = base + column;
+        if (route != null && route.get(index)) {
+          line.append('*');
+        } else if (visited != null && visited.get(index)) {
+          line.append('-');
         } else {
-          Tile emptyTile = Tile.fromChar('.');
-          mazeToSplit.getTiles().get(splitY + y).set(i, emptyTile);
-          emptyTile = Tile.fromChar('.');
-          mazeToSplit.getTiles().get(splitY + y + 1).set(i, emptyTile);
-          emptyTile = Tile.fromChar('.');
-          mazeToSplit.getTiles().get(splitY + y - 1).set(i, emptyTile);
+          // Tile types are declared in the order of the cell codes
+          byte code = (byte) rowOfTiles.get(column).getType().ordinal();
+          line.append(PackedGrid.symbolOf(code));
         }
+        line.append(' ');
       }
-      mazeToSplit = divide(mazeToSplit, x, y, width, splitY);
-      mazeToSplit = mazeToSplit.divide(
-                mazeToSplit, x, y + splitY + 1, width, height - splitY - 1);
+      line.append('\n');
+      out.append(line);
     }
-    return mazeToSplit;
+    line.setLength(0);
+    line.append("\n  ");
+    for (int column = 0; column < width; column++) {
+      line.append(column).append(' ');
+    }
+    out.append(line);
   }
 
   /**
-   * Picks the orientation that will to split it perpendicular to its longest
-   * dimension based on height and width
-   * @param width The width of the section
-   * @param height The height of the section
-   * @return Returns the orientation default is "Vertical"
+   * Writes the maze with numbered axis and a route drawn over it to a
+   * channel as ASCII.
+   * @param channel Where the maze is written, which is left open.
+   * @param route The row major grid indices of the route, or null for none.
+   * @param visited The row major grid indices of visited tiles, or null for
+   *                none.
+   * @throws IOException When the channel cannot be written to.
    */
-  private static String chooseOrientation(int width, int height) {
-    //If they are of equal length will pick vertically
-    String returnDirection = "Vertical";
-    if (width < height) {
-      returnDirection = "Horizontal";
-    } else if (height > width) {
-      returnDirection = "Vertical";
-    }
-    return returnDirection;
+  public void writeTo(WritableByteChannel channel, BitSet route, BitSet visited)
+                      throws IOException {
+    ChannelAppender out = new ChannelAppender(channel);
+    writeTo(out, route, visited);
+    out.flush();
   }
 
   /**
-   * Overrides the default toString method to output the maze with numbered axis
-   * @return Returns the maze as a string
+   * Appends characters to a channel as ASCII bytes, writing them out a block
+   * at a time.
    */
-  @Override
-  public String toString() {
-    String output = "";
-    for (int i = 0; i < tiles.size(); i++) {
-      output = output + (tiles.size()- (i + 1)) + " ";
-      for (int j = 0; j < tiles.get(i).size(); j++) {
-        output = output + (tiles.get(i).get(j).toString()) + " ";
+  private static class ChannelAppender implements Appendable {
+
+    // Attributes
+    private WritableByteChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+
+    /**
+     * Constructor for an appender
+     * @param channel The channel to write to
+     */
+    private ChannelAppender(WritableByteChannel channel) {
+      this.channel = channel;
+    }
+
+    /**
+     * Appends a sequence of characters
+     * @param text The characters to append
+     * @return Returns this appender
+     * @throws IOException When the channel cannot be written to
+     */
+    @Override
+    public Appendable append(CharSequence text) throws IOException {
+      return append(text, 0, text.length());
+    }
+
+    /**
+     * Appends part of a sequence of characters
+     * @param text The characters to append from
+     * @param start The index of the first character
+     * @param end The index after the last character
+     * @return Returns this appender
+     * @throws IOException When the channel cannot be written to
+     */
+    @Override
+    public Appendable append(CharSequence text, int start, int end) throws IOException {
+      for (int i = start; i < end; i++) {
+        if (!buffer.hasRemaining()) {
+          flush();
+        }
+        buffer.put((byte) text.charAt(i));
       }
-      output = output + "\n";
+      return this;
     }
-    output = output + "\n  ";
-    for (int k = 0; k < tiles.get(0).size(); k++) {
-      output = output + k + " ";
+
+    /**
+     * Appends a single character
+     * @param character The character to append
+     * @return Returns this appender
+     * @throws IOException When the channel cannot be written to
+     */
+    @Override
+    public Appendable append(char character) throws IOException {
+      if (!buffer.hasRemaining()) {
+        flush();
+      }
+      buffer.put((byte) character);
+      return this;
+    }
+
+    /**
+     * Writes everything appended so far to the channel
+     * @throws IOException When the channel cannot be written to
+     */
+    private void flush() throws IOException {
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      buffer.clear();
     }
-    return output;
   }
 
   /**
@@ -0,0 +1,390 @@
+package maze;
+
+// Utils
+import java.util.Arrays;
+import java.util.List;
+import java.io.Serializable;
+
+// Package imports
+import maze.Maze.Direction;
+
+/**
+ * Compact row major representation of a maze which stores a single byte per
+ * tile instead of a Tile object. Row 0 is the top row of the maze, matching
+ * the order of the tiles list and of the maze text files.
+ * @version 19/10/2026
+ */
+public class PackedGrid implements java.io.Serializable {
+
+  // Cell codes, these match the ordinals of Tile.Type
+  public static final byte CORRIDOR = 0;
+  public static final byte ENTRANCE = 1;
+  public static final byte EXIT = 2;
+  public static final byte WALL = 3;
+  public static final byte ROUGH = 4;
+  public static final byte MUD = 5;
+  public static final byte WATER = 6;
+
+  // Character used in maze files for each cell code
+  private static final String SYMBOLS = ".ex#,~%";
+
+  // Tile type and movement cost of each cell code
+  private static final Tile.Type[] TYPES = Tile.Type.values();
+  private static final int[] COSTS = costs();
+
+  // Attributes
+  private int width;
+  private int height;
+  private byte[] cells;
+
+  /**
+   * Constructor for an empty grid where every cell is a corridor
+   * @param width The number of columns in the grid
+   * @param height The number of rows in the grid
+   * @throws IllegalArgumentException If either dimension is not positive or
+   *         the grid would not fit in a single array.
+   */
+  public PackedGrid(int width, int height) {
+    if (width < 1 || height < 1) {
+      throw new IllegalArgumentException("Grid dimensions must be positive");
+    }
+    if ((long) width * height > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("Grid too large");
+    }
+    this.width = width;
+    this.height = height;
+    this.cells = new byte[width * height];
+  }
+
+  /**
+   * Constructor wrapping cells which have already been filled in
+   * @param width The number of columns in the grid
+   * @param height The number of rows in the grid
+   * @param cells The cell codes in row major order, width * height long
+   */
+  PackedGrid(int width, int height, byte[] cells) {
+    this.width = width;
+    this.height = height;
+    this.cells = cells;
+  }
+
+  /**
+   * Builds the table of movement costs from the tile types
+   * @return Returns the cost of each tile type indexed by ordinal
+   */
+  private static int[] costs() {
+    int[] costs = new int[TYPES.length];
+    for (int i = 0; i < TYPES.length; i++) {
+      costs[i] = TYPES[i].getCost();
+    }
+    return costs;
+  }
+
+  /**
+   * Gets the cell code for a character of a maze file
+   * @param symbol The character to be converted
+   * @return Returns the matching cell code or -1 if the character is invalid
+   */
+  public static byte codeOf(char symbol) {
+    return (byte) SYMBOLS.indexOf(symbol);
+  }
+
+  /**
+   * Gets the character used in maze files for a cell code
+   * @param code The cell code to be converted
+   * @return Returns the character representing the code
+   */
+  public static char symbolOf(byte code) {
+    return SYMBOLS.charAt(code);
+  }
+
+  /**
+   * Builds a grid from the 2d list of tiles held by a maze
+   * @param tiles The tiles to be packed, row 0 being the top of the maze
+   * @return Returns a grid holding the type of every tile
+   */
+  static PackedGrid fromTiles(List<List<Tile>> tiles) {
+    PackedGrid grid = new PackedGrid(tiles.get(0).size(), tiles.size());
+    for (int row = 0; row < grid.height; row++) {
+      List<Tile> rowOfTiles = tiles.get(row);
+      for (int column = 0; column < grid.width; column++) {
+        grid.cells[row * grid.width + column] =
+                        (byte) rowOfTiles.get(column).getType().ordinal();
+      }
+    }
+    return grid;
+  }
+
+  /**
+   * Checks that a rectangle lies inside a maze
+   * @param fullWidth The width of the maze
+   * @param fullHeight The height of the maze
+   * @param column The first column of the rectangle
+   * @param row The first row of the rectangle
+   * @param width The width of the rectangle
+   * @param height The height of the rectangle
+   * @throws IllegalArgumentException If it does not
+   */
+  static void checkRegion(int fullWidth, int fullHeight, int column, int row, int width,
+                          int height) {
+    if (width < 1 || height < 1 || column < 0 || row < 0
+        || (long) column + width > fullWidth || (long) row + height > fullHeight) {
+      throw new IllegalArgumentException("Region is not inside the maze");
+    }
+  }
+
+  /**
+   * Gets the width of the grid
+   * @return Returns the number of columns
+   */
+  public int getWidth() {
+    return this.width;
+  }
+
+  /**
+   * Gets the height of the grid
+   * @return Returns the number of rows
+   */
+  public int getHeight() {
+    return this.height;
+  }
+
+  /**
+   * Gets the number of cells in the grid
+   * @return Returns width multiplied by height
+   */
+  public int size() {
+    return this.cells.length;
+  }
+
+  /**
+   * Gets the backing array of the grid, used by the loaders and writers in
+   * this package to move whole rows at once
+   * @return Returns the array of cell codes in row major order
+   */
+  byte[] cells() {
+    return this.cells;
+  }
+
+  /**
+   * Converts a column and row into an index into the grid
+   * @param column The column of the cell
+   * @param row The row of the cell, 0 being the top row
+   * @return Returns the row major index of the cell
+   */
+  public int index(int column, int row) {
+    return row * this.width + column;
+  }
+
+  /**
+   * Gets the column of a cell index
+   * @param index The index of the cell
+   * @return Returns the column the index is in
+   */
+  public int getColumn(int index) {
+    return index % this.width;
+  }
+
+  /**
+   * Gets the row of a cell index
+   * @param index The index of the cell
+   * @return Returns the row the index is in, 0 being the top row
+   */
+  public int getRow(int index) {
+    return index / this.width;
+  }
+
+  /**
+   * Gets the code of the cell at an index
+   * @param index The index of the cell
+   * @return Returns the cell code
+   */
+  public byte get(int index) {
+    return this.cells[index];
+  }
+
+  /**
+   * Gets the code of the cell at a column and row
+   * @param column The column of the cell
+   * @param row The row of the cell
+   * @return Returns the cell code
+   */
+  public byte get(int column, int row) {
+    return this.cells[row * this.width + column];
+  }
+
+  /**
+   * Sets the code of the cell at an index
+   * @param index The index of the cell
+   * @param code The new cell code
+   */
+  public void set(int index, byte code) {
+    this.cells[index] = code;
+  }
+
+  /**
+   * Sets the code of the cell at a column and row
+   * @param column The column of the cell
+   * @param row The row of the cell
+   * @param code The new cell code
+   */
+  public void set(int column, int row, byte code) {
+    this.cells[row * this.width + column] = code;
+  }
+
+  /**
+   * Sets every cell in the grid to the same code
+   * @param code The code to fill the grid with
+   */
+  public void fill(byte code) {
+    Arrays.fill(this.cells, code);
+  }
+
+  /**
+   * Sets a range of cells to the same code
+   * @param from The first index to set
+   * @param to The index after the last one to set
+   * @param code The code to fill the range with
+   */
+  public void fill(int from, int to, byte code) {
+    Arrays.fill(this.cells, from, to, code);
+  }
+
+  /**
+   * Gets the tile type of the cell at an index
+   * @param index The index of the cell
+   * @return Returns the type the cell code represents
+   */
+  public Tile.Type getType(int index) {
+    return TYPES[this.cells[index]];
+  }
+
+  /**
+   * Checks if the cell at an index can be moved through
+   * @param index The index of the cell
+   * @return Returns false if the cell is a wall and true otherwise
+   */
+  public boolean isNavigable(int index) {
+    return this.cells[index] != WALL;
+  }
+
+  /**
+   * Gets the cost of moving onto the cell at an index
+   * @param index The index of the cell
+   * @return Returns the movement cost of the cell, 0 for walls
+   */
+  public int getCost(int index) {
+    return COSTS[this.cells[index]];
+  }
+
+  /**
+   * Gets the highest movement cost of any cell in the grid
+   * @return Returns the largest cost, 1 for a maze without weighted terrain
+   */
+  public int getMaxCost() {
+    boolean[] seen = new boolean[COSTS.length];
+    for (int i = 0; i < this.cells.length; i++) {
+      seen[this.cells[i]] = true;
+    }
+    int max = 1;
+    for (int i = 0; i < COSTS.length; i++) {
+      if (seen[i]) {
+        max = Math.max(max, COSTS[i]);
+      }
+    }
+    return max;
+  }
+
+  /**
+   * Gets the index of the first cell holding a code
+   * @param code The code to look for
+   * @return Returns the index of the first matching cell or -1 if there is none
+   */
+  public int indexOf(byte code) {
+    for (int i = 0; i < this.cells.length; i++) {
+      if (this.cells[i] == code) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Gets the index of the cell adjacent to an index, using the same
+   * directions as Maze.getAdjacentTile (north being up the maze)
+   * @param index The index of the origin cell
+   * @param dir The direction of the neighbour
+   * @return Returns the index of the neighbour or -1 if it is out of bounds
+   */
+  public int neighbour(int index, Direction dir) {
+    int column = index % this.width;
+    switch(dir) {
+      case NORTH:
+        return index >= this.width ? index - this.width : -1;
+      case SOUTH:
+        return index + this.width < this.cells.length ? index + this.width : -1;
+      case EAST:
+        return column + 1 < this.width ? index + 1 : -1;
+      case WEST:
+        return column > 0 ? index - 1 : -1;
+      default:
+        return -1;
+    }
+  }
+
+  /**
+   * Breadth first search giving the number of moves from a cell to every
+   * other cell in the grid
+   * @param source The index of the cell to measure from
+   * @return Returns the distance to every cell, -1 for cells which are walls
+   *         or cannot be reached from the source.
+   */
+  public int[] distancesFrom(int source) {
+    int[] distances = new int[this.cells.length];
+    Arrays.fill(distances, -1);
+    if (!isNavigable(source)) {
+      return distances;
+    }
+    // Every cell is queued at most once so a flat array works as the queue
+    int[] queue = new int[this.cells.length];
+    int head = 0;
+    int tail = 0;
+    distances[source] = 0;
+    queue[tail++] = source;
+    while (head < tail) {
+      int current = queue[head++];
+      int column = current % this.width;
+      int next = distances[current] + 1;
+      if (current >= this.width) {
+        tail = visit(current - this.width, next, distances, queue, tail);
+      }
+      if (current + this.width < this.cells.length) {
+        tail = visit(current + this.width, next, distances, queue, tail);
+      }
+      if (column + 1 < this.width) {
+        tail = visit(current + 1, next, distances, queue, tail);
+      }
+      if (column > 0) {
+        tail = visit(current - 1, next, distances, queue, tail);
+      }
+    }
+    return distances;
+  }
+
+  /**
+   * Queues a cell during the breadth first search if it is unvisited
+   * @param cell The index of the cell being visited
+   * @param distance The distance to give the cell
+   * @param distances The distances found so far
+   * @param queue The search queue
+   * @param tail The current tail of the queue
+   * @return Returns the new tail of the queue
+   */
+  private int visit(int cell, int distance, int[] distances, int[] queue, int tail) {
+    if (distances[cell] == -1 && this.cells[cell] != WALL) {
+      distances[cell] = distance;
+      queue[tail++] = cell;
+    }
+    return tail;
+  }
+}
@@ -0,0 +1,317 @@
+package maze;
+
+// Utils
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Input and output imports
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Package imports
+import maze.InvalidMazeException;
+import maze.MultipleEntranceException;
+import maze.MultipleExitException;
+import maze.NoEntranceException;
+import maze.NoExitException;
+
+/**
+ * Parser for large maze text files which splits them into ranges of rows
+ * parsed on separate threads. Every row of a valid file is the same length,
+ * so once the first row and its line end have been read the position of
+ * every other row is known without reading the rows in between.
+ *
+ * Each range reports the first invalid byte and the first two entrances
+ * and exits it found, and the first row which did not sit where expected.
+ * These are merged in file order so the same exception is raised as by
+ * TxtParser. A file whose rows do not line up, because it is ragged or mixes
+ * line endings, is parsed again by TxtParser, which decides if it is valid.
+ * @version 19/10/2026
+ */
+public final class ParallelTxtParser {
+
+  // Files smaller than this are parsed on the calling thread
+  public static final long PARALLEL_THRESHOLD = 8L << 20;
+
+  // Largest number of bytes parsed by a single task
+  private static final long MAX_TASK_BYTES = 64L << 20;
+
+  /**
+   * What a task found in its range of rows, positions being cell indexes
+   */
+  private static class Range {
+
+    // Attributes
+    private int firstInvalid = -1;
+    private int[] entrances = {-1, -1};
+    private int[] exits = {-1, -1};
+    private int misplacedRow = -1;
+
+    /**
+     * Records an entrance or exit, keeping only the first two
+     * @param found The positions found so far
+     * @param index The position of the new one
+     */
+    private static void record(int[] found, int index) {
+      if (found[0] == -1) {
+        found[0] = index;
+      } else if (found[1] == -1) {
+        found[1] = index;
+      }
+    }
+  }
+
+  /**
+   * Private constructor, the class only holds static methods
+   */
+  private ParallelTxtParser() {
+  }
+
+  /**
+   * Parses a maze file, using a thread per processor if it is large enough.
+   * A gzip compressed file is decompressed as it is parsed on this thread.
+   * @param file The file to be parsed
+   * @param multipleExits True to accept any number of exits
+   * @return Returns the grid of the maze
+   * @throws IOException If the file cannot be read
+   * @throws InvalidMazeException If the maze is not valid, as for
+   *         Maze.fromTxt
+   */
+  public static PackedGrid parse(Path file, boolean multipleExits) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (TxtParser.isGzip(channel)) {
+        return TxtParser.parse(Channels.newInputStream(channel), multipleExits);
+      }
+      int threads = Runtime.getRuntime().availableProcessors();
+      if (threads == 1 || channel.size() < PARALLEL_THRESHOLD) {
+        return TxtParser.parse(channel, multipleExits);
+      }
+      return parse(channel, multipleExits, threads);
+    }
+  }
+
+  /**
+   * Parses a maze file in ranges of rows whatever its size
+   * @param file The file to be parsed
+   * @param multipleExits True to accept any number of exits
+   * @param threads The number of threads to parse with
+   * @return Returns the grid of the maze
+   * @throws IOException If the file cannot be read
+   * @throws InvalidMazeException If the maze is not valid, as for
+   *         Maze.fromTxt
+   * @throws IllegalArgumentException If threads is less than 1
+   */
+  public static PackedGrid parse(Path file, boolean multipleExits, int threads)
+                                 throws IOException {
+    if (threads < 1) {
+      throw new IllegalArgumentException("Threads must be positive");
+    }
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (TxtParser.isGzip(channel)) {
+        return TxtParser.parse(Channels.newInputStream(channel), multipleExits);
+      }
+      return parse(channel, multipleExits, threads);
+    }
+  }
+
+  /**
+   * Works out the layout of the rows from the first one, then parses the
+   * ranges and merges what they found
+   * @param channel The file to be parsed
+   * @param multipleExits True to accept any number of exits
+   * @param threads The number of threads to parse with
+   * @return Returns the grid of the maze
+   * @throws IOException If the file cannot be read
+   */
+  private static PackedGrid parse(FileChannel channel, boolean multipleExits, int threads)
+                                  throws IOException {
+    long length = channel.size();
+    int[] layout = TxtParser.layout(channel);
+    if (layout == null || layout[2] == 1) {
+      // Rows which do not line up, or a single row not worth splitting
+      return TxtParser.parse(channel, multipleExits);
+    }
+    int width = layout[0];
+    boolean pair = layout[1] == 2;
+    long stride = width + layout[1];
+    long rows = layout[2];
+
+    byte[] cells = new byte[(int) (rows * width)];
+    long rowsPerTask = Math.max(1, Math.min(MAX_TASK_BYTES / stride,
+                                            (rows + threads - 1) / threads));
+    List<Callable<Range>> tasks = new ArrayList<Callable<Range>>();
+    for (long row = 0; row < rows; row += rowsPerTask) {
+      long start = row;
+      long end = Math.min(rows, row + rowsPerTask);
+      tasks.add(() -> parseRange(channel, cells, width, pair, stride, length, start, end));
+    }
+    List<Range> ranges = run(tasks, threads);
+
+    // Anything found after a misplaced row was read from the wrong place
+    long limit = cells.length;
+    int[] entrances = {-1, -1};
+    int[] exits = {-1, -1};
+    int firstInvalid = -1;
+    for (Range range : ranges) {
+      if (range.misplacedRow != -1) {
+        limit = Math.min(limit, (long) range.misplacedRow * width);
+      }
+      if (firstInvalid == -1) {
+        firstInvalid = range.firstInvalid;
+      }
+      for (int i = 0; i < 2; i++) {
+        if (range.entrances[i] != -1) {
+          Range.record(entrances, range.entrances[i]);
+        }
+        if (range.exits[i] != -1) {
+          Range.record(exits, range.exits[i]);
+        }
+      }
+    }
+
+    // The first error in the file is the one TxtParser would raise
+    InvalidMazeException error = null;
+    long errorIndex = limit;
+    if (firstInvalid != -1 && firstInvalid < errorIndex) {
+      error = new InvalidMazeException("Invalid Character");
+      errorIndex = firstInvalid;
+    }
+    if (entrances[1] != -1 && entrances[1] < errorIndex) {
+      error = new MultipleEntranceException("Multiple Entrances");
+      errorIndex = entrances[1];
+    }
+    if (!multipleExits && exits[1] != -1 && exits[1] < errorIndex) {
+      error = new MultipleExitException("Multiple Exits");
+    }
+    if (error != null) {
+      throw error;
+    }
+    if (limit < cells.length) {
+      return TxtParser.parse(channel, multipleExits);
+    }
+    if (exits[0] == -1) {
+      throw new NoExitException("No Exit");
+    }
+    if (entrances[0] == -1) {
+      throw new NoEntranceException("No Entance");
+    }
+    return new PackedGrid(width, (int) rows, cells);
+  }
+
+  /**
+   * Runs the tasks on a pool of threads
+   * @param tasks The tasks to run
+   * @param threads The number of threads in the pool
+   * @return Returns the result of every task in order
+   * @throws IOException If a task could not read the file
+   */
+  private static List<Range> run(List<Callable<Range>> tasks, int threads)
+                                 throws IOException {
+    ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, tasks.size()),
+                                                        runnable -> {
+      Thread thread = new Thread(runnable, "txt-parser");
+      thread.setDaemon(true);
+      return thread;
+    });
+    try {
+      List<Range> ranges = new ArrayList<Range>(tasks.size());
+      for (Future<Range> future : pool.invokeAll(tasks)) {
+        ranges.add(future.get());
+      }
+      return ranges;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Parsing interrupted");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof UncheckedIOException) {
+        throw ((UncheckedIOException) e.getCause()).getCause();
+      }
+      throw new IOException("Parsing failed", e.getCause());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * Parses a range of rows straight into their place in the grid
+   * @param channel The file being parsed
+   * @param cells The cells of the whole grid
+   * @param width The length of every row
+   * @param pair True if rows end in \r\n, false for a single byte
+   * @param stride The number of bytes from the start of a row to the next
+   * @param length The length of the file
+   * @param first The first row of the range
+   * @param end The row after the last one in the range
+   * @return Returns what was found in the range
+   */
+  private static Range parseRange(FileChannel channel, byte[] cells, int width,
+                                  boolean pair, long stride, long length, long first,
+                                  long end) {
+    Range range = new Range();
+    long position = first * stride;
+    MappedByteBuffer buffer;
+    try {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                           Math.min((end - first) * stride, length - position));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    for (long row = first; row < end; row++) {
+      int offset = (int) ((row - first) * stride);
+      int base = (int) (row * width);
+      buffer.get(offset, cells, base, width);
+      for (int k = base; k < base + width; k++) {
+        byte code = TxtParser.CODES[cells[k] & 0xFF];
+        if (code < 0 || code == PackedGrid.ENTRANCE || code == PackedGrid.EXIT) {
+          if (code == TxtParser.LINE_END) {
+            range.misplacedRow = (int) row;
+            return range;
+          } else if (code == TxtParser.INVALID) {
+            if (range.firstInvalid == -1) {
+              range.firstInvalid = k;
+            }
+            code = PackedGrid.WALL;
+          } else if (code == PackedGrid.ENTRANCE) {
+            Range.record(range.entrances, k);
+          } else {
+            Range.record(range.exits, k);
+          }
+        }
+        cells[k] = code;
+      }
+      // Every row but a last one without a line end must be followed by one
+      int next = offset + width;
+      if (next < buffer.limit() && !isLineEnd(buffer, next, pair)) {
+        range.misplacedRow = (int) row;
+        return range;
+      }
+    }
+    return range;
+  }
+
+  /**
+   * Checks that a row is ended the same way as the first row
+   * @param buffer The bytes of the range
+   * @param index The index just after the row
+   * @param pair True if rows end in \r\n, false for a single byte
+   * @return Returns true if the line end is where it should be
+   */
+  private static boolean isLineEnd(MappedByteBuffer buffer, int index, boolean pair) {
+    if (pair) {
+      return index + 1 < buffer.limit() && buffer.get(index) == '\r'
+             && buffer.get(index + 1) == '\n';
+    }
+    return TxtParser.CODES[buffer.get(index) & 0xFF] == TxtParser.LINE_END;
+  }
+}
@@ -0,0 +1,474 @@
+package maze;
+
+// Utils
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+// Input and output imports
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Compressed maze format storing each row as runs of tiles. A run either
+ * repeats one cell code or copies the tiles directly above it, so the long
+ * walls and corridors of generated mazes and rows which mostly match the
+ * one before both shrink to a few bytes.
+ *
+ * Every KEY_INTERVAL rows a key row is written without copies, and an
+ * index of where each key row starts is kept at the end of the file, so a
+ * region can be decoded by starting at the key row before it instead of
+ * at the top of the file.
+ *
+ * Layout, version 1, numbers being little endian:
+ *   "MAZR", version byte, three zero bytes, width, height and key interval
+ *   as ints, then the rows. Each run is a token byte whose top three bits
+ *   are the cell code, or 7 to copy from above, and whose low five bits are
+ *   the length minus one. A length field of 31 means the length is 32 plus
+ *   a following varint. After the rows come the offsets of the key rows as
+ *   longs, the offset of that index as a long and a CRC32 of every byte
+ *   before it.
+ * @version 19/10/2026
+ */
+public final class RunLengthFormat {
+
+  // Identifies the file and the layout it uses
+  public static final int VERSION = 1;
+  private static final byte[] MAGIC = {'M', 'A', 'Z', 'R'};
+
+  // Rows between rows which can be decoded on their own
+  public static final int KEY_INTERVAL = 64;
+
+  // Sizes of the parts of the file
+  private static final int HEADER = 20;
+  private static final int FOOTER = 12;
+
+  // Token fields
+  private static final int COPY = 7;
+  private static final int LONG_RUN = 31;
+
+  // Size of the blocks read and written
+  private static final int BLOCK = 1 << 16;
+
+  /**
+   * Reads bytes from a channel a block at a time, keeping a checksum of
+   * everything read
+   */
+  private static class Input {
+
+    // Attributes
+    private ReadableByteChannel channel;
+    private ByteBuffer buffer;
+    private CRC32 crc;
+    private int checked;
+    private long consumed;
+
+    /**
+     * Constructor for reading from a channel's current position
+     * @param channel The channel to read
+     */
+    Input(ReadableByteChannel channel) {
+      this.channel = channel;
+      this.buffer = ByteBuffer.allocate(BLOCK).order(ByteOrder.LITTLE_ENDIAN);
+      this.buffer.flip();
+      this.crc = new CRC32();
+    }
+
+    /**
+     * Makes sure a number of bytes are buffered
+     * @param count The number of bytes needed, at most 8
+     * @throws IOException If the channel ends first
+     */
+    void require(int count) throws IOException {
+      if (buffer.remaining() >= count) {
+        return;
+      }
+      crc.update(buffer.array(), checked, buffer.position() - checked);
+      consumed += buffer.position();
+      // Bytes moved to the front by compact have not been read or checked
+      buffer.compact();
+      checked = 0;
+      while (buffer.position() < count) {
+        if (channel.read(buffer) < 0) {
+          throw new EOFException("Run length maze ends early");
+        }
+      }
+      buffer.flip();
+    }
+
+    /**
+     * Reads a single byte
+     * @return Returns the byte as a value from 0 to 255
+     * @throws IOException If the channel ends first
+     */
+    int next() throws IOException {
+      require(1);
+      return buffer.get() & 0xFF;
+    }
+
+    /**
+     * Reads a little endian int
+     * @return Returns the int
+     * @throws IOException If the channel ends first
+     */
+    int nextInt() throws IOException {
+      require(4);
+      return buffer.getInt();
+    }
+
+    /**
+     * Reads a little endian long
+     * @return Returns the long
+     * @throws IOException If the channel ends first
+     */
+    long nextLong() throws IOException {
+      require(8);
+      return buffer.getLong();
+    }
+
+    /**
+     * Gets the number of bytes read so far
+     * @return Returns the bytes read since the input was made
+     */
+    long position() {
+      return consumed + buffer.position();
+    }
+
+    /**
+     * Gets the checksum of every byte read so far
+     * @return Returns the CRC32 value
+     */
+    int checksum() {
+      crc.update(buffer.array(), checked, buffer.position() - checked);
+      checked = buffer.position();
+      return (int) crc.getValue();
+    }
+  }
+
+  /**
+   * Private constructor, the class only holds static methods
+   */
+  private RunLengthFormat() {
+  }
+
+  /**
+   * Writes a grid to a file, replacing anything already there
+   * @param grid The grid to write
+   * @param file The file to write to
+   * @throws IOException If the file cannot be written
+   */
+  public static void write(PackedGrid grid, Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                                                StandardOpenOption.WRITE,
+                                                StandardOpenOption.TRUNCATE_EXISTING)) {
+      write(grid, channel);
+    }
+  }
+
+  /**
+   * Writes a grid to a channel a row at a time
+   * @param grid The grid to write
+   * @param channel The channel to write to
+   * @throws IOException If the channel cannot be written
+   */
+  public static void write(PackedGrid grid, WritableByteChannel channel)
+                           throws IOException {
+    int width = grid.getWidth();
+    int height = grid.getHeight();
+    byte[] cells = grid.cells();
+    // A row never takes more than a byte per tile plus a long run's varint
+    ByteBuffer out = ByteBuffer.allocate(Math.max(BLOCK, width + 16))
+                               .order(ByteOrder.LITTLE_ENDIAN);
+    CRC32 crc = new CRC32();
+    long written = 0;
+    long[] keys = new long[(height + KEY_INTERVAL - 1) / KEY_INTERVAL];
+    out.put(MAGIC).put((byte) VERSION).put((byte) 0).putShort((short) 0)
+       .putInt(width).putInt(height).putInt(KEY_INTERVAL);
+    for (int row = 0; row < height; row++) {
+      if (out.remaining() < width + 16) {
+        written += flush(out, channel, crc);
+      }
+      if (row % KEY_INTERVAL == 0) {
+        keys[row / KEY_INTERVAL] = written + out.position();
+      }
+      encodeRow(cells, row * width, width, row % KEY_INTERVAL != 0, out);
+    }
+    long indexAt = written + out.position();
+    for (long key : keys) {
+      if (out.remaining() < 8 + FOOTER) {
+        written += flush(out, channel, crc);
+      }
+      out.putLong(key);
+    }
+    out.putLong(indexAt);
+    flush(out, channel, crc);
+    out.putInt((int) crc.getValue());
+    flush(out, channel, null);
+  }
+
+  /**
+   * Encodes a row as runs, choosing at each tile between repeating its code
+   * and copying from the row above, whichever covers more tiles
+   * @param cells The cells of the grid
+   * @param base The index of the first tile of the row
+   * @param width The width of the grid
+   * @param copies True if runs may copy from the row above
+   * @param out The buffer to encode into
+   */
+  private static void encodeRow(byte[] cells, int base, int width, boolean copies,
+                                ByteBuffer out) {
+    int column = 0;
+    while (column < width) {
+      byte code = cells[base + column];
+      int run = 1;
+      while (column + run < width && cells[base + column + run] == code) {
+        run++;
+      }
+      int copy = 0;
+      if (copies) {
+        while (column + copy < width
+               && cells[base + column + copy] == cells[base + column + copy - width]) {
+          copy++;
+        }
+      }
+      if (copy > run) {
+        putRun(out, COPY, copy);
+        column += copy;
+      } else {
+        putRun(out, code, run);
+        column += run;
+      }
+    }
+  }
+
+  /**
+   * Writes the token of a run, and its length if it does not fit
+   * @param out The buffer to write into
+   * @param kind The cell code, or COPY
+   * @param length The number of tiles in the run
+   */
+  private static void putRun(ByteBuffer out, int kind, int length) {
+    if (length <= LONG_RUN) {
+      out.put((byte) (kind << 5 | (length - 1)));
+      return;
+    }
+    out.put((byte) (kind << 5 | LONG_RUN));
+    int rest = length - LONG_RUN - 1;
+    while (rest >= 0x80) {
+      out.put((byte) (rest | 0x80));
+      rest >>>= 7;
+    }
+    out.put((byte) rest);
+  }
+
+  /**
+   * Writes out everything in the buffer
+   * @param out The buffer to empty
+   * @param channel The channel to write to
+   * @param crc The checksum to add the bytes to, or null
+   * @return Returns the number of bytes written
+   * @throws IOException If the channel cannot be written
+   */
+  private static int flush(ByteBuffer out, WritableByteChannel channel, CRC32 crc)
+                           throws IOException {
+    out.flip();
+    int count = out.remaining();
+    if (crc != null) {
+      crc.update(out.array(), 0, count);
+    }
+    while (out.hasRemaining()) {
+      channel.write(out);
+    }
+    out.clear();
+    return count;
+  }
+
+  /**
+   * Reads a whole grid from a file
+   * @param file The file to read
+   * @return Returns the grid stored in the file
+   * @throws IOException If the file cannot be read, is not a run length
+   *         maze or fails its checksum
+   */
+  public static PackedGrid read(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return read(channel);
+    }
+  }
+
+  /**
+   * Reads a whole grid from a channel, decoding each row as its bytes
+   * arrive so the compressed form is never held in memory at once
+   * @param channel The channel to read, positioned at the start of the maze
+   * @return Returns the grid stored in the channel
+   * @throws IOException If the channel cannot be read, is not a run length
+   *         maze or fails its checksum
+   */
+  public static PackedGrid read(ReadableByteChannel channel) throws IOException {
+    Input in = new Input(channel);
+    int[] size = readHeader(in);
+    int width = size[0];
+    int height = size[1];
+    byte[] cells = new byte[width * height];
+    for (int row = 0; row < height; row++) {
+      decodeRow(in, cells, row * width, cells, (row - 1) * width, width,
+                row % size[2] != 0);
+    }
+    long indexAt = in.position();
+    for (int key = 0; key < (height + size[2] - 1) / size[2]; key++) {
+      in.nextLong();
+    }
+    if (in.nextLong() != indexAt) {
+      throw new IOException("Corrupt run length maze");
+    }
+    int expected = in.checksum();
+    if (in.nextInt() != expected) {
+      throw new IOException("Run length maze checksum does not match");
+    }
+    return new PackedGrid(width, height, cells);
+  }
+
+  /**
+   * Decodes only a rectangle of a maze file. Decoding starts at the key row
+   * at or above the rectangle, and only those rows are read from the file.
+   * The checksum covers the whole file so it is not checked.
+   * @param file The file to read
+   * @param column The first column of the rectangle
+   * @param row The first row of the rectangle, 0 being the top row
+   * @param width The width of the rectangle
+   * @param height The height of the rectangle
+   * @return Returns a grid of the rectangle, holding an entrance or exit only
+   *         if one is inside it
+   * @throws IOException If the file cannot be read or is not a run length
+   *         maze
+   * @throws IllegalArgumentException If the rectangle is not inside the maze
+   */
+  public static PackedGrid readRegion(Path file, int column, int row, int width,
+                                      int height) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      int[] size = readHeader(new Input(channel.position(0)));
+      int fullWidth = size[0];
+      int interval = size[2];
+      PackedGrid.checkRegion(size[0], size[1], column, row, width, height);
+
+      ByteBuffer footer = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+      readFully(channel, footer, channel.size() - FOOTER);
+      long indexAt = footer.getLong(0);
+      footer.clear();
+      readFully(channel, footer, indexAt + 8L * (row / interval));
+      long keyAt = footer.getLong(0);
+      if (keyAt < HEADER || keyAt >= indexAt) {
+        throw new IOException("Corrupt run length maze");
+      }
+
+      Input in = new Input(channel.position(keyAt));
+      PackedGrid region = new PackedGrid(width, height);
+      byte[] current = new byte[fullWidth];
+      byte[] above = new byte[fullWidth];
+      int first = row - row % interval;
+      for (int r = first; r < row + height; r++) {
+        decodeRow(in, current, 0, above, 0, fullWidth, r % interval != 0);
+        if (r >= row) {
+          System.arraycopy(current, column, region.cells(), (r - row) * width, width);
+        }
+        byte[] swap = above;
+        above = current;
+        current = swap;
+      }
+      return region;
+    }
+  }
+
+  /**
+   * Reads the header at the start of a maze
+   * @param in The input positioned at the header
+   * @return Returns the width, height and key interval
+   * @throws IOException If it is not the header of a run length maze
+   */
+  private static int[] readHeader(Input in) throws IOException {
+    for (int i = 0; i < MAGIC.length; i++) {
+      if (in.next() != MAGIC[i]) {
+        throw new IOException("Not a run length maze");
+      }
+    }
+    int version = in.next();
+    if (version != VERSION) {
+      throw new IOException("Unsupported run length maze version " + version);
+    }
+    in.next();
+    in.next();
+    in.next();
+    int width = in.nextInt();
+    int height = in.nextInt();
+    int interval = in.nextInt();
+    if (width < 1 || height < 1 || (long) width * height > Integer.MAX_VALUE - 8
+        || interval < 1) {
+      throw new IOException("Corrupt run length maze");
+    }
+    return new int[] {width, height, interval};
+  }
+
+  /**
+   * Decodes the runs of one row
+   * @param in The input positioned at the row
+   * @param cells The array to decode into
+   * @param base The index in cells of the first tile of the row
+   * @param above The array holding the row above
+   * @param aboveBase The index in above of the first tile of the row above
+   * @param width The width of a row
+   * @param copies True if the row may copy from the row above
+   * @throws IOException If the row is not valid
+   */
+  private static void decodeRow(Input in, byte[] cells, int base, byte[] above,
+                                int aboveBase, int width, boolean copies)
+                                throws IOException {
+    int column = 0;
+    while (column < width) {
+      int token = in.next();
+      int kind = token >>> 5;
+      long length = (token & LONG_RUN) + 1;
+      if (length > LONG_RUN) {
+        long rest = 0;
+        for (int shift = 0; ; shift += 7) {
+          int part = in.next();
+          rest |= (long) (part & 0x7F) << shift;
+          if ((part & 0x80) == 0 || shift > 28) {
+            break;
+          }
+        }
+        length = LONG_RUN + 1 + rest;
+      }
+      if (column + length > width || kind > PackedGrid.WATER && !(kind == COPY && copies)) {
+        throw new IOException("Corrupt run length maze");
+      }
+      if (kind == COPY) {
+        System.arraycopy(above, aboveBase + column, cells, base + column, (int) length);
+      } else {
+        Arrays.fill(cells, base + column, base + column + (int) length, (byte) kind);
+      }
+      column += length;
+    }
+  }
+
+  /**
+   * Reads enough bytes to fill a buffer from a position of a file
+   * @param channel The file to read
+   * @param buffer The buffer to fill
+   * @param position The position to read from
+   * @throws IOException If the file ends first
+   */
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position)
+                                throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new EOFException("Run length maze ends early");
+      }
+    }
+  }
+}
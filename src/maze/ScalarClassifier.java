@@ -0,0 +1,69 @@
+package maze;
+
+/**
+ * Classifier looking at one byte at a time, used when the Vector API is not
+ * available and for the ends of rows too short to fill a vector.
+ * @version 19/10/2026
+ */
+public final class ScalarClassifier implements ByteClassifier {
+
+  /**
+   * Classifies a range of bytes one at a time
+   * @param bytes The bytes to classify
+   * @param from The index of the first byte
+   * @param to The index after the last byte
+   * @param walls Bitmap of the walls from the first byte, or null
+   * @param counts Array the entrances and exits are added to
+   * @return Returns the index of the first byte which is not a tile, or -1
+   */
+  @Override
+  public int scan(byte[] bytes, int from, int to, long[] walls, int[] counts) {
+    return scan(bytes, from, from, to, walls, counts);
+  }
+
+  /**
+   * Gets the name of the classifier
+   * @return Returns "scalar"
+   */
+  @Override
+  public String getName() {
+    return "scalar";
+  }
+
+  /**
+   * Classifies part of a range whose bitmap starts before it
+   * @param bytes The bytes to classify
+   * @param from The index bit 0 of the bitmap refers to
+   * @param start The index of the first byte to classify
+   * @param to The index after the last byte
+   * @param walls Bitmap of the walls, or null
+   * @param counts Array the entrances and exits are added to
+   * @return Returns the index of the first byte which is not a tile, or -1
+   */
+  static int scan(byte[] bytes, int from, int start, int to, long[] walls,
+                  int[] counts) {
+    for (int i = start; i < to; i++) {
+      switch (bytes[i]) {
+        case '#':
+          if (walls != null) {
+            walls[(i - from) >>> 6] |= 1L << (i - from);
+          }
+          break;
+        case 'e':
+          counts[ENTRANCES]++;
+          break;
+        case 'x':
+          counts[EXITS]++;
+          break;
+        case '.':
+        case ',':
+        case '~':
+        case '%':
+          break;
+        default:
+          return i;
+      }
+    }
+    return -1;
+  }
+}
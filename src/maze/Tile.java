@@ -22,10 +22,30 @@ public class Tile implements java.io.Serializable {
   }
 
   /**
-   * Enum to represent the 4 different types of tile
+   * Enum to represent the different types of tile. ROUGH, MUD and WATER are
+   * weighted terrain which can be walked through at a higher cost.
    */
   public enum Type {
-    CORRIDOR, ENTRANCE, EXIT, WALL
+    CORRIDOR(1), ENTRANCE(1), EXIT(1), WALL(0), ROUGH(2), MUD(4), WATER(8);
+
+    // The cost of moving onto a tile of this type
+    private final int cost;
+
+    /**
+     * Constructor for a type with a movement cost
+     * @param cost The cost of moving onto the tile, 0 for walls
+     */
+    Type(int cost) {
+      this.cost = cost;
+    }
+
+    /**
+     * Gets the cost of moving onto a tile of this type
+     * @return Returns the movement cost, 0 for walls which cannot be entered
+     */
+    public int getCost() {
+      return this.cost;
+    }
   }
 
   /**
@@ -51,6 +71,15 @@ public class Tile implements java.io.Serializable {
       case 'x':
         tileType = Type.EXIT;
         break;
+      case ',':
+        tileType = Type.ROUGH;
+        break;
+      case '~':
+        tileType = Type.MUD;
+        break;
+      case '%':
+        tileType = Type.WATER;
+        break;
     }
     tile = new Tile(tileType);
     tile.tileChar = charecter;
@@ -65,6 +94,14 @@ public class Tile implements java.io.Serializable {
     return this.type;
   }
 
+  /**
+   * Gets the cost of moving onto the tile
+   * @return Returns the movement cost of the tiles type
+   */
+  public int getCost() {
+    return this.type.getCost();
+  }
+
   /**
    * Checks if the tile is navigatable
    * @return Returns a boolean value representing if the tile is navigatable
@@ -0,0 +1,570 @@
+package maze;
+
+// Utils
+import java.util.Arrays;
+
+// Input and output imports
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.util.zip.GZIPInputStream;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Package imports
+import maze.InvalidMazeException;
+import maze.MultipleEntranceException;
+import maze.MultipleExitException;
+import maze.NoEntranceException;
+import maze.NoExitException;
+import maze.RaggedMazeException;
+
+/**
+ * Streaming parser for maze text files, classifying each byte straight into
+ * the cells of a packed grid with a lookup table. Bytes can be fed in any
+ * number of pieces, so it works the same on a memory mapped file or on
+ * blocks read from a stream, and nothing is allocated per tile.
+ *
+ * Errors are raised in the same order as reading the file line by line:
+ * a row of the wrong length is reported before any error inside it, so
+ * errors found part way along a row are held until the row is complete.
+ * Rows may end in \n, \r or \r\n, and the last row may have no line end.
+ * @version 19/10/2026
+ */
+public final class TxtParser {
+
+  // Largest part of a file mapped at once
+  static final long MAP_WINDOW = 1L << 30;
+
+  // Bytes read from a stream at a time
+  private static final int BLOCK = 1 << 16;
+
+  // First two bytes of gzip data, neither of which is valid in a maze
+  private static final int GZIP_MAGIC_0 = 0x1f;
+  private static final int GZIP_MAGIC_1 = 0x8b;
+
+  // Largest grid a single array can hold
+  private static final int MAX_CELLS = Integer.MAX_VALUE - 8;
+
+  // Table codes for bytes which are not tiles
+  static final byte INVALID = -1;
+  static final byte LINE_END = -2;
+
+  // Cell code of every byte value
+  static final byte[] CODES = codes();
+
+  // Checks runs of bytes before they are converted, only worth the extra
+  // pass when it is the Vector API classifier
+  private static final ByteClassifier CLASSIFIER = ByteClassifier.load();
+  private static final boolean VECTORISED = !(CLASSIFIER instanceof ScalarClassifier);
+
+  // Attributes
+  private boolean multipleExits;
+  private long sizeHint;
+  private byte[] cells;
+  private int size;
+  private int width;
+  private int rows;
+  private int column;
+  private int entrance;
+  private int exit;
+  private boolean afterReturn;
+  private InvalidMazeException pending;
+  private int[] counts = new int[2];
+
+  /**
+   * Constructor for a parser
+   * @param multipleExits True to accept any number of exits
+   */
+  public TxtParser(boolean multipleExits) {
+    this(multipleExits, 0);
+  }
+
+  /**
+   * Constructor for a parser which knows roughly how many bytes are coming,
+   * so the grid can be sized once the first row has been read
+   * @param multipleExits True to accept any number of exits
+   * @param sizeHint The expected length of the file in bytes, 0 if unknown
+   */
+  public TxtParser(boolean multipleExits, long sizeHint) {
+    this.multipleExits = multipleExits;
+    this.sizeHint = sizeHint;
+    this.cells = new byte[(int) Math.min(Math.max(sizeHint, 16), 1 << 16)];
+    this.width = -1;
+    this.entrance = -1;
+    this.exit = -1;
+  }
+
+  /**
+   * Builds the table of cell codes for each byte value
+   * @return Returns the table
+   */
+  private static byte[] codes() {
+    byte[] codes = new byte[256];
+    Arrays.fill(codes, INVALID);
+    for (byte code = 0; code <= PackedGrid.WATER; code++) {
+      codes[PackedGrid.symbolOf(code)] = code;
+    }
+    codes['\n'] = LINE_END;
+    codes['\r'] = LINE_END;
+    return codes;
+  }
+
+  /**
+   * Parses a maze file by memory mapping it, or by streaming it if it is
+   * gzip compressed
+   * @param file The file to be parsed
+   * @param multipleExits True to accept any number of exits
+   * @return Returns the grid of the maze
+   * @throws IOException If the file cannot be read
+   * @throws InvalidMazeException If the maze is not valid, as for
+   *         Maze.fromTxt
+   */
+  public static PackedGrid parse(Path file, boolean multipleExits) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (isGzip(channel)) {
+        return parse(Channels.newInputStream(channel), multipleExits);
+      }
+      return parse(channel, multipleExits);
+    }
+  }
+
+  /**
+   * Parses a maze from a stream a block at a time, so the text is never held
+   * whole. Gzip compressed text is recognised by its first two bytes and
+   * decompressed as it is read.
+   * @param in The stream to be parsed, left open
+   * @param multipleExits True to accept any number of exits
+   * @return Returns the grid of the maze
+   * @throws IOException If the stream cannot be read or holds damaged gzip
+   *         data
+   * @throws InvalidMazeException If the maze is not valid, as for
+   *         Maze.fromTxt
+   */
+  public static PackedGrid parse(InputStream in, boolean multipleExits)
+                                 throws IOException {
+    byte[] block = new byte[BLOCK];
+    int count = in.readNBytes(block, 0, 2);
+    if (isGzip(block, count)) {
+      in = new GZIPInputStream(new SequenceInputStream(
+          new ByteArrayInputStream(block, 0, count), in), BLOCK);
+      count = 0;
+    }
+    TxtParser parser = new TxtParser(multipleExits);
+    ByteBuffer buffer = ByteBuffer.wrap(block);
+    do {
+      parser.feed(buffer.limit(count));
+      count = in.read(block);
+    } while (count != -1);
+    return parser.finish();
+  }
+
+  /**
+   * Parses a maze from a channel a block at a time, such as a pipe or
+   * socket. Gzip compressed text is recognised and decompressed as it is
+   * read.
+   * @param channel The channel to be parsed, left open
+   * @param multipleExits True to accept any number of exits
+   * @return Returns the grid of the maze
+   * @throws IOException If the channel cannot be read or holds damaged gzip
+   *         data
+   * @throws InvalidMazeException If the maze is not valid, as for
+   *         Maze.fromTxt
+   */
+  public static PackedGrid parse(ReadableByteChannel channel, boolean multipleExits)
+                                 throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(BLOCK);
+    while (buffer.position() < 2 && channel.read(buffer) != -1) {
+      // Reads until the gzip magic can be checked
+    }
+    if (isGzip(buffer.array(), buffer.position())) {
+      return parse(new SequenceInputStream(
+          new ByteArrayInputStream(buffer.array(), 0, buffer.position()),
+          Channels.newInputStream(channel)), multipleExits);
+    }
+    TxtParser parser = new TxtParser(multipleExits);
+    do {
+      parser.feed(buffer.flip());
+      buffer.clear();
+    } while (channel.read(buffer) != -1);
+    return parser.finish();
+  }
+
+  /**
+   * Checks if the start of some data is the gzip magic number
+   * @param bytes The first bytes of the data
+   * @param count The number of bytes there are
+   * @return Returns true if the data is gzip compressed
+   */
+  static boolean isGzip(byte[] bytes, int count) {
+    return count >= 2 && (bytes[0] & 0xFF) == GZIP_MAGIC_0
+           && (bytes[1] & 0xFF) == GZIP_MAGIC_1;
+  }
+
+  /**
+   * Checks if a file starts with the gzip magic number
+   * @param channel The file to check
+   * @return Returns true if the file is gzip compressed
+   * @throws IOException If the file cannot be read
+   */
+  static boolean isGzip(FileChannel channel) throws IOException {
+    ByteBuffer magic = ByteBuffer.allocate(2);
+    while (magic.hasRemaining() && channel.read(magic, magic.position()) != -1) {
+      // Reads until both bytes are in or the file ends
+    }
+    return isGzip(magic.array(), magic.position());
+  }
+
+  /**
+   * Parses an open maze file by memory mapping it
+   * @param channel The file to be parsed
+   * @param multipleExits True to accept any number of exits
+   * @return Returns the grid of the maze
+   * @throws IOException If the file cannot be read
+   * @throws InvalidMazeException If the maze is not valid
+   */
+  static PackedGrid parse(FileChannel channel, boolean multipleExits) throws IOException {
+    long length = channel.size();
+    TxtParser parser = new TxtParser(multipleExits, length);
+    for (long position = 0; position < length; position += MAP_WINDOW) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                                            Math.min(MAP_WINDOW, length - position));
+      parser.feed(buffer);
+    }
+    return parser.finish();
+  }
+
+  /**
+   * Works out the layout of a file whose rows are all the same length and
+   * end the same way, from its first row and its length
+   * @param channel The file to look at
+   * @return Returns the row length, the number of bytes ending each row and
+   *         the number of rows, or null if the rows cannot all be the same
+   * @throws IOException If the file cannot be read
+   * @throws IllegalArgumentException If the grid would be too large
+   */
+  static int[] layout(FileChannel channel) throws IOException {
+    long length = channel.size();
+    MappedByteBuffer head = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                                        Math.min(length, MAP_WINDOW));
+    int width = 0;
+    while (width < head.limit() && CODES[head.get(width) & 0xFF] != LINE_END) {
+      width++;
+    }
+    if (width == 0 || (width == head.limit() && width < length)) {
+      return null;
+    }
+    // A file without a line end is a single row
+    int lineEnd = width + 1 < head.limit() && head.get(width) == '\r'
+                  && head.get(width + 1) == '\n' ? 2 : 1;
+    long stride = width + lineEnd;
+    // The last row may or may not have a line end
+    long rows;
+    if (length % stride == 0) {
+      rows = length / stride;
+    } else if ((length + lineEnd) % stride == 0) {
+      rows = (length + lineEnd) / stride;
+    } else {
+      return null;
+    }
+    if (rows * width > MAX_CELLS) {
+      throw new IllegalArgumentException("Grid too large");
+    }
+    return new int[] {width, lineEnd, (int) rows};
+  }
+
+  /**
+   * Parses only a rectangle of a maze file. Every row is taken to be the
+   * length of the first, so only the bytes of the rectangle are read and
+   * only they are checked.
+   * @param file The file to be parsed
+   * @param column The first column of the rectangle
+   * @param row The first row of the rectangle, 0 being the top row
+   * @param width The width of the rectangle
+   * @param height The height of the rectangle
+   * @return Returns a grid of the rectangle, holding an entrance or exit only
+   *         if one is inside it
+   * @throws IOException If the file cannot be read
+   * @throws RaggedMazeException If the rows of the file are not all the same
+   *         length, or a line ends inside the rectangle
+   * @throws InvalidMazeException If the rectangle holds an invalid character
+   * @throws IllegalArgumentException If the rectangle is not inside the maze
+   */
+  public static PackedGrid parseRegion(Path file, int column, int row, int width,
+                                       int height) throws IOException {
+    return parseRegion(file, column, row, width, height, null);
+  }
+
+  /**
+   * Parses only a rectangle of a maze file, giving the size of the whole maze
+   * @param file The file to be parsed
+   * @param column The first column of the rectangle
+   * @param row The first row of the rectangle, 0 being the top row
+   * @param width The width of the rectangle
+   * @param height The height of the rectangle
+   * @param size Array the width and height of the whole maze are put in, or
+   *        null
+   * @return Returns a grid of the rectangle
+   * @throws IOException If the file cannot be read
+   */
+  static PackedGrid parseRegion(Path file, int column, int row, int width, int height,
+                                int[] size) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      int[] layout = layout(channel);
+      if (layout == null) {
+        throw new RaggedMazeException("Variable length");
+      }
+      PackedGrid.checkRegion(layout[0], layout[2], column, row, width, height);
+      if (size != null) {
+        size[0] = layout[0];
+        size[1] = layout[2];
+      }
+      long stride = layout[0] + layout[1];
+      PackedGrid region = new PackedGrid(width, height);
+      byte[] cells = region.cells();
+      ByteBuffer buffer = ByteBuffer.wrap(cells);
+      for (int r = 0; r < height; r++) {
+        buffer.limit((r + 1) * width).position(r * width);
+        long position = (row + r) * stride + column;
+        while (buffer.hasRemaining()) {
+          if (channel.read(buffer, position + buffer.position() - r * width) < 0) {
+            throw new RaggedMazeException("Variable length");
+          }
+        }
+      }
+      for (int i = 0; i < cells.length; i++) {
+        byte code = CODES[cells[i] & 0xFF];
+        if (code == LINE_END) {
+          throw new RaggedMazeException("Variable length");
+        } else if (code == INVALID) {
+          throw new InvalidMazeException("Invalid Character");
+        }
+        cells[i] = code;
+      }
+      return region;
+    }
+  }
+
+  /**
+   * Parses the remaining bytes of a buffer, leaving its position unchanged
+   * @param buffer The next bytes of the file
+   * @throws InvalidMazeException As soon as the bytes so far are not valid
+   */
+  public void feed(ByteBuffer buffer) {
+    int limit = buffer.limit();
+    for (int i = buffer.position(); i < limit; i++) {
+      if (column < width) {
+        // Copies the rest of the row in bulk, stopping at anything unusual
+        int copied = copyTiles(buffer, i, Math.min(width - column, limit - i));
+        if (copied > 0) {
+          // A \n after these tiles starts a new row rather than ending a \r\n
+          afterReturn = false;
+          i += copied;
+        }
+        if (i == limit) {
+          break;
+        }
+      }
+      byte value = buffer.get(i);
+      byte code = CODES[value & 0xFF];
+      if (code == LINE_END) {
+        // The \n of a \r\n has already ended its row
+        if (afterReturn && value == '\n') {
+          afterReturn = false;
+          continue;
+        }
+        afterReturn = value == '\r';
+        if (width == -1) {
+          // Peeks for \r\n so the grid is sized for the right line ending
+          boolean pair = afterReturn && i + 1 < limit && buffer.get(i + 1) == '\n';
+          firstRowEnded(pair ? 2 : 1);
+        } else {
+          endRow();
+        }
+        continue;
+      }
+      afterReturn = false;
+      add(code);
+    }
+  }
+
+  /**
+   * Ends the last row and checks the maze has an exit and an entrance
+   * @return Returns the grid of the maze
+   * @throws InvalidMazeException If the last row is not valid, or the maze
+   *         has no exit or no entrance
+   */
+  public PackedGrid finish() {
+    if (column > 0) {
+      if (width == -1) {
+        firstRowEnded(1);
+      } else {
+        endRow();
+      }
+    }
+    if (exit == -1) {
+      throw new NoExitException("No Exit");
+    }
+    if (entrance == -1) {
+      throw new NoEntranceException("No Entance");
+    }
+    int cellCount = width * rows;
+    byte[] grid = cells.length == cellCount ? cells : Arrays.copyOf(cells, cellCount);
+    return new PackedGrid(width, rows, grid);
+  }
+
+  /**
+   * Copies bytes into the grid and converts them to cell codes in place, as
+   * long as they are ordinary tiles. Entrances, exits, line ends and invalid
+   * bytes are left for the caller to handle one at a time.
+   * @param buffer The bytes being parsed
+   * @param from The index of the first byte to copy
+   * @param count The most bytes to copy, never past the end of the row
+   * @return Returns the number of bytes copied
+   */
+  private int copyTiles(ByteBuffer buffer, int from, int count) {
+    if (size + count > cells.length) {
+      grow((long) size + count);
+    }
+    buffer.get(from, cells, size, count);
+    int end = size + count;
+    if (VECTORISED) {
+      end = checkedEnd(size, end);
+      for (int k = size; k < end; k++) {
+        cells[k] = CODES[cells[k] & 0xFF];
+      }
+    } else {
+      for (int k = size; k < end; k++) {
+        byte code = CODES[cells[k] & 0xFF];
+        if (code < 0 || code == PackedGrid.ENTRANCE || code == PackedGrid.EXIT) {
+          end = k;
+          break;
+        }
+        cells[k] = code;
+      }
+    }
+    int copied = end - size;
+    size = end;
+    column += copied;
+    return copied;
+  }
+
+  /**
+   * Finds how far along a run of copied bytes they are all ordinary tiles,
+   * using the vector classifier so the conversion after it needs no checks
+   * @param from The index of the first copied byte
+   * @param to The index after the last copied byte
+   * @return Returns the index of the first byte which is not an ordinary
+   *         tile, or to if there is none
+   */
+  private int checkedEnd(int from, int to) {
+    counts[ByteClassifier.ENTRANCES] = 0;
+    counts[ByteClassifier.EXITS] = 0;
+    int stop = CLASSIFIER.scan(cells, from, to, null, counts);
+    int end = stop == -1 ? to : stop;
+    if (counts[ByteClassifier.ENTRANCES] + counts[ByteClassifier.EXITS] > 0) {
+      // Rare enough to look for the first one byte by byte
+      for (int k = from; k < end; k++) {
+        if (cells[k] == 'e' || cells[k] == 'x') {
+          return k;
+        }
+      }
+    }
+    return end;
+  }
+
+  /**
+   * Adds a tile to the current row, holding back any error until the row
+   * is known to be the right length
+   * @param code The cell code of the tile, or INVALID
+   * @throws RaggedMazeException If the row is longer than the first
+   */
+  private void add(byte code) {
+    if (column == width) {
+      throw new RaggedMazeException("Variable length");
+    }
+    int index = size;
+    if (code == INVALID) {
+      hold(new InvalidMazeException("Invalid Character"));
+      code = PackedGrid.WALL;
+    } else if (code == PackedGrid.ENTRANCE) {
+      if (entrance == -1) {
+        entrance = index;
+      } else {
+        hold(new MultipleEntranceException("Multiple Entrances"));
+      }
+    } else if (code == PackedGrid.EXIT) {
+      if (exit == -1) {
+        exit = index;
+      } else if (!multipleExits) {
+        hold(new MultipleExitException("Multiple Exits"));
+      }
+    }
+    if (size == cells.length) {
+      grow(size + 1);
+    }
+    cells[size++] = code;
+    column++;
+  }
+
+  /**
+   * Keeps the first error found in the current row
+   * @param error The error found
+   */
+  private void hold(InvalidMazeException error) {
+    if (pending == null) {
+      pending = error;
+    }
+  }
+
+  /**
+   * Ends the first row, which sets the width, and sizes the grid for the
+   * rest of the file
+   * @param lineEnd The number of bytes ending the first row
+   */
+  private void firstRowEnded(int lineEnd) {
+    width = column;
+    if (sizeHint > 0 && width > 0) {
+      long expected = (sizeHint + lineEnd) / (width + lineEnd) * width;
+      if (expected > cells.length) {
+        cells = Arrays.copyOf(cells, (int) Math.min(expected, MAX_CELLS));
+      }
+    }
+    endRow();
+  }
+
+  /**
+   * Ends the current row once it is known to be complete
+   * @throws RaggedMazeException If the row is shorter than the first
+   * @throws InvalidMazeException If an error was found in the row
+   */
+  private void endRow() {
+    if (column != width) {
+      throw new RaggedMazeException("Variable length");
+    }
+    if (pending != null) {
+      throw pending;
+    }
+    rows++;
+    column = 0;
+  }
+
+  /**
+   * Makes room for more cells
+   * @param needed The number of cells which must fit
+   * @throws IllegalArgumentException If the grid would be too large
+   */
+  private void grow(long needed) {
+    if (needed > MAX_CELLS) {
+      throw new IllegalArgumentException("Grid too large");
+    }
+    cells = Arrays.copyOf(cells, (int) Math.min(Math.max(needed, 2L * cells.length),
+                                                MAX_CELLS));
+  }
+}
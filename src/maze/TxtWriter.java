@@ -0,0 +1,181 @@
+package maze;
+
+// Input and output imports
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes mazes in the text format read by TxtParser, one character per tile
+ * and a \n between rows. Rows of cell codes are converted with a lookup
+ * table into a large buffer which is written to the channel whenever it
+ * fills, so the text of the whole maze is never held at once. Rows can be
+ * written one at a time as they are made, so generators which stream a
+ * maze never need its whole grid either.
+ * @version 19/10/2026
+ */
+public final class TxtWriter {
+
+  // Bytes written to the channel at a time
+  private static final int BUFFER_SIZE = 1 << 20;
+
+  // Character of every cell code
+  private static final byte[] SYMBOLS = symbols();
+
+  // Attributes
+  private WritableByteChannel channel;
+  private ByteBuffer buffer;
+  private boolean firstRow = true;
+
+  /**
+   * Constructor for a writer of rows to a channel
+   * @param channel The channel to write to, left open
+   * @param width The length of the rows, so the buffer can hold a whole row
+   */
+  public TxtWriter(WritableByteChannel channel, int width) {
+    this(channel, width, BUFFER_SIZE);
+  }
+
+  /**
+   * Constructor for a writer which knows about how many bytes are coming,
+   * so a small maze does not get a large buffer
+   * @param channel The channel to write to, left open
+   * @param width The length of the rows
+   * @param expected The number of bytes expected
+   */
+  private TxtWriter(WritableByteChannel channel, int width, long expected) {
+    this.channel = channel;
+    this.buffer = ByteBuffer.allocate((int) Math.max(Math.min(BUFFER_SIZE, expected),
+                                                     width + 1));
+  }
+
+  /**
+   * Builds the table of characters for each cell code
+   * @return Returns the table
+   */
+  private static byte[] symbols() {
+    byte[] symbols = new byte[PackedGrid.WATER + 1];
+    for (byte code = 0; code < symbols.length; code++) {
+      symbols[code] = (byte) PackedGrid.symbolOf(code);
+    }
+    return symbols;
+  }
+
+  /**
+   * Writes a grid to a file, replacing anything already there. Every row,
+   * the last included, ends in \n.
+   * @param grid The grid to write
+   * @param file The file to write to
+   * @throws IOException If the file cannot be written
+   */
+  public static void write(PackedGrid grid, Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                                                StandardOpenOption.WRITE,
+                                                StandardOpenOption.TRUNCATE_EXISTING)) {
+      write(grid, channel);
+    }
+  }
+
+  /**
+   * Writes a grid to a channel, leaving the channel open. Every row, the
+   * last included, ends in \n.
+   * @param grid The grid to write
+   * @param channel The channel to write to
+   * @throws IOException If the channel cannot be written
+   */
+  public static void write(PackedGrid grid, WritableByteChannel channel)
+                           throws IOException {
+    int width = grid.getWidth();
+    TxtWriter writer = new TxtWriter(channel, width, (long) (width + 1) * grid.getHeight());
+    byte[] cells = grid.cells();
+    for (int row = 0; row < grid.getHeight(); row++) {
+      writer.writeRow(cells, row * width, width);
+    }
+    writer.finish(true);
+  }
+
+  /**
+   * Converts a grid to text held in memory, without a \n after the last row
+   * @param grid The grid to convert
+   * @return Returns the rows of the grid separated by new lines
+   */
+  public static byte[] toBytes(PackedGrid grid) {
+    int width = grid.getWidth();
+    int height = grid.getHeight();
+    byte[] text = new byte[(width + 1) * height - 1];
+    byte[] cells = grid.cells();
+    for (int row = 0; row < height; row++) {
+      int at = row * (width + 1);
+      encode(cells, row * width, width, text, at);
+      if (row < height - 1) {
+        text[at + width] = '\n';
+      }
+    }
+    return text;
+  }
+
+  /**
+   * Writes a row of cell codes, putting a \n before it if it is not the
+   * first row
+   * @param codes The cell codes holding the row
+   * @param from The index of the first code of the row
+   * @param width The length of the row
+   * @throws IOException If the channel cannot be written
+   */
+  public void writeRow(byte[] codes, int from, int width) throws IOException {
+    if (buffer.remaining() < width + 1) {
+      flush();
+    }
+    if (!firstRow) {
+      buffer.put((byte) '\n');
+    }
+    firstRow = false;
+    int at = buffer.position();
+    encode(codes, from, width, buffer.array(), at);
+    buffer.position(at + width);
+  }
+
+  /**
+   * Writes out everything still buffered
+   * @param lineEnd True to end the last row with \n as well
+   * @throws IOException If the channel cannot be written
+   */
+  public void finish(boolean lineEnd) throws IOException {
+    if (lineEnd && !firstRow) {
+      if (!buffer.hasRemaining()) {
+        flush();
+      }
+      buffer.put((byte) '\n');
+    }
+    flush();
+  }
+
+  /**
+   * Converts cell codes to the characters of the text format
+   * @param codes The cell codes
+   * @param from The index of the first code
+   * @param count The number of codes to convert
+   * @param text The array the characters are put in
+   * @param at The index of the first character
+   */
+  private static void encode(byte[] codes, int from, int count, byte[] text, int at) {
+    for (int i = 0; i < count; i++) {
+      text[at + i] = SYMBOLS[codes[from + i]];
+    }
+  }
+
+  /**
+   * Writes out everything in the buffer and empties it
+   * @throws IOException If the channel cannot be written
+   */
+  private void flush() throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+}
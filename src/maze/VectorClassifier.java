@@ -0,0 +1,74 @@
+package maze;
+
+// Vector API imports
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Classifier comparing a whole vector of bytes at once, 32 per step with
+ * AVX2 and 64 with AVX-512. It is loaded by ByteClassifier.load, so it only
+ * needs compiling and running with the incubator module:
+ *   javac --add-modules jdk.incubator.vector maze/VectorClassifier.java
+ *   java --add-modules jdk.incubator.vector ...
+ * @version 19/10/2026
+ */
+public final class VectorClassifier implements ByteClassifier {
+
+  // Widest vector the processor handles well
+  private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+  /**
+   * Classifies a range of bytes a vector at a time, leaving the last few
+   * bytes and any vector holding a byte which is not a tile to the scalar
+   * classifier
+   * @param bytes The bytes to classify
+   * @param from The index of the first byte
+   * @param to The index after the last byte
+   * @param walls Bitmap of the walls from the first byte, or null
+   * @param counts Array the entrances and exits are added to
+   * @return Returns the index of the first byte which is not a tile, or -1
+   */
+  @Override
+  public int scan(byte[] bytes, int from, int to, long[] walls, int[] counts) {
+    int lanes = SPECIES.length();
+    int bound = from + SPECIES.loopBound(to - from);
+    int i = from;
+    for (; i < bound; i += lanes) {
+      ByteVector vector = ByteVector.fromArray(SPECIES, bytes, i);
+      VectorMask<Byte> wall = vector.eq((byte) '#');
+      VectorMask<Byte> entrance = vector.eq((byte) 'e');
+      VectorMask<Byte> exit = vector.eq((byte) 'x');
+      VectorMask<Byte> tile = wall.or(entrance).or(exit)
+                                  .or(vector.eq((byte) '.'))
+                                  .or(vector.eq((byte) ','))
+                                  .or(vector.eq((byte) '~'))
+                                  .or(vector.eq((byte) '%'));
+      if (!tile.allTrue()) {
+        // The scalar classifier finds exactly where this vector goes wrong
+        break;
+      }
+      counts[ENTRANCES] += entrance.trueCount();
+      counts[EXITS] += exit.trueCount();
+      if (walls != null) {
+        long bits = wall.toLong();
+        int bit = i - from;
+        int shift = bit & 63;
+        walls[bit >>> 6] |= bits << shift;
+        if (shift != 0 && shift + lanes > 64) {
+          walls[(bit >>> 6) + 1] |= bits >>> (64 - shift);
+        }
+      }
+    }
+    return ScalarClassifier.scan(bytes, from, i, to, walls, counts);
+  }
+
+  /**
+   * Gets the name of the classifier
+   * @return Returns "vector" followed by the vector width in bits
+   */
+  @Override
+  public String getName() {
+    return "vector" + (SPECIES.length() * 8);
+  }
+}
@@ -0,0 +1,133 @@
+package maze.generation;
+
+// Utils
+import java.util.SplittableRandom;
+
+// Package imports
+import maze.Maze.Direction;
+import maze.PackedGrid;
+
+/**
+ * Post-processing stage turning a perfect maze into a braided one by
+ * removing dead ends. Each chosen dead end has one wall knocked through into
+ * the passage beyond, joining into a loop. Walls leading into another dead
+ * end are preferred, so both are removed at once. Runs in linear time: one
+ * scan finds the dead ends and each is then handled in constant time.
+ * @version 19/10/2026
+ */
+public final class Braider {
+
+  // Cached so checking a tile does not allocate
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  /**
+   * Private constructor, the class only holds static methods
+   */
+  private Braider() {
+  }
+
+  /**
+   * Removes a fraction of the dead ends in a grid, chosen at random. One
+   * more than asked for may be removed when the last wall joins two.
+   * @param grid The grid to be braided, changed in place
+   * @param fraction The fraction of dead ends to remove, from 0 to 1
+   * @param seed The seed choosing the dead ends and walls
+   * @return Returns the number of dead ends removed
+   * @throws IllegalArgumentException If the fraction is not between 0 and 1
+   */
+  public static int braid(PackedGrid grid, double fraction, long seed) {
+    if (!(fraction >= 0 && fraction <= 1)) {
+      throw new IllegalArgumentException("Fraction must be between 0 and 1");
+    }
+    SplittableRandom random = new SplittableRandom(seed);
+    int count = 0;
+    for (int i = 0; i < grid.size(); i++) {
+      if (isDeadEnd(grid, i)) {
+        count++;
+      }
+    }
+    int[] deadEnds = new int[count];
+    count = 0;
+    for (int i = 0; i < grid.size(); i++) {
+      if (isDeadEnd(grid, i)) {
+        deadEnds[count++] = i;
+      }
+    }
+
+    int target = (int) Math.round(fraction * count);
+    int removed = 0;
+    int[] candidates = new int[DIRECTIONS.length];
+    for (int k = 0; k < count && removed < target; k++) {
+      // Picks the next dead end at random, as in a shuffle
+      int pick = k + random.nextInt(count - k);
+      int deadEnd = deadEnds[pick];
+      deadEnds[pick] = deadEnds[k];
+      deadEnds[k] = deadEnd;
+      if (!isDeadEnd(grid, deadEnd)) {
+        // Already joined when its neighbouring dead end was removed
+        continue;
+      }
+      int found = 0;
+      boolean joinsDeadEnd = false;
+      for (int i = 0; i < DIRECTIONS.length; i++) {
+        int wall = grid.neighbour(deadEnd, DIRECTIONS[i]);
+        if (wall == -1 || grid.get(wall) != PackedGrid.WALL || onBorder(grid, wall)) {
+          continue;
+        }
+        int beyond = grid.neighbour(wall, DIRECTIONS[i]);
+        if (!grid.isNavigable(beyond)) {
+          continue;
+        }
+        boolean deadEndBeyond = isDeadEnd(grid, beyond);
+        if (deadEndBeyond && !joinsDeadEnd) {
+          joinsDeadEnd = true;
+          found = 0;
+        }
+        if (deadEndBeyond == joinsDeadEnd) {
+          candidates[found++] = wall;
+        }
+      }
+      if (found > 0) {
+        grid.set(candidates[random.nextInt(found)], PackedGrid.CORRIDOR);
+        removed += joinsDeadEnd ? 2 : 1;
+      }
+    }
+    return removed;
+  }
+
+  /**
+   * Checks if a tile is a corridor with only one open neighbour. The
+   * entrance and exit are never counted as dead ends.
+   * @param grid The grid to check
+   * @param index The tile to check
+   * @return Returns true if the tile is a dead end
+   */
+  static boolean isDeadEnd(PackedGrid grid, int index) {
+    byte code = grid.get(index);
+    if (!grid.isNavigable(index) || code == PackedGrid.ENTRANCE
+        || code == PackedGrid.EXIT) {
+      return false;
+    }
+    int open = 0;
+    for (Direction direction : DIRECTIONS) {
+      int neighbour = grid.neighbour(index, direction);
+      if (neighbour != -1 && grid.isNavigable(neighbour)) {
+        open++;
+      }
+    }
+    return open == 1;
+  }
+
+  /**
+   * Checks if a tile is in the outer wall of the grid
+   * @param grid The grid to check
+   * @param index The tile to check
+   * @return Returns true if the tile is on the edge of the grid
+   */
+  private static boolean onBorder(PackedGrid grid, int index) {
+    int column = grid.getColumn(index);
+    int row = grid.getRow(index);
+    return column == 0 || row == 0 || column == grid.getWidth() - 1
+           || row == grid.getHeight() - 1;
+  }
+}
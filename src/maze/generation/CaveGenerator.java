@@ -0,0 +1,352 @@
+package maze.generation;
+
+// Utils
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Package imports
+import maze.PackedGrid;
+
+/**
+ * Cave generator running a cellular automaton over bitboards. Each row is
+ * held as longs with a set bit for every wall, and the eight neighbour
+ * counts of 64 tiles are added at once with bitwise adders, so no tile is
+ * looked at on its own. Everything outside the map counts as wall.
+ *
+ * Rules are masks of neighbour counts: bit k of the birth mask turns an
+ * open tile into wall when it has k wall neighbours, and bit k of the
+ * survival mask keeps a wall standing. Afterwards only the largest open
+ * region is kept, with the entrance at its first tile from the top left and
+ * the exit at its last tile towards the bottom right.
+ * @version 19/10/2026
+ */
+public final class CaveGenerator {
+
+  // Default rule, walls with at least five wall neighbours grow and walls
+  // with at least four survive
+  public static final double DEFAULT_FILL = 0.45;
+  public static final int DEFAULT_BIRTH = 0x1E0;
+  public static final int DEFAULT_SURVIVAL = 0x1F0;
+  public static final int DEFAULT_STEPS = 5;
+
+  /**
+   * Private constructor, the class only holds static methods
+   */
+  private CaveGenerator() {
+  }
+
+  /**
+   * Generates a cave using the default rule
+   * @param width The width of the cave
+   * @param height The height of the cave
+   * @param seed The seed of the cave
+   * @return Returns the generated grid
+   * @throws IllegalArgumentException If the cave has no room for a route
+   */
+  public static PackedGrid generate(int width, int height, long seed) {
+    return generate(width, height, seed, DEFAULT_FILL, DEFAULT_BIRTH,
+                    DEFAULT_SURVIVAL, DEFAULT_STEPS);
+  }
+
+  /**
+   * Generates a cave using a chosen rule
+   * @param width The width of the cave
+   * @param height The height of the cave
+   * @param seed The seed of the cave
+   * @param fill The fraction of tiles which start as wall
+   * @param birth The neighbour counts which turn an open tile into wall
+   * @param survival The neighbour counts which keep a wall standing
+   * @param steps The number of times the rule is applied
+   * @return Returns the generated grid
+   * @throws IllegalArgumentException If the cave has no room for a route
+   */
+  public static PackedGrid generate(int width, int height, long seed, double fill,
+                                    int birth, int survival, int steps) {
+    if (width < 1 || height < 1) {
+      throw new IllegalArgumentException("Cave dimensions must be positive");
+    }
+    int words = (width + 63) >>> 6;
+    long[] board = new long[words * height];
+    long[] next = new long[words * height];
+    // Bits past the width stay set so they read as wall
+    long padding = (width & 63) == 0 ? 0 : -1L << (width & 63);
+    scatter(board, words, padding, fill, new SplittableRandom(seed));
+    for (int step = 0; step < steps; step++) {
+      evolve(board, next, words, height, birth, survival);
+      for (int row = 1; row <= height; row++) {
+        next[row * words - 1] |= padding;
+      }
+      long[] swap = board;
+      board = next;
+      next = swap;
+    }
+    return keepLargestRegion(board, width, height, words);
+  }
+
+  /**
+   * Fills the board at random, each bit being set with the given chance.
+   * The chance is built from its binary digits, each random word either
+   * adding to or halving the chance so far, so 64 bits take eight words.
+   * @param board The board to fill
+   * @param words The number of words in a row
+   * @param padding The bits past the width in the last word of a row
+   * @param fill The chance of a bit being set
+   * @param random The source of randomness
+   */
+  private static void scatter(long[] board, int words, long padding, double fill,
+                              SplittableRandom random) {
+    int chance = (int) Math.max(0, Math.min(256, Math.round(fill * 256)));
+    for (int i = 0; i < board.length; i++) {
+      long bits = 0;
+      if (chance == 256) {
+        bits = -1L;
+      } else {
+        for (int digit = 0; digit < 8; digit++) {
+          long word = random.nextLong();
+          bits = ((chance >>> digit) & 1) == 1 ? word | bits : word & bits;
+        }
+      }
+      board[i] = (i % words == words - 1) ? bits | padding : bits;
+    }
+  }
+
+  /**
+   * Applies the rule once to the whole board. Three rows are copied into
+   * buffers with a wall word at either end, so the words either side of
+   * every word can be read without checking the edges.
+   * @param board The board before the step
+   * @param next The board after the step
+   * @param words The number of words in a row
+   * @param height The number of rows
+   * @param birth The neighbour counts which turn an open tile into wall
+   * @param survival The neighbour counts which keep a wall standing
+   */
+  private static void evolve(long[] board, long[] next, int words, int height,
+                             int birth, int survival) {
+    // Counts which give a wall whatever the tile was only need matching once
+    int both = birth & survival;
+    int birthOnly = birth & ~survival;
+    int survivalOnly = survival & ~birth;
+    long[] up = new long[words + 2];
+    long[] middle = new long[words + 2];
+    long[] down = new long[words + 2];
+    load(board, -1, words, height, up);
+    load(board, 0, words, height, middle);
+    for (int row = 0; row < height; row++) {
+      load(board, row + 1, words, height, down);
+      for (int i = 1; i <= words; i++) {
+        long above = up[i];
+        long centre = middle[i];
+        long below = down[i];
+        // Shifted so each bit lines up with the tile to its east or west
+        long aboveWest = (above << 1) | (up[i - 1] >>> 63);
+        long aboveEast = (above >>> 1) | (up[i + 1] << 63);
+        long west = (centre << 1) | (middle[i - 1] >>> 63);
+        long east = (centre >>> 1) | (middle[i + 1] << 63);
+        long belowWest = (below << 1) | (down[i - 1] >>> 63);
+        long belowEast = (below >>> 1) | (down[i + 1] << 63);
+
+        // Adds the eight neighbours into a four bit count per tile
+        long sumA = aboveWest ^ above ^ aboveEast;
+        long carryA = (aboveWest & above) | (aboveEast & (aboveWest ^ above));
+        long sumB = west ^ east ^ belowWest;
+        long carryB = (west & east) | (belowWest & (west ^ east));
+        long sumC = below ^ belowEast;
+        long carryC = below & belowEast;
+        long ones = sumA ^ sumB ^ sumC;
+        long carryD = (sumA & sumB) | (sumC & (sumA ^ sumB));
+        long partial = carryA ^ carryB ^ carryC;
+        long carryE = (carryA & carryB) | (carryC & (carryA ^ carryB));
+        long twos = partial ^ carryD;
+        long carryF = partial & carryD;
+        long fours = carryE ^ carryF;
+        long eights = carryE & carryF;
+
+        next[row * words + i - 1] = matching(both, ones, twos, fours, eights)
+            | (~centre & matching(birthOnly, ones, twos, fours, eights))
+            | (centre & matching(survivalOnly, ones, twos, fours, eights));
+      }
+      long[] swap = up;
+      up = middle;
+      middle = down;
+      down = swap;
+    }
+  }
+
+  /**
+   * Finds the tiles whose neighbour count is one of a set of counts
+   * @param counts Mask with bit k set to match a count of k
+   * @param ones The first bit of every tile's count
+   * @param twos The second bit of every tile's count
+   * @param fours The third bit of every tile's count
+   * @param eights The fourth bit of every tile's count
+   * @return Returns a set bit for every tile with a matching count
+   */
+  private static long matching(int counts, long ones, long twos, long fours,
+                               long eights) {
+    long match = 0;
+    for (; counts != 0; counts &= counts - 1) {
+      int count = Integer.numberOfTrailingZeros(counts);
+      match |= ((count & 1) != 0 ? ones : ~ones)
+               & ((count & 2) != 0 ? twos : ~twos)
+               & ((count & 4) != 0 ? fours : ~fours)
+               & ((count & 8) != 0 ? eights : ~eights);
+    }
+    return match;
+  }
+
+  /**
+   * Copies a row of the board into a buffer between two wall words
+   * @param board The board to read
+   * @param row The row to copy, rows outside the board being all wall
+   * @param words The number of words in a row
+   * @param height The number of rows
+   * @param buffer The buffer to fill, two words longer than a row
+   */
+  private static void load(long[] board, int row, int words, int height,
+                           long[] buffer) {
+    if (row < 0 || row >= height) {
+      Arrays.fill(buffer, -1L);
+    } else {
+      System.arraycopy(board, row * words, buffer, 1, words);
+      buffer[0] = -1L;
+      buffer[words + 1] = -1L;
+    }
+  }
+
+  /**
+   * Finds the open regions as runs of open tiles in each row, joining runs
+   * which touch the run above, and walls over everything outside the
+   * largest region
+   * @param board The finished board
+   * @param width The width of the cave
+   * @param height The height of the cave
+   * @param words The number of words in a row
+   * @return Returns the grid of the largest region with its entrance and
+   *         exit
+   * @throws IllegalArgumentException If the largest region has fewer than
+   *         two tiles
+   */
+  private static PackedGrid keepLargestRegion(long[] board, int width, int height,
+                                              int words) {
+    int[] starts = new int[1024];
+    int[] ends = new int[1024];
+    int[] parents = new int[1024];
+    int[] rowFirst = new int[height + 1];
+    int runs = 0;
+    for (int row = 0; row < height; row++) {
+      rowFirst[row] = runs;
+      int base = row * words;
+      for (int column = next(board, base, words, width, 0, false); column < width; ) {
+        int end = next(board, base, words, width, column, true);
+        if (runs == starts.length) {
+          starts = Arrays.copyOf(starts, runs * 2);
+          ends = Arrays.copyOf(ends, runs * 2);
+          parents = Arrays.copyOf(parents, runs * 2);
+        }
+        starts[runs] = column;
+        ends[runs] = end;
+        parents[runs] = runs;
+        runs++;
+        column = next(board, base, words, width, end, false);
+      }
+      // Joins runs sharing a column with a run in the row above
+      if (row > 0) {
+        int above = rowFirst[row - 1];
+        int current = rowFirst[row];
+        while (above < rowFirst[row] && current < runs) {
+          if (starts[above] < ends[current] && starts[current] < ends[above]) {
+            int a = find(parents, above);
+            int b = find(parents, current);
+            if (a != b) {
+              parents[Math.max(a, b)] = Math.min(a, b);
+            }
+          }
+          if (ends[above] < ends[current]) {
+            above++;
+          } else {
+            current++;
+          }
+        }
+      }
+    }
+    rowFirst[height] = runs;
+
+    int[] sizes = new int[runs];
+    int largest = -1;
+    for (int run = 0; run < runs; run++) {
+      int root = find(parents, run);
+      parents[run] = root;
+      sizes[root] += ends[run] - starts[run];
+      if (largest == -1 || sizes[root] > sizes[largest]) {
+        largest = root;
+      }
+    }
+    if (largest == -1 || sizes[largest] < 2) {
+      throw new IllegalArgumentException("Cave has no room for a route");
+    }
+
+    // Walls the gaps between the kept runs, the rest of the grid starting open
+    PackedGrid grid = new PackedGrid(width, height);
+    int first = -1;
+    int last = -1;
+    for (int row = 0; row < height; row++) {
+      int column = 0;
+      for (int run = rowFirst[row]; run < rowFirst[row + 1]; run++) {
+        if (parents[run] == largest) {
+          grid.fill(grid.index(column, row), grid.index(starts[run], row),
+                    PackedGrid.WALL);
+          column = ends[run];
+          if (first == -1) {
+            first = grid.index(starts[run], row);
+          }
+          last = grid.index(ends[run] - 1, row);
+        }
+      }
+      grid.fill(grid.index(column, row), grid.index(0, row) + width, PackedGrid.WALL);
+    }
+    grid.set(first, PackedGrid.ENTRANCE);
+    grid.set(last, PackedGrid.EXIT);
+    return grid;
+  }
+
+  /**
+   * Finds the next wall or open tile in a row at or after a column
+   * @param board The board to search
+   * @param base The index of the row's first word
+   * @param words The number of words in a row
+   * @param width The width of the cave
+   * @param column The column to start from
+   * @param wall True to look for a wall, false for an open tile
+   * @return Returns the column found, or the width if there is none
+   */
+  private static int next(long[] board, int base, int words, int width, int column,
+                          boolean wall) {
+    if (column >= width) {
+      return width;
+    }
+    int i = column >>> 6;
+    long bits = (wall ? board[base + i] : ~board[base + i]) & (-1L << (column & 63));
+    while (bits == 0) {
+      if (++i == words) {
+        return width;
+      }
+      bits = wall ? board[base + i] : ~board[base + i];
+    }
+    return Math.min(width, (i << 6) + Long.numberOfTrailingZeros(bits));
+  }
+
+  /**
+   * Finds the region of a run, halving the path on the way
+   * @param parents The parent of every run
+   * @param run The run to look up
+   * @return Returns the root run of the region
+   */
+  private static int find(int[] parents, int run) {
+    while (parents[run] != run) {
+      parents[run] = parents[parents[run]];
+      run = parents[run];
+    }
+    return run;
+  }
+}
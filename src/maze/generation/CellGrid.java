@@ -0,0 +1,98 @@
+package maze.generation;
+
+// Package imports
+import maze.PackedGrid;
+
+/**
+ * Helpers for generators which carve passages between cells. Cells sit on
+ * the odd columns and rows of the grid with walls between them, so a grid
+ * of width w holds (w - 1) / 2 cells across. Carving a passage clears the
+ * two cells and the wall between them.
+ * @version 19/10/2026
+ */
+final class CellGrid {
+
+  /**
+   * Private constructor, the class only holds static methods
+   */
+  private CellGrid() {
+  }
+
+  /**
+   * Creates a grid of solid wall ready to be carved
+   * @param width The width of the maze
+   * @param height The height of the maze
+   * @return Returns the walled grid
+   * @throws IllegalArgumentException If the grid cannot hold a single cell
+   */
+  static PackedGrid walled(int width, int height) {
+    if (width < 3 || height < 3) {
+      throw new IllegalArgumentException("Maze must be at least 3 by 3");
+    }
+    PackedGrid grid = new PackedGrid(width, height);
+    grid.fill(PackedGrid.WALL);
+    return grid;
+  }
+
+  /**
+   * Gets the number of cells across the grid
+   * @param grid The grid to be carved
+   * @return Returns the number of cell columns
+   */
+  static int columns(PackedGrid grid) {
+    return (grid.getWidth() - 1) / 2;
+  }
+
+  /**
+   * Gets the number of cells down the grid
+   * @param grid The grid to be carved
+   * @return Returns the number of cell rows
+   */
+  static int rows(PackedGrid grid) {
+    return (grid.getHeight() - 1) / 2;
+  }
+
+  /**
+   * Gets the grid index of a cell
+   * @param grid The grid to be carved
+   * @param cell The cell number, counted across then down
+   * @return Returns the index of the cell in the grid
+   */
+  static int indexOf(PackedGrid grid, int cell) {
+    int columns = columns(grid);
+    return grid.index(2 * (cell % columns) + 1, 2 * (cell / columns) + 1);
+  }
+
+  /**
+   * Carves a single cell
+   * @param grid The grid to be carved
+   * @param cell The cell to be cleared
+   */
+  static void carve(PackedGrid grid, int cell) {
+    grid.set(indexOf(grid, cell), PackedGrid.CORRIDOR);
+  }
+
+  /**
+   * Carves a passage between two neighbouring cells
+   * @param grid The grid to be carved
+   * @param from The first cell
+   * @param to The second cell, next to the first
+   */
+  static void carve(PackedGrid grid, int from, int to) {
+    int a = indexOf(grid, from);
+    int b = indexOf(grid, to);
+    grid.set(a, PackedGrid.CORRIDOR);
+    grid.set((a + b) >>> 1, PackedGrid.CORRIDOR);
+    grid.set(b, PackedGrid.CORRIDOR);
+  }
+
+  /**
+   * Places the entrance in the top wall above the first cell and the exit in
+   * the bottom wall below the last cell
+   * @param grid The carved grid
+   */
+  static void finish(PackedGrid grid) {
+    grid.set(1, 0, PackedGrid.ENTRANCE);
+    grid.set(2 * columns(grid) - 1, 2 * rows(grid), PackedGrid.EXIT);
+  }
+}
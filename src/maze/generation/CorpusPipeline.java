@@ -0,0 +1,358 @@
+package maze.generation;
+
+// Utils
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Input and output imports
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Package imports
+import maze.PackedGrid;
+import maze.TxtWriter;
+
+/**
+ * Batch pipeline generating a corpus of mazes. A pool of workers generates
+ * and validates mazes and hands them through a bounded queue to a single
+ * writer, so the workers block whenever the disk falls behind instead of
+ * filling memory.
+ *
+ * Mazes are appended to numbered shard files in the text format read by
+ * Maze.fromTxt, each followed by a blank line. A manifest records the seed,
+ * shard, byte offset and length of every maze, and the seed of maze i is
+ * the i-th value of a SplitMix64 sequence from the corpus seed, so any maze
+ * can be found or generated again.
+ * @version 19/10/2026
+ */
+public class CorpusPipeline {
+
+  // Name of the manifest written alongside the shards
+  public static final String MANIFEST = "manifest.csv";
+
+  // Mazes written between progress reports
+  private static final int REPORT_INTERVAL = 1000;
+
+  // Step between the seeds of consecutive mazes
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+  // Attributes
+  private String generatorName;
+  private MazeGenerator generator;
+  private int width;
+  private int height;
+  private int threads;
+  private int queueCapacity;
+  private int mazesPerShard;
+  private List<Consumer<Report>> listeners;
+
+  /**
+   * A generated maze passed from a worker to the writer
+   */
+  private static class Item {
+
+    // Attributes
+    private long index;
+    private long seed;
+    private byte[] text;
+    private Throwable failure;
+
+    /**
+     * Constructor for a finished maze
+     * @param index The position of the maze in the corpus
+     * @param seed The seed of the maze
+     * @param text The maze as text, or null if it could not be solved
+     * @param failure The error thrown while generating, or null
+     */
+    Item(long index, long seed, byte[] text, Throwable failure) {
+      this.index = index;
+      this.seed = seed;
+      this.text = text;
+      this.failure = failure;
+    }
+  }
+
+  /**
+   * Progress of a run of the pipeline
+   */
+  public static class Report {
+
+    // Attributes
+    private long written;
+    private long rejected;
+    private long elapsedNanos;
+    private int maxQueueDepth;
+    private double meanQueueDepth;
+
+    /**
+     * Constructor for a snapshot of a run
+     * @param written The number of mazes written
+     * @param rejected The number of mazes rejected as unsolvable
+     * @param elapsedNanos The time since the run started
+     * @param maxQueueDepth The most mazes waiting in the queue at once
+     * @param meanQueueDepth The average number of mazes waiting
+     */
+    Report(long written, long rejected, long elapsedNanos, int maxQueueDepth,
+           double meanQueueDepth) {
+      this.written = written;
+      this.rejected = rejected;
+      this.elapsedNanos = elapsedNanos;
+      this.maxQueueDepth = maxQueueDepth;
+      this.meanQueueDepth = meanQueueDepth;
+    }
+
+    /**
+     * Gets the number of mazes written to the shards
+     * @return Returns the number of solvable mazes written
+     */
+    public long getWritten() {
+      return this.written;
+    }
+
+    /**
+     * Gets the number of mazes which failed validation
+     * @return Returns the number of mazes without a route
+     */
+    public long getRejected() {
+      return this.rejected;
+    }
+
+    /**
+     * Gets the time since the run started
+     * @return Returns the elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+      return this.elapsedNanos;
+    }
+
+    /**
+     * Gets the most mazes which were waiting for the writer at once
+     * @return Returns the largest queue depth seen
+     */
+    public int getMaxQueueDepth() {
+      return this.maxQueueDepth;
+    }
+
+    /**
+     * Gets the average number of mazes waiting for the writer
+     * @return Returns the mean queue depth
+     */
+    public double getMeanQueueDepth() {
+      return this.meanQueueDepth;
+    }
+
+    /**
+     * Gets the rate mazes have been generated and checked at
+     * @return Returns mazes handled per second, rejected ones included
+     */
+    public double getMazesPerSecond() {
+      return elapsedNanos == 0 ? 0 : (written + rejected) * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Describes the progress of the run
+     * @return Returns a single line summary
+     */
+    @Override
+    public String toString() {
+      return String.format("%d mazes (%d rejected) in %.2f s, %.1f mazes/s, "
+                           + "queue depth mean %.1f max %d", written, rejected,
+                           elapsedNanos / 1e9, getMazesPerSecond(),
+                           meanQueueDepth, maxQueueDepth);
+    }
+  }
+
+  /**
+   * Constructor for a pipeline
+   * @param generatorName The generator to use, as accepted by
+   *        MazeGenerator.byName
+   * @param width The width of every maze
+   * @param height The height of every maze
+   * @param threads The number of workers generating mazes
+   * @param queueCapacity The most mazes waiting for the writer at once
+   * @param mazesPerShard The number of mazes written to each shard file
+   * @throws IllegalArgumentException If the generator is unknown or a count
+   *         is less than 1
+   */
+  public CorpusPipeline(String generatorName, int width, int height, int threads,
+                        int queueCapacity, int mazesPerShard) {
+    if (threads < 1 || queueCapacity < 1 || mazesPerShard < 1) {
+      throw new IllegalArgumentException("Counts must be positive");
+    }
+    this.generatorName = generatorName;
+    this.generator = MazeGenerator.byName(generatorName);
+    this.width = width;
+    this.height = height;
+    this.threads = threads;
+    this.queueCapacity = queueCapacity;
+    this.mazesPerShard = mazesPerShard;
+    this.listeners = new ArrayList<Consumer<Report>>();
+  }
+
+  /**
+   * Adds a listener told of progress every thousand mazes and at the end
+   * @param listener The listener to be called on the writer's thread
+   */
+  public void addListener(Consumer<Report> listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * Gets the seed of a maze in a corpus
+   * @param corpusSeed The seed of the whole corpus
+   * @param index The position of the maze in the corpus
+   * @return Returns the seed the maze was generated from
+   */
+  public static long seedOf(long corpusSeed, long index) {
+    long value = corpusSeed + (index + 1) * GOLDEN_GAMMA;
+    value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+    value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+    return value ^ (value >>> 31);
+  }
+
+  /**
+   * Generates a corpus into a directory
+   * @param count The number of mazes to generate
+   * @param seed The seed of the corpus
+   * @param directory The directory to write the shards and manifest to
+   * @return Returns the final report of the run
+   * @throws IOException If the output cannot be written, or a worker failed
+   */
+  public Report run(long count, long seed, Path directory) throws IOException {
+    Files.createDirectories(directory);
+    BlockingQueue<Item> queue = new ArrayBlockingQueue<Item>(queueCapacity);
+    AtomicLong nextIndex = new AtomicLong();
+    ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, "corpus-worker");
+      thread.setDaemon(true);
+      return thread;
+    });
+    for (int i = 0; i < threads; i++) {
+      pool.execute(() -> produce(count, seed, nextIndex, queue));
+    }
+
+    long start = System.nanoTime();
+    long written = 0;
+    long rejected = 0;
+    long offset = 0;
+    long depthTotal = 0;
+    int maxDepth = 0;
+    OutputStream shard = null;
+    try (BufferedWriter manifest = Files.newBufferedWriter(directory.resolve(MANIFEST))) {
+      manifest.write("# generator=" + generatorName + " width=" + width + " height="
+                     + height + " seed=" + seed + " count=" + count);
+      manifest.newLine();
+      manifest.write("index,seed,shard,offset,length");
+      manifest.newLine();
+      for (long received = 0; received < count; received++) {
+        int depth = queue.size();
+        depthTotal += depth;
+        maxDepth = Math.max(maxDepth, depth);
+        Item item = queue.take();
+        if (item.failure != null) {
+          throw new IOException("Generating maze " + item.index + " failed", item.failure);
+        }
+        if (item.text == null) {
+          rejected++;
+          manifest.write(item.index + "," + item.seed + ",rejected,-1,0");
+        } else {
+          // Starts a new shard once the current one is full
+          if (written % mazesPerShard == 0) {
+            if (shard != null) {
+              shard.close();
+            }
+            shard = new BufferedOutputStream(Files.newOutputStream(
+                directory.resolve(shardName(written / mazesPerShard))), 1 << 16);
+            offset = 0;
+          }
+          shard.write(item.text);
+          shard.write('\n');
+          shard.write('\n');
+          manifest.write(item.index + "," + item.seed + ","
+                         + shardName(written / mazesPerShard) + "," + offset + ","
+                         + item.text.length);
+          offset += item.text.length + 2;
+          written++;
+        }
+        manifest.newLine();
+        if ((received + 1) % REPORT_INTERVAL == 0) {
+          notifyListeners(new Report(written, rejected, System.nanoTime() - start,
+                                     maxDepth, (double) depthTotal / (received + 1)));
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Corpus generation interrupted");
+    } finally {
+      pool.shutdownNow();
+      if (shard != null) {
+        shard.close();
+      }
+    }
+    Report report = new Report(written, rejected, System.nanoTime() - start, maxDepth,
+                               count == 0 ? 0 : (double) depthTotal / count);
+    notifyListeners(report);
+    return report;
+  }
+
+  /**
+   * Gets the file name of a shard
+   * @param shard The number of the shard
+   * @return Returns the name of the shard file
+   */
+  public static String shardName(long shard) {
+    return String.format("shard-%05d.txt", shard);
+  }
+
+  /**
+   * Worker loop, generating mazes until the corpus is complete. Blocks when
+   * the queue is full.
+   * @param count The number of mazes in the corpus
+   * @param seed The seed of the corpus
+   * @param nextIndex The index of the next maze to generate
+   * @param queue The queue to the writer
+   */
+  private void produce(long count, long seed, AtomicLong nextIndex,
+                       BlockingQueue<Item> queue) {
+    try {
+      for (long index = nextIndex.getAndIncrement(); index < count;
+           index = nextIndex.getAndIncrement()) {
+        long mazeSeed = seedOf(seed, index);
+        Item item;
+        try {
+          PackedGrid grid = generator.generate(width, height, mazeSeed);
+          byte[] text = Solvability.isSolvable(grid) ? TxtWriter.toBytes(grid) : null;
+          item = new Item(index, mazeSeed, text, null);
+        } catch (Throwable e) {
+          // Errors such as running out of memory are passed on too, or the
+          // writer would wait forever for this maze
+          item = new Item(index, mazeSeed, null, e);
+        }
+        queue.put(item);
+      }
+    } catch (InterruptedException e) {
+      // The writer has stopped, so nothing is left to do
+    }
+  }
+
+  /**
+   * Passes a report to every listener
+   * @param report The report to pass on
+   */
+  private void notifyListeners(Report report) {
+    for (Consumer<Report> listener : listeners) {
+      listener.accept(report);
+    }
+  }
+}
@@ -0,0 +1,258 @@
+package maze.generation;
+
+// Utils
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Input and output imports
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Package imports
+import maze.PackedGrid;
+import maze.TxtWriter;
+
+/**
+ * Eller's algorithm, generating a perfect maze one row at a time. Only the
+ * set of each cell in the current row is kept, so memory is proportional to
+ * the width and rows are streamed straight to a channel in the text format
+ * read by Maze.fromTxt. Mazes far larger than memory can be written.
+ *
+ * A maze of c by r cells is written as 2c + 1 by 2r + 1 tiles, with the
+ * entrance in the top wall above the first cell and the exit in the bottom
+ * wall below the last cell.
+ * @version 19/10/2026
+ */
+public final class EllerGenerator {
+
+  // Attributes
+  private int columns;
+  private SplittableRandom random;
+  private int[] sets;
+  private int[] parents;
+  private boolean[] used;
+  private boolean[] eastOpen;
+  private boolean[] southOpen;
+  private boolean[] hasSouth;
+  private int[] members;
+  private int[] candidates;
+  private byte[] line;
+
+  /**
+   * Private constructor, state for a single run of the generator
+   * @param columns The number of cells across the maze
+   * @param seed The seed of the maze
+   */
+  private EllerGenerator(int columns, long seed) {
+    this.columns = columns;
+    this.random = new SplittableRandom(seed);
+    this.sets = new int[columns];
+    this.parents = new int[columns];
+    this.used = new boolean[columns];
+    this.eastOpen = new boolean[columns];
+    this.southOpen = new boolean[columns];
+    this.hasSouth = new boolean[columns];
+    this.members = new int[columns];
+    this.candidates = new int[columns];
+    this.line = new byte[2 * columns + 1];
+    Arrays.fill(sets, -1);
+  }
+
+  /**
+   * Generates a maze and writes it to a file
+   * @param columns The number of cells across the maze
+   * @param rows The number of cells down the maze
+   * @param seed The seed of the maze
+   * @param file The file to be written, replaced if it exists
+   * @throws IOException If the file cannot be written
+   */
+  public static void write(int columns, int rows, long seed, Path file)
+                           throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+             StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      write(columns, rows, seed, channel);
+    }
+  }
+
+  /**
+   * Generates a maze and writes it to a channel, leaving the channel open
+   * @param columns The number of cells across the maze
+   * @param rows The number of cells down the maze
+   * @param seed The seed of the maze
+   * @param out The channel to write to
+   * @throws IOException If the channel cannot be written
+   * @throws IllegalArgumentException If either dimension is less than 1
+   */
+  public static void write(int columns, int rows, long seed, WritableByteChannel out)
+                           throws IOException {
+    if (columns < 1 || rows < 1) {
+      throw new IllegalArgumentException("Maze must have at least one cell");
+    }
+    new EllerGenerator(columns, seed).run(rows, out);
+  }
+
+  /**
+   * Writes every row of the maze
+   * @param rows The number of cells down the maze
+   * @param channel The channel to write to
+   * @throws IOException If the channel cannot be written
+   */
+  private void run(int rows, WritableByteChannel channel) throws IOException {
+    TxtWriter out = new TxtWriter(channel, line.length);
+    writeBorder(out, 1, PackedGrid.ENTRANCE);
+    for (int row = 0; row < rows; row++) {
+      boolean last = row == rows - 1;
+      nameSets();
+      joinAcross(last);
+      if (!last) {
+        joinDown();
+      } else {
+        Arrays.fill(southOpen, false);
+      }
+      writeCellRow(out);
+      if (!last) {
+        writeSouthRow(out);
+        carrySets();
+      }
+    }
+    writeBorder(out, 2 * columns - 1, PackedGrid.EXIT);
+    out.finish(false);
+  }
+
+  /**
+   * Gives every cell without a set a new one of its own
+   */
+  private void nameSets() {
+    Arrays.fill(used, false);
+    for (int i = 0; i < columns; i++) {
+      if (sets[i] != -1) {
+        used[sets[i]] = true;
+      }
+    }
+    // At most one set per cell so a free label always exists
+    int free = 0;
+    for (int i = 0; i < columns; i++) {
+      if (sets[i] == -1) {
+        while (used[free]) {
+          free++;
+        }
+        used[free] = true;
+        sets[i] = free;
+      }
+    }
+    for (int i = 0; i < columns; i++) {
+      parents[i] = i;
+    }
+  }
+
+  /**
+   * Randomly joins neighbouring cells in different sets, joining all of them
+   * on the last row so the maze is connected
+   * @param last True if this is the last row
+   */
+  private void joinAcross(boolean last) {
+    for (int i = 0; i < columns - 1; i++) {
+      int a = find(sets[i]);
+      int b = find(sets[i + 1]);
+      eastOpen[i] = a != b && (last || random.nextBoolean());
+      if (eastOpen[i]) {
+        parents[b] = a;
+      }
+    }
+    eastOpen[columns - 1] = false;
+  }
+
+  /**
+   * Opens some cells downwards, at least one in every set so no set is cut
+   * off from the rows below
+   */
+  private void joinDown() {
+    Arrays.fill(hasSouth, false);
+    Arrays.fill(members, 0);
+    for (int i = 0; i < columns; i++) {
+      int root = find(sets[i]);
+      sets[i] = root;
+      southOpen[i] = random.nextBoolean();
+      hasSouth[root] |= southOpen[i];
+      // Picks a random member of each set in case none open downwards
+      members[root]++;
+      if (random.nextInt(members[root]) == 0) {
+        candidates[root] = i;
+      }
+    }
+    for (int i = 0; i < columns; i++) {
+      if (members[i] > 0 && !hasSouth[i]) {
+        southOpen[candidates[i]] = true;
+      }
+    }
+  }
+
+  /**
+   * Keeps the sets of cells opened downwards for the next row and clears the
+   * rest
+   */
+  private void carrySets() {
+    for (int i = 0; i < columns; i++) {
+      if (!southOpen[i]) {
+        sets[i] = -1;
+      }
+    }
+  }
+
+  /**
+   * Finds the set a label has been joined into this row
+   * @param label The label to look up
+   * @return Returns the label of the joined set
+   */
+  private int find(int label) {
+    while (parents[label] != label) {
+      parents[label] = parents[parents[label]];
+      label = parents[label];
+    }
+    return label;
+  }
+
+  /**
+   * Writes a row of cells and the walls between them
+   * @param out The writer to write the row with
+   * @throws IOException If the channel cannot be written
+   */
+  private void writeCellRow(TxtWriter out) throws IOException {
+    line[0] = PackedGrid.WALL;
+    for (int i = 0; i < columns; i++) {
+      line[2 * i + 1] = PackedGrid.CORRIDOR;
+      line[2 * i + 2] = eastOpen[i] ? PackedGrid.CORRIDOR : PackedGrid.WALL;
+    }
+    out.writeRow(line, 0, line.length);
+  }
+
+  /**
+   * Writes the walls below a row of cells
+   * @param out The writer to write the row with
+   * @throws IOException If the channel cannot be written
+   */
+  private void writeSouthRow(TxtWriter out) throws IOException {
+    line[0] = PackedGrid.WALL;
+    for (int i = 0; i < columns; i++) {
+      line[2 * i + 1] = southOpen[i] ? PackedGrid.CORRIDOR : PackedGrid.WALL;
+      line[2 * i + 2] = PackedGrid.WALL;
+    }
+    out.writeRow(line, 0, line.length);
+  }
+
+  /**
+   * Writes the top or bottom wall with a single opening
+   * @param out The writer to write the row with
+   * @param opening The column of the opening
+   * @param code The cell code of the opening
+   * @throws IOException If the channel cannot be written
+   */
+  private void writeBorder(TxtWriter out, int opening, byte code) throws IOException {
+    Arrays.fill(line, PackedGrid.WALL);
+    line[opening] = code;
+    out.writeRow(line, 0, line.length);
+  }
+}
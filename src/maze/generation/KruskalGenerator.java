@@ -0,0 +1,114 @@
+package maze.generation;
+
+// Utils
+import java.util.SplittableRandom;
+
+// Package imports
+import maze.PackedGrid;
+
+/**
+ * Randomized Kruskal's algorithm. Every wall between two cells is visited in
+ * a random order and removed if the cells are not yet joined, tracked with
+ * an int union-find using path halving and union by size. Gives a perfect
+ * maze with many short dead ends.
+ * @version 19/10/2026
+ */
+public final class KruskalGenerator {
+
+  /**
+   * Private constructor, the class only holds static methods
+   */
+  private KruskalGenerator() {
+  }
+
+  /**
+   * Generates a maze with the entrance in the top wall and the exit in the
+   * bottom wall
+   * @param width The width of the maze
+   * @param height The height of the maze
+   * @param seed The seed of the maze
+   * @return Returns the generated grid
+   * @throws IllegalArgumentException If the maze is smaller than 3 by 3
+   */
+  public static PackedGrid generate(int width, int height, long seed) {
+    PackedGrid grid = CellGrid.walled(width, height);
+    carve(grid, seed);
+    CellGrid.finish(grid);
+    return grid;
+  }
+
+  /**
+   * Carves a perfect maze into the cells of a grid without placing an
+   * entrance or exit. Cells sit on the odd columns and rows of the grid.
+   * @param grid The grid to be carved, expected to be solid wall
+   * @param seed The seed of the maze
+   */
+  public static void carve(PackedGrid grid, long seed) {
+    SplittableRandom random = new SplittableRandom(seed);
+    int columns = CellGrid.columns(grid);
+    int rows = CellGrid.rows(grid);
+    int cells = columns * rows;
+
+    // Each wall is a cell and whether it is the wall east or south of it
+    int[] walls = new int[2 * cells];
+    int count = 0;
+    for (int cell = 0; cell < cells; cell++) {
+      if (cell % columns < columns - 1) {
+        walls[count++] = cell << 1;
+      }
+      if (cell / columns < rows - 1) {
+        walls[count++] = (cell << 1) | 1;
+      }
+    }
+    for (int i = count - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      int swap = walls[i];
+      walls[i] = walls[j];
+      walls[j] = swap;
+    }
+
+    int[] parents = new int[cells];
+    int[] sizes = new int[cells];
+    for (int cell = 0; cell < cells; cell++) {
+      parents[cell] = cell;
+      sizes[cell] = 1;
+    }
+    if (cells == 1) {
+      CellGrid.carve(grid, 0);
+    }
+    // A spanning tree is complete once cells - 1 walls are removed
+    int joined = 0;
+    for (int i = 0; i < count && joined < cells - 1; i++) {
+      int from = walls[i] >>> 1;
+      int to = (walls[i] & 1) == 0 ? from + 1 : from + columns;
+      int a = find(parents, from);
+      int b = find(parents, to);
+      if (a == b) {
+        continue;
+      }
+      if (sizes[a] < sizes[b]) {
+        int swap = a;
+        a = b;
+        b = swap;
+      }
+      parents[b] = a;
+      sizes[a] += sizes[b];
+      CellGrid.carve(grid, from, to);
+      joined++;
+    }
+  }
+
+  /**
+   * Finds the set of a cell, halving the path on the way
+   * @param parents The parent of every cell
+   * @param cell The cell to look up
+   * @return Returns the root of the cell's set
+   */
+  private static int find(int[] parents, int cell) {
+    while (parents[cell] != cell) {
+      parents[cell] = parents[parents[cell]];
+      cell = parents[cell];
+    }
+    return cell;
+  }
+}
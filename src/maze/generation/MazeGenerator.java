@@ -0,0 +1,44 @@
+package maze.generation;
+
+// Package imports
+import maze.PackedGrid;
+
+/**
+ * A generator which builds a maze into a packed grid from a seed. The same
+ * size and seed always give the same maze.
+ * @version 19/10/2026
+ */
+public interface MazeGenerator {
+
+  /**
+   * Generates a maze
+   * @param width The width of the maze
+   * @param height The height of the maze
+   * @param seed The seed of the maze
+   * @return Returns the generated grid
+   */
+  PackedGrid generate(int width, int height, long seed);
+
+  /**
+   * Looks up a generator by name, as used in corpus manifests
+   * @param name One of division, kruskal, wilson, prim or cave
+   * @return Returns the generator
+   * @throws IllegalArgumentException If there is no generator with the name
+   */
+  static MazeGenerator byName(String name) {
+    switch(name) {
+      case "division":
+        return RecursiveDivision::generate;
+      case "kruskal":
+        return KruskalGenerator::generate;
+      case "wilson":
+        return WilsonGenerator::generate;
+      case "prim":
+        return PrimGenerator::generate;
+      case "cave":
+        return CaveGenerator::generate;
+      default:
+        throw new IllegalArgumentException("Unknown generator " + name);
+    }
+  }
+}
@@ -0,0 +1,113 @@
+package maze.generation;
+
+// Utils
+import java.util.SplittableRandom;
+
+// Package imports
+import maze.PackedGrid;
+
+/**
+ * Randomized Prim's algorithm. The maze grows from one cell by repeatedly
+ * joining a random frontier cell to a random neighbour already in the maze.
+ * The frontier is a plain int array with swap removal and cell states are
+ * kept in a byte array, so nothing is boxed. Gives a perfect maze with short
+ * passages radiating from the start.
+ * @version 19/10/2026
+ */
+public final class PrimGenerator {
+
+  // States of a cell
+  private static final byte OUTSIDE = 0;
+  private static final byte FRONTIER = 1;
+  private static final byte INSIDE = 2;
+
+  /**
+   * Private constructor, the class only holds static methods
+   */
+  private PrimGenerator() {
+  }
+
+  /**
+   * Generates a maze with the entrance in the top wall and the exit in the
+   * bottom wall
+   * @param width The width of the maze
+   * @param height The height of the maze
+   * @param seed The seed of the maze
+   * @return Returns the generated grid
+   * @throws IllegalArgumentException If the maze is smaller than 3 by 3
+   */
+  public static PackedGrid generate(int width, int height, long seed) {
+    PackedGrid grid = CellGrid.walled(width, height);
+    SplittableRandom random = new SplittableRandom(seed);
+    int columns = CellGrid.columns(grid);
+    int rows = CellGrid.rows(grid);
+    int cells = columns * rows;
+    byte[] states = new byte[cells];
+    int[] frontier = new int[cells];
+    int[] inside = new int[4];
+
+    int start = random.nextInt(cells);
+    states[start] = INSIDE;
+    CellGrid.carve(grid, start);
+    int size = expand(start, columns, rows, states, frontier, 0);
+    while (size > 0) {
+      int pick = random.nextInt(size);
+      int cell = frontier[pick];
+      frontier[pick] = frontier[--size];
+
+      // Joins to a random neighbour already in the maze
+      int count = 0;
+      int column = cell % columns;
+      if (column > 0 && states[cell - 1] == INSIDE) {
+        inside[count++] = cell - 1;
+      }
+      if (column < columns - 1 && states[cell + 1] == INSIDE) {
+        inside[count++] = cell + 1;
+      }
+      if (cell >= columns && states[cell - columns] == INSIDE) {
+        inside[count++] = cell - columns;
+      }
+      if (cell < cells - columns && states[cell + columns] == INSIDE) {
+        inside[count++] = cell + columns;
+      }
+      states[cell] = INSIDE;
+      CellGrid.carve(grid, inside[random.nextInt(count)], cell);
+      size = expand(cell, columns, rows, states, frontier, size);
+    }
+    CellGrid.finish(grid);
+    return grid;
+  }
+
+  /**
+   * Adds the neighbours of a cell outside the maze to the frontier
+   * @param cell The cell just added to the maze
+   * @param columns The number of cells across
+   * @param rows The number of cells down
+   * @param states The state of every cell
+   * @param frontier The frontier cells
+   * @param size The number of cells in the frontier
+   * @return Returns the new number of cells in the frontier
+   */
+  private static int expand(int cell, int columns, int rows, byte[] states,
+                            int[] frontier, int size) {
+    int column = cell % columns;
+    int row = cell / columns;
+    if (column > 0 && states[cell - 1] == OUTSIDE) {
+      states[cell - 1] = FRONTIER;
+      frontier[size++] = cell - 1;
+    }
+    if (column < columns - 1 && states[cell + 1] == OUTSIDE) {
+      states[cell + 1] = FRONTIER;
+      frontier[size++] = cell + 1;
+    }
+    if (row > 0 && states[cell - columns] == OUTSIDE) {
+      states[cell - columns] = FRONTIER;
+      frontier[size++] = cell - columns;
+    }
+    if (row < rows - 1 && states[cell + columns] == OUTSIDE) {
+      states[cell + columns] = FRONTIER;
+      frontier[size++] = cell + columns;
+    }
+    return size;
+  }
+}
@@ -0,0 +1,268 @@
+package maze.generation;
+
+// Utils
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Package imports
+import maze.PackedGrid;
+
+/**
+ * Recursive division maze generator working directly on a packed grid.
+ * Splits are kept on an explicit work stack instead of the call stack, so
+ * the depth of uneven splits cannot overflow the stack however large the
+ * maze is.
+ *
+ * Every section draws from its own SplittableRandom seeded by its parent,
+ * and once a wall is placed the two halves never touch each other's cells.
+ * The halves can therefore be split on different threads and the maze for a
+ * seed is the same however many threads are used.
+ * @version 19/10/2026
+ */
+public final class RecursiveDivision {
+
+  // Marks cells not yet carved or walled, told apart from openings
+  static final byte UNCARVED = -1;
+
+  // Sections with fewer cells than this are split on one thread
+  private static final int PARALLEL_THRESHOLD = 256 * 256;
+
+  /**
+   * Private constructor, the class only holds static methods
+   */
+  private RecursiveDivision() {
+  }
+
+  /**
+   * Generates a maze with the entrance in the top left corner and the exit
+   * in the bottom right corner
+   * @param width The width of the maze
+   * @param height The height of the maze
+   * @param seed The seed for the first split
+   * @return Returns the generated grid
+   */
+  public static PackedGrid generate(int width, int height, long seed) {
+    PackedGrid grid = new PackedGrid(width, height);
+    grid.fill(UNCARVED);
+    divide(grid, 0, 0, width, height, seed);
+    finish(grid);
+    return grid;
+  }
+
+  /**
+   * Generates a maze on a fork join pool, splitting large sections as
+   * separate tasks. Gives exactly the same maze as generate for a seed.
+   * @param width The width of the maze
+   * @param height The height of the maze
+   * @param seed The seed for the first split
+   * @param pool The pool to run the tasks on
+   * @return Returns the generated grid
+   */
+  public static PackedGrid generateParallel(int width, int height, long seed,
+                                            ForkJoinPool pool) {
+    PackedGrid grid = new PackedGrid(width, height);
+    grid.fill(UNCARVED);
+    pool.invoke(new DivideTask(grid, 0, 0, width, height, seed));
+    finish(grid);
+    return grid;
+  }
+
+  /**
+   * Turns every uncarved cell into a corridor, places the entrance and exit
+   * in opposite corners and carves a connection between them if the walls
+   * cut them apart
+   * @param grid The divided grid
+   */
+  static void finish(PackedGrid grid) {
+    for (int i = 0; i < grid.size(); i++) {
+      if (grid.get(i) == UNCARVED) {
+        grid.set(i, PackedGrid.CORRIDOR);
+      }
+    }
+    grid.set(0, 0, PackedGrid.ENTRANCE);
+    grid.set(grid.getWidth() - 1, grid.getHeight() - 1, PackedGrid.EXIT);
+    // A single tile grid has its entrance overwritten by the exit
+    if (grid.size() > 1 && !Solvability.isSolvable(grid)) {
+      Solvability.repair(grid);
+    }
+  }
+
+  /**
+   * Divides a section of the grid into two with a wall containing one
+   * opening, then does the same to each half until the sections are too
+   * small to split. Cells that are already openings are never walled over.
+   * @param grid The grid to be divided
+   * @param x The leftmost column of the section
+   * @param y The uppermost row of the section
+   * @param width The width of the section
+   * @param height The height of the section
+   * @param seed The seed for the first split
+   */
+  public static void divide(PackedGrid grid, int x, int y, int width, int height,
+                            long seed) {
+    // Sections waiting to be split, four ints and a seed each
+    int[] stack = new int[64];
+    long[] seeds = new long[16];
+    int[] children = new int[8];
+    long[] childSeeds = new long[2];
+    stack[0] = x;
+    stack[1] = y;
+    stack[2] = width;
+    stack[3] = height;
+    seeds[0] = seed;
+    int top = 1;
+    while (top > 0) {
+      top--;
+      int base = top * 4;
+      if (split(grid, stack[base], stack[base + 1], stack[base + 2],
+                stack[base + 3], seeds[top], children, childSeeds)) {
+        if (seeds.length - top < 2) {
+          stack = Arrays.copyOf(stack, stack.length * 2);
+          seeds = Arrays.copyOf(seeds, seeds.length * 2);
+        }
+        // Second half pushed first so the left or top half is split first
+        System.arraycopy(children, 4, stack, top * 4, 4);
+        seeds[top++] = childSeeds[1];
+        System.arraycopy(children, 0, stack, top * 4, 4);
+        seeds[top++] = childSeeds[0];
+      }
+    }
+  }
+
+  /**
+   * Places one wall across a section, perpendicular to its longest side,
+   * with a single opening and the cells either side of the opening cleared
+   * @param grid The grid to be divided
+   * @param x The leftmost column of the section
+   * @param y The uppermost row of the section
+   * @param width The width of the section
+   * @param height The height of the section
+   * @param seed The seed of the section
+   * @param children Filled with the x, y, width and height of both halves
+   * @param childSeeds Filled with the seeds of both halves
+   * @return Returns false if the section was too small to split
+   */
+  private static boolean split(PackedGrid grid, int x, int y, int width, int height,
+                               long seed, int[] children, long[] childSeeds) {
+    // If the space to place is less than 3 it cannot place a split
+    if (width < 3 || height < 3) {
+      return false;
+    }
+    SplittableRandom random = new SplittableRandom(seed);
+    // Splits vertically unless the section is taller than it is wide
+    if (width >= height) {
+      int splitX = x + random.nextInt(width - 2) + 1;
+      int openingY = y + random.nextInt(height);
+      for (int i = y; i < y + height; i++) {
+        if (i != openingY && grid.get(splitX, i) != PackedGrid.CORRIDOR) {
+          grid.set(splitX, i, PackedGrid.WALL);
+        } else {
+          // Opening along with the two cells either side of it
+          grid.set(splitX - 1, i, PackedGrid.CORRIDOR);
+          grid.set(splitX, i, PackedGrid.CORRIDOR);
+          grid.set(splitX + 1, i, PackedGrid.CORRIDOR);
+        }
+      }
+      setChildren(children, x, y, splitX - x, height,
+                  splitX + 1, y, x + width - splitX - 1, height);
+    } else {
+      int splitY = y + random.nextInt(height - 2) + 1;
+      int openingX = x + random.nextInt(width);
+      int row = grid.index(0, splitY);
+      for (int i = x; i < x + width; i++) {
+        if (i != openingX && grid.get(row + i) != PackedGrid.CORRIDOR) {
+          grid.set(row + i, PackedGrid.WALL);
+        } else {
+          grid.set(i, splitY - 1, PackedGrid.CORRIDOR);
+          grid.set(row + i, PackedGrid.CORRIDOR);
+          grid.set(i, splitY + 1, PackedGrid.CORRIDOR);
+        }
+      }
+      setChildren(children, x, y, width, splitY - y,
+                  x, splitY + 1, width, y + height - splitY - 1);
+    }
+    childSeeds[0] = random.nextLong();
+    childSeeds[1] = random.nextLong();
+    return true;
+  }
+
+  /**
+   * Records the two halves left by a split
+   * @param children The array to fill
+   * @param x1 The leftmost column of the first half
+   * @param y1 The uppermost row of the first half
+   * @param width1 The width of the first half
+   * @param height1 The height of the first half
+   * @param x2 The leftmost column of the second half
+   * @param y2 The uppermost row of the second half
+   * @param width2 The width of the second half
+   * @param height2 The height of the second half
+   */
+  private static void setChildren(int[] children, int x1, int y1, int width1,
+                                  int height1, int x2, int y2, int width2,
+                                  int height2) {
+    children[0] = x1;
+    children[1] = y1;
+    children[2] = width1;
+    children[3] = height1;
+    children[4] = x2;
+    children[5] = y2;
+    children[6] = width2;
+    children[7] = height2;
+  }
+
+  /**
+   * Fork join task dividing one section, forking both halves while they are
+   * large and falling back to the work stack once they are small
+   */
+  private static class DivideTask extends RecursiveAction {
+
+    // Attributes
+    private PackedGrid grid;
+    private int x;
+    private int y;
+    private int width;
+    private int height;
+    private long seed;
+
+    /**
+     * Constructor for a task over one section
+     * @param grid The grid to be divided
+     * @param x The leftmost column of the section
+     * @param y The uppermost row of the section
+     * @param width The width of the section
+     * @param height The height of the section
+     * @param seed The seed of the section
+     */
+    DivideTask(PackedGrid grid, int x, int y, int width, int height, long seed) {
+      this.grid = grid;
+      this.x = x;
+      this.y = y;
+      this.width = width;
+      this.height = height;
+      this.seed = seed;
+    }
+
+    /**
+     * Splits the section and runs both halves
+     */
+    @Override
+    protected void compute() {
+      if ((long) width * height < PARALLEL_THRESHOLD) {
+        divide(grid, x, y, width, height, seed);
+        return;
+      }
+      int[] children = new int[8];
+      long[] childSeeds = new long[2];
+      if (split(grid, x, y, width, height, seed, children, childSeeds)) {
+        invokeAll(
+          new DivideTask(grid, children[0], children[1], children[2],
+                         children[3], childSeeds[0]),
+          new DivideTask(grid, children[4], children[5], children[6],
+                         children[7], childSeeds[1]));
+      }
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package maze.generation;
+
+// Package imports
+import maze.Maze.Direction;
+import maze.PackedGrid;
+
+/**
+ * Linear time checks that the exit of a generated grid can be reached from
+ * its entrance, and a repair which carves the fewest walls needed to join
+ * them when it cannot.
+ * @version 19/10/2026
+ */
+public final class Solvability {
+
+  // Cached so searching does not allocate per tile
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  /**
+   * Private constructor, the class only holds static methods
+   */
+  private Solvability() {
+  }
+
+  /**
+   * Checks if the exit can be reached from the entrance, visiting each tile
+   * at most once
+   * @param grid The grid to check
+   * @return Returns true if there is a route, false if there is not or the
+   *         grid has no entrance or exit
+   */
+  public static boolean isSolvable(PackedGrid grid) {
+    int entrance = grid.indexOf(PackedGrid.ENTRANCE);
+    int exit = grid.indexOf(PackedGrid.EXIT);
+    if (entrance == -1 || exit == -1) {
+      return false;
+    }
+    boolean[] visited = new boolean[grid.size()];
+    int[] queue = new int[grid.size()];
+    int head = 0;
+    int tail = 0;
+    visited[entrance] = true;
+    queue[tail++] = entrance;
+    while (head < tail) {
+      int current = queue[head++];
+      if (current == exit) {
+        return true;
+      }
+      for (int i = 0; i < DIRECTIONS.length; i++) {
+        int next = grid.neighbour(current, DIRECTIONS[i]);
+        if (next != -1 && !visited[next] && grid.isNavigable(next)) {
+          visited[next] = true;
+          queue[tail++] = next;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Makes sure the exit can be reached, carving through the fewest walls
+   * possible if it cannot. Tiles are searched in layers by the number of
+   * walls crossed to reach them, open tiles joining the current layer and
+   * walls the next, so each tile is still visited once.
+   * @param grid The grid to repair, changed in place
+   * @return Returns the number of walls carved, 0 if it was already solvable
+   * @throws IllegalArgumentException If the grid has no entrance or exit
+   */
+  public static int repair(PackedGrid grid) {
+    int entrance = grid.indexOf(PackedGrid.ENTRANCE);
+    int exit = grid.indexOf(PackedGrid.EXIT);
+    if (entrance == -1 || exit == -1) {
+      throw new IllegalArgumentException("Grid needs an entrance and an exit");
+    }
+    int[] parents = new int[grid.size()];
+    boolean[] reached = new boolean[grid.size()];
+    // Tiles reached with the current and next number of walls crossed
+    int[] layer = new int[grid.size()];
+    int[] nextLayer = new int[grid.size()];
+    int size = 0;
+    reached[entrance] = true;
+    parents[entrance] = -1;
+    layer[size++] = entrance;
+    int walls = 0;
+    while (!reached[exit]) {
+      int nextSize = 0;
+      // The layer grows as open tiles are found, so is read as a queue
+      for (int head = 0; head < size && !reached[exit]; head++) {
+        int current = layer[head];
+        for (int i = 0; i < DIRECTIONS.length; i++) {
+          int next = grid.neighbour(current, DIRECTIONS[i]);
+          if (next == -1 || reached[next]) {
+            continue;
+          }
+          reached[next] = true;
+          parents[next] = current;
+          if (grid.isNavigable(next)) {
+            layer[size++] = next;
+          } else {
+            nextLayer[nextSize++] = next;
+          }
+        }
+      }
+      if (reached[exit]) {
+        break;
+      }
+      int[] swap = layer;
+      layer = nextLayer;
+      nextLayer = swap;
+      size = nextSize;
+      walls++;
+    }
+    if (walls > 0) {
+      for (int current = exit; current != -1; current = parents[current]) {
+        if (!grid.isNavigable(current)) {
+          grid.set(current, PackedGrid.CORRIDOR);
+        }
+      }
+    }
+    return walls;
+  }
+}
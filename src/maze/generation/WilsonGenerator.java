@@ -0,0 +1,117 @@
+package maze.generation;
+
+// Utils
+import java.util.SplittableRandom;
+
+// Package imports
+import maze.PackedGrid;
+
+/**
+ * Wilson's algorithm, giving a maze chosen uniformly from every possible
+ * spanning tree. Each cell not yet in the maze starts a random walk which
+ * only remembers the last direction taken from each cell, so loops are
+ * erased as the walk overwrites them. When the walk reaches the maze the
+ * loop-erased path is carved in.
+ * @version 19/10/2026
+ */
+public final class WilsonGenerator {
+
+  // Directions a walk can leave a cell in
+  private static final byte EAST = 0;
+  private static final byte WEST = 1;
+  private static final byte SOUTH = 2;
+  private static final byte NORTH = 3;
+
+  /**
+   * Private constructor, the class only holds static methods
+   */
+  private WilsonGenerator() {
+  }
+
+  /**
+   * Generates a maze with the entrance in the top wall and the exit in the
+   * bottom wall
+   * @param width The width of the maze
+   * @param height The height of the maze
+   * @param seed The seed of the maze
+   * @return Returns the generated grid
+   * @throws IllegalArgumentException If the maze is smaller than 3 by 3
+   */
+  public static PackedGrid generate(int width, int height, long seed) {
+    PackedGrid grid = CellGrid.walled(width, height);
+    SplittableRandom random = new SplittableRandom(seed);
+    int columns = CellGrid.columns(grid);
+    int rows = CellGrid.rows(grid);
+    int cells = columns * rows;
+    boolean[] inMaze = new boolean[cells];
+    byte[] exits = new byte[cells];
+
+    int first = random.nextInt(cells);
+    inMaze[first] = true;
+    CellGrid.carve(grid, first);
+    for (int start = 0; start < cells; start++) {
+      if (inMaze[start]) {
+        continue;
+      }
+      // Walks until the maze is hit, remembering the last exit of each cell
+      int cell = start;
+      while (!inMaze[cell]) {
+        byte direction = randomDirection(cell, columns, rows, random);
+        exits[cell] = direction;
+        cell = step(cell, direction, columns);
+      }
+      // Carves the loop-erased walk into the maze
+      for (cell = start; !inMaze[cell]; ) {
+        int next = step(cell, exits[cell], columns);
+        inMaze[cell] = true;
+        CellGrid.carve(grid, cell, next);
+        cell = next;
+      }
+    }
+    CellGrid.finish(grid);
+    return grid;
+  }
+
+  /**
+   * Picks a random direction which stays inside the grid
+   * @param cell The cell to leave
+   * @param columns The number of cells across
+   * @param rows The number of cells down
+   * @param random The source of randomness
+   * @return Returns the direction to leave in
+   */
+  private static byte randomDirection(int cell, int columns, int rows,
+                                      SplittableRandom random) {
+    int column = cell % columns;
+    int row = cell / columns;
+    while (true) {
+      byte direction = (byte) random.nextInt(4);
+      if ((direction == EAST && column < columns - 1)
+          || (direction == WEST && column > 0)
+          || (direction == SOUTH && row < rows - 1)
+          || (direction == NORTH && row > 0)) {
+        return direction;
+      }
+    }
+  }
+
+  /**
+   * Gets the neighbouring cell in a direction
+   * @param cell The cell to leave
+   * @param direction The direction to leave in
+   * @param columns The number of cells across
+   * @return Returns the neighbouring cell
+   */
+  private static int step(int cell, byte direction, int columns) {
+    switch(direction) {
+      case EAST:
+        return cell + 1;
+      case WEST:
+        return cell - 1;
+      case SOUTH:
+        return cell + columns;
+      default:
+        return cell - columns;
+    }
+  }
+}
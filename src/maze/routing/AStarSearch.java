@@ -0,0 +1,107 @@
+package maze.routing;
+
+// Utils
+import java.util.*;
+
+// Package imports
+import maze.Maze;
+import maze.Maze.Direction;
+import maze.PackedGrid;
+import maze.Tile;
+import maze.routing.NoRouteFoundException;
+
+/**
+ * A* search from the entrance to the exit of a maze over its packed grid.
+ * Finds the cheapest route, counting the cost of weighted terrain, as long as
+ * the heuristic never overestimates.
+ * @version 19/10/2026
+ */
+public class AStarSearch implements RouteSearch {
+
+  // Attributes
+  private Heuristic heuristic;
+  private int expanded;
+
+  /**
+   * Constructor for a search guided by the Manhattan distance
+   */
+  public AStarSearch() {
+    this(Heuristic.MANHATTAN);
+  }
+
+  /**
+   * Constructor for a search guided by a given heuristic
+   * @param heuristic The estimate of the distance left to the exit
+   */
+  public AStarSearch(Heuristic heuristic) {
+    this.heuristic = heuristic;
+  }
+
+  /**
+   * Gets the number of tiles expanded by the last search
+   * @return Returns the number of tiles taken off the open set
+   */
+  public int getExpanded() {
+    return this.expanded;
+  }
+
+  /**
+   * Finds the cheapest route from the entrance to the exit
+   * @param maze The maze to be searched
+   * @return Returns the tiles of the route from the entrance to the exit
+   * @throws NoRouteFoundException If the exit cannot be reached
+   */
+  public List<Tile> findRoute(Maze maze) {
+    PackedGrid grid = maze.getGrid();
+    int start = GridRoutes.indexOf(maze, maze.getEntrance());
+    int goal = GridRoutes.indexOf(maze, maze.getExit());
+    int[] parents = search(grid, start, goal);
+    return GridRoutes.toRoute(maze, parents, goal);
+  }
+
+  /**
+   * Runs the search over the grid
+   * @param grid The grid to be searched
+   * @param start The index to start from
+   * @param goal The index to find a route to
+   * @return Returns the parent of every reached index, -1 for the start
+   * @throws NoRouteFoundException If the goal cannot be reached
+   * @throws java.util.concurrent.CancellationException If the thread is
+   *         interrupted during the search
+   */
+  int[] search(PackedGrid grid, int start, int goal) {
+    int[] costs = new int[grid.size()];
+    int[] parents = new int[grid.size()];
+    Arrays.fill(costs, Integer.MAX_VALUE);
+    IndexHeap open = new IndexHeap(grid.size());
+    Direction[] directions = Direction.values();
+    expanded = 0;
+
+    costs[start] = 0;
+    parents[start] = -1;
+    open.push(start, heuristic.estimate(grid, start, goal), 0);
+    while (!open.isEmpty()) {
+      int current = open.pop();
+      if (++expanded % GridRoutes.CANCEL_INTERVAL == 0) {
+        GridRoutes.checkCancelled();
+      }
+      if (current == goal) {
+        return parents;
+      }
+      for (int i = 0; i < directions.length; i++) {
+        int next = grid.neighbour(current, directions[i]);
+        if (next == -1 || !grid.isNavigable(next)) {
+          continue;
+        }
+        int cost = costs[current] + grid.getCost(next);
+        if (cost < costs[next]) {
+          costs[next] = cost;
+          parents[next] = current;
+          // Equal estimates prefer the cell furthest along its route
+          open.push(next, cost + heuristic.estimate(grid, next, goal), -cost);
+        }
+      }
+    }
+    throw new NoRouteFoundException("No route");
+  }
+}
@@ -0,0 +1,313 @@
+package maze.routing;
+
+// Utils
+import java.util.*;
+import java.util.function.Consumer;
+
+// Package imports
+import maze.Maze;
+import maze.Maze.Direction;
+import maze.PackedGrid;
+import maze.Tile;
+import maze.routing.NoRouteFoundException;
+
+/**
+ * Anytime repairing A* (ARA*). Starts with a heuristic inflated by epsilon to
+ * find a route quickly, then lowers epsilon and repairs the search, reusing
+ * the costs already found, until the latency budget runs out or the route is
+ * proven cheapest. Every improved route is published with its bound.
+ * @version 19/10/2026
+ */
+public class AnytimeSearch implements RouteSearch {
+
+  // Fixed point scale for the inflated keys
+  private static final long SCALE = 1024;
+  // How many expansions happen between checks of the clock
+  private static final int CLOCK_INTERVAL = 256;
+
+  // Attributes
+  private Heuristic heuristic;
+  private double initialEpsilon;
+  private double epsilonStep;
+  private long budgetNanos;
+  private List<Consumer<Solution>> listeners;
+  private Solution best;
+  private int expanded;
+
+  // Search state, kept between improvements of the same route
+  private PackedGrid grid;
+  private int goal;
+  private int[] costs;
+  private int[] parents;
+  private int[] closedIn;
+  private boolean[] inconsistent;
+  private int[] incons;
+  private int inconsSize;
+  private IndexHeap open;
+  private long epsilonKey;
+
+  /**
+   * A route found by the search along with how far from the cheapest it can
+   * be
+   */
+  public static class Solution {
+
+    // Attributes
+    private List<Tile> route;
+    private int cost;
+    private double bound;
+
+    /**
+     * Constructor for a published route
+     * @param route The tiles from the entrance to the exit
+     * @param cost The total cost of the route
+     * @param bound The most the cost can be over the cheapest, as a factor
+     */
+    Solution(List<Tile> route, int cost, double bound) {
+      this.route = route;
+      this.cost = cost;
+      this.bound = bound;
+    }
+
+    /**
+     * Gets the route
+     * @return Returns the tiles from the entrance to the exit
+     */
+    public List<Tile> getRoute() {
+      return this.route;
+    }
+
+    /**
+     * Gets the cost of the route
+     * @return Returns the sum of the costs of every tile moved onto
+     */
+    public int getCost() {
+      return this.cost;
+    }
+
+    /**
+     * Gets the suboptimality bound of the route
+     * @return Returns a factor the cost is at most that many times the
+     *         cheapest, 1 when the route is proven cheapest
+     */
+    public double getBound() {
+      return this.bound;
+    }
+  }
+
+  /**
+   * Constructor for a search using the Manhattan distance
+   * @param initialEpsilon The inflation of the heuristic for the first route
+   * @param epsilonStep How much epsilon is lowered between improvements
+   * @param budgetMillis How long the search may keep improving the route
+   */
+  public AnytimeSearch(double initialEpsilon, double epsilonStep, long budgetMillis) {
+    this(Heuristic.MANHATTAN, initialEpsilon, epsilonStep, budgetMillis);
+  }
+
+  /**
+   * Constructor for a search using a given heuristic
+   * @param heuristic The estimate of the distance left to the exit
+   * @param initialEpsilon The inflation of the heuristic for the first route
+   * @param epsilonStep How much epsilon is lowered between improvements
+   * @param budgetMillis How long the search may keep improving the route
+   * @throws IllegalArgumentException If epsilon is below 1 or the step is not
+   *         positive
+   */
+  public AnytimeSearch(Heuristic heuristic, double initialEpsilon,
+                       double epsilonStep, long budgetMillis) {
+    if (initialEpsilon < 1 || epsilonStep <= 0) {
+      throw new IllegalArgumentException("Invalid epsilon schedule");
+    }
+    this.heuristic = heuristic;
+    this.initialEpsilon = initialEpsilon;
+    this.epsilonStep = epsilonStep;
+    this.budgetNanos = budgetMillis * 1000000L;
+    this.listeners = new ArrayList<Consumer<Solution>>();
+  }
+
+  /**
+   * Adds a listener which is given every improved route as it is found
+   * @param listener The listener to be called
+   */
+  public void addListener(Consumer<Solution> listener) {
+    this.listeners.add(listener);
+  }
+
+  /**
+   * Gets the best route found by the last search
+   * @return Returns the last published solution or null if there is none
+   */
+  public Solution getBest() {
+    return this.best;
+  }
+
+  /**
+   * Gets the number of tiles expanded by the last search
+   * @return Returns the expansions summed over every improvement
+   */
+  public int getExpanded() {
+    return this.expanded;
+  }
+
+  /**
+   * Finds a route within the budget. The first route is always completed even
+   * if that takes longer than the budget.
+   * @param maze The maze to be searched
+   * @return Returns the tiles of the best route found
+   * @throws NoRouteFoundException If the exit cannot be reached
+   */
+  public List<Tile> findRoute(Maze maze) {
+    long deadline = System.nanoTime() + budgetNanos;
+    grid = maze.getGrid();
+    int start = GridRoutes.indexOf(maze, maze.getEntrance());
+    goal = GridRoutes.indexOf(maze, maze.getExit());
+    costs = new int[grid.size()];
+    parents = new int[grid.size()];
+    closedIn = new int[grid.size()];
+    inconsistent = new boolean[grid.size()];
+    incons = new int[16];
+    inconsSize = 0;
+    open = new IndexHeap(grid.size());
+    Arrays.fill(costs, Integer.MAX_VALUE);
+    Arrays.fill(closedIn, -1);
+    best = null;
+    expanded = 0;
+
+    double epsilon = initialEpsilon;
+    epsilonKey = Math.round(epsilon * SCALE);
+    costs[start] = 0;
+    parents[start] = -1;
+    open.push(start, key(start));
+    for (int iteration = 0; ; iteration++) {
+      if (!improvePath(iteration, deadline)) {
+        break;
+      }
+      double bound = Math.min(epsilon, costs[goal] / lowerBound());
+      best = new Solution(GridRoutes.toRoute(maze, parents, goal), costs[goal], bound);
+      for (Consumer<Solution> listener : listeners) {
+        listener.accept(best);
+      }
+      if (bound <= 1 || System.nanoTime() >= deadline) {
+        break;
+      }
+      epsilon = Math.max(1, epsilon - epsilonStep);
+      epsilonKey = Math.round(epsilon * SCALE);
+      reopen();
+    }
+    return best.getRoute();
+  }
+
+  /**
+   * Gets the inflated key of a cell
+   * @param cell The index of the cell
+   * @return Returns g + epsilon * h in fixed point
+   */
+  private long key(int cell) {
+    return costs[cell] * SCALE + epsilonKey * heuristic.estimate(grid, cell, goal);
+  }
+
+  /**
+   * Expands cells until the route to the goal is within the current epsilon
+   * @param iteration The number of the current improvement
+   * @param deadline The time the budget runs out, ignored until the first
+   *                 route has been found
+   * @return Returns true if the route was improved and false if the budget
+   *         ran out first
+   * @throws NoRouteFoundException If the goal cannot be reached
+   */
+  private boolean improvePath(int iteration, long deadline) {
+    Direction[] directions = Direction.values();
+    int sinceClock = 0;
+    while (!open.isEmpty() && goalKey() > open.peekKey()) {
+      if (++sinceClock == CLOCK_INTERVAL) {
+        sinceClock = 0;
+        if (best != null && System.nanoTime() >= deadline) {
+          return false;
+        }
+      }
+      int current = open.pop();
+      closedIn[current] = iteration;
+      expanded++;
+      for (int i = 0; i < directions.length; i++) {
+        int next = grid.neighbour(current, directions[i]);
+        if (next == -1 || !grid.isNavigable(next)) {
+          continue;
+        }
+        int cost = costs[current] + grid.getCost(next);
+        if (cost < costs[next]) {
+          costs[next] = cost;
+          parents[next] = current;
+          if (closedIn[next] != iteration) {
+            open.push(next, key(next));
+          } else if (!inconsistent[next]) {
+            // Already expanded this round, kept for the next improvement
+            inconsistent[next] = true;
+            if (inconsSize == incons.length) {
+              incons = Arrays.copyOf(incons, inconsSize * 2);
+            }
+            incons[inconsSize++] = next;
+          }
+        }
+      }
+    }
+    if (costs[goal] == Integer.MAX_VALUE) {
+      throw new NoRouteFoundException("No route");
+    }
+    return true;
+  }
+
+  /**
+   * Gets the key of the goal, which has no heuristic left
+   * @return Returns the fixed point cost of the goal
+   */
+  private long goalKey() {
+    return costs[goal] == Integer.MAX_VALUE ? Long.MAX_VALUE : costs[goal] * SCALE;
+  }
+
+  /**
+   * Finds the smallest uninflated cost estimate of any cell still to be
+   * expanded, a lower bound on the cheapest route
+   * @return Returns the smallest g + h over the open and inconsistent cells
+   */
+  private double lowerBound() {
+    long lowest = costs[goal];
+    for (int i = 0; i < open.size(); i++) {
+      lowest = Math.min(lowest, estimateThrough(open.cellAt(i)));
+    }
+    for (int i = 0; i < inconsSize; i++) {
+      lowest = Math.min(lowest, estimateThrough(incons[i]));
+    }
+    return Math.max(1, lowest);
+  }
+
+  /**
+   * Gets the uninflated estimate of a route through a cell
+   * @param cell The index of the cell
+   * @return Returns g + h for the cell
+   */
+  private long estimateThrough(int cell) {
+    return (long) costs[cell] + heuristic.estimate(grid, cell, goal);
+  }
+
+  /**
+   * Moves the inconsistent cells back into the open set and rekeys every
+   * open cell for the new epsilon
+   */
+  private void reopen() {
+    int[] cells = new int[open.size() + inconsSize];
+    int count = 0;
+    for (int i = 0; i < open.size(); i++) {
+      cells[count++] = open.cellAt(i);
+    }
+    for (int i = 0; i < inconsSize; i++) {
+      inconsistent[incons[i]] = false;
+      cells[count++] = incons[i];
+    }
+    inconsSize = 0;
+    open.clear();
+    for (int i = 0; i < count; i++) {
+      open.push(cells[i], key(cells[i]));
+    }
+  }
+}
@@ -0,0 +1,125 @@
+package maze.routing;
+
+// Utils
+import java.util.*;
+
+// Package imports
+import maze.Maze;
+import maze.Maze.Direction;
+import maze.PackedGrid;
+import maze.Tile;
+import maze.routing.NoRouteFoundException;
+
+/**
+ * Bidirectional breadth first search, growing one frontier from the
+ * entrance and one from the exit and always expanding the smaller one. Finds
+ * the route with the fewest moves while usually visiting far fewer tiles
+ * than a single search.
+ * @version 19/10/2026
+ */
+public class BidirectionalSearch implements RouteSearch {
+
+  // Attributes
+  private int expanded;
+
+  /**
+   * Gets the number of tiles expanded by the last search
+   * @return Returns the number of tiles expanded from both ends
+   */
+  public int getExpanded() {
+    return this.expanded;
+  }
+
+  /**
+   * Finds the route with the fewest moves from the entrance to the exit
+   * @param maze The maze to be searched
+   * @return Returns the tiles of the route from the entrance to the exit
+   * @throws NoRouteFoundException If the exit cannot be reached
+   * @throws java.util.concurrent.CancellationException If the thread is
+   *         interrupted during the search
+   */
+  public List<Tile> findRoute(Maze maze) {
+    PackedGrid grid = maze.getGrid();
+    int start = GridRoutes.indexOf(maze, maze.getEntrance());
+    int goal = GridRoutes.indexOf(maze, maze.getExit());
+    expanded = 0;
+    if (start == goal) {
+      return new ArrayList<Tile>(Collections.singletonList(maze.getEntrance()));
+    }
+    // Distances from each end, -1 until a tile is reached from that end
+    int[] fromStart = new int[grid.size()];
+    int[] fromGoal = new int[grid.size()];
+    int[] startParents = new int[grid.size()];
+    int[] goalParents = new int[grid.size()];
+    Arrays.fill(fromStart, -1);
+    Arrays.fill(fromGoal, -1);
+    int[] startQueue = new int[grid.size()];
+    int[] goalQueue = new int[grid.size()];
+    int[] startEnds = {0, 0};
+    int[] goalEnds = {0, 0};
+
+    fromStart[start] = 0;
+    startParents[start] = -1;
+    startQueue[startEnds[1]++] = start;
+    fromGoal[goal] = 0;
+    goalParents[goal] = -1;
+    goalQueue[goalEnds[1]++] = goal;
+    int meeting = -1;
+    while (meeting == -1 && startEnds[0] < startEnds[1] && goalEnds[0] < goalEnds[1]) {
+      if (startEnds[1] - startEnds[0] <= goalEnds[1] - goalEnds[0]) {
+        meeting = expandLevel(grid, startQueue, startEnds, fromStart, startParents, fromGoal);
+      } else {
+        meeting = expandLevel(grid, goalQueue, goalEnds, fromGoal, goalParents, fromStart);
+      }
+    }
+    if (meeting == -1) {
+      throw new NoRouteFoundException("No route");
+    }
+    // Joins the half from the entrance to the half back from the exit
+    List<Tile> route = GridRoutes.toRoute(maze, startParents, meeting);
+    for (int current = goalParents[meeting]; current != -1; current = goalParents[current]) {
+      route.add(GridRoutes.tileAt(maze, current));
+    }
+    return route;
+  }
+
+  /**
+   * Expands every tile in one level of a frontier
+   * @param grid The grid being searched
+   * @param queue The queue of the frontier being expanded
+   * @param ends The head and tail of the queue
+   * @param distances The distances from this frontier's end
+   * @param parents The parents of the tiles reached from this end
+   * @param other The distances from the opposite end
+   * @return Returns the tile joining the frontiers on the shortest route, or
+   *         -1 if they have not met
+   */
+  private int expandLevel(PackedGrid grid, int[] queue, int[] ends,
+                          int[] distances, int[] parents, int[] other) {
+    Direction[] directions = Direction.values();
+    int levelEnd = ends[1];
+    int meeting = -1;
+    int best = Integer.MAX_VALUE;
+    while (ends[0] < levelEnd) {
+      int current = queue[ends[0]++];
+      if (++expanded % GridRoutes.CANCEL_INTERVAL == 0) {
+        GridRoutes.checkCancelled();
+      }
+      for (int i = 0; i < directions.length; i++) {
+        int next = grid.neighbour(current, directions[i]);
+        if (next == -1 || distances[next] != -1 || !grid.isNavigable(next)) {
+          continue;
+        }
+        distances[next] = distances[current] + 1;
+        parents[next] = current;
+        queue[ends[1]++] = next;
+        // Finishes the level so the best meeting point is kept
+        if (other[next] != -1 && distances[next] + other[next] < best) {
+          best = distances[next] + other[next];
+          meeting = next;
+        }
+      }
+    }
+    return meeting;
+  }
+}
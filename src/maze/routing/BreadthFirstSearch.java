@@ -0,0 +1,73 @@
+package maze.routing;
+
+// Utils
+import java.util.*;
+
+// Package imports
+import maze.Maze;
+import maze.Maze.Direction;
+import maze.PackedGrid;
+import maze.Tile;
+import maze.routing.NoRouteFoundException;
+
+/**
+ * Breadth first search from the entrance to the exit. Finds the route with
+ * the fewest moves, ignoring the cost of weighted terrain.
+ * @version 19/10/2026
+ */
+public class BreadthFirstSearch implements RouteSearch {
+
+  // Attributes
+  private int expanded;
+
+  /**
+   * Gets the number of tiles expanded by the last search
+   * @return Returns the number of tiles taken off the queue
+   */
+  public int getExpanded() {
+    return this.expanded;
+  }
+
+  /**
+   * Finds the route with the fewest moves from the entrance to the exit
+   * @param maze The maze to be searched
+   * @return Returns the tiles of the route from the entrance to the exit
+   * @throws NoRouteFoundException If the exit cannot be reached
+   * @throws java.util.concurrent.CancellationException If the thread is
+   *         interrupted during the search
+   */
+  public List<Tile> findRoute(Maze maze) {
+    PackedGrid grid = maze.getGrid();
+    int start = GridRoutes.indexOf(maze, maze.getEntrance());
+    int goal = GridRoutes.indexOf(maze, maze.getExit());
+    int[] parents = new int[grid.size()];
+    boolean[] visited = new boolean[grid.size()];
+    int[] queue = new int[grid.size()];
+    Direction[] directions = Direction.values();
+    int head = 0;
+    int tail = 0;
+    expanded = 0;
+
+    parents[start] = -1;
+    visited[start] = true;
+    queue[tail++] = start;
+    while (head < tail) {
+      int current = queue[head++];
+      if (++expanded % GridRoutes.CANCEL_INTERVAL == 0) {
+        GridRoutes.checkCancelled();
+      }
+      if (current == goal) {
+        return GridRoutes.toRoute(maze, parents, goal);
+      }
+      for (int i = 0; i < directions.length; i++) {
+        int next = grid.neighbour(current, directions[i]);
+        if (next != -1 && !visited[next] && grid.isNavigable(next)) {
+          visited[next] = true;
+          parents[next] = current;
+          queue[tail++] = next;
+        }
+      }
+    }
+    throw new NoRouteFoundException("No route");
+  }
+}
@@ -0,0 +1,75 @@
+package maze.routing;
+
+// Utils
+import java.util.Arrays;
+
+/**
+ * Monotone bucket queue (Dial's algorithm) of cell indices keyed by distance.
+ * Every key pushed is between the last distance popped and that distance plus
+ * the largest move cost, so a ring of maxCost + 1 buckets is enough and both
+ * push and pop take constant time.
+ * @version 19/10/2026
+ */
+class BucketQueue {
+
+  // Attributes
+  private int[][] buckets;
+  private int[] sizes;
+  private int distance;
+  private int size;
+
+  /**
+   * Constructor for an empty queue
+   * @param maxCost The largest cost of a single move
+   */
+  BucketQueue(int maxCost) {
+    buckets = new int[maxCost + 1][16];
+    sizes = new int[maxCost + 1];
+  }
+
+  /**
+   * Checks if the queue is empty
+   * @return Returns true if there are no cells queued
+   */
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Adds a cell to the queue. A cell may be queued more than once, callers
+   * skip the stale copies when they are popped.
+   * @param cell The index of the cell
+   * @param key The distance of the cell, no more than maxCost past the last
+   *            distance popped
+   */
+  void push(int cell, int key) {
+    int bucket = key % buckets.length;
+    if (sizes[bucket] == buckets[bucket].length) {
+      buckets[bucket] = Arrays.copyOf(buckets[bucket], sizes[bucket] * 2);
+    }
+    buckets[bucket][sizes[bucket]++] = cell;
+    size++;
+  }
+
+  /**
+   * Removes a cell with the smallest distance
+   * @return Returns the index of the removed cell
+   */
+  int pop() {
+    int bucket = distance % buckets.length;
+    while (sizes[bucket] == 0) {
+      distance++;
+      bucket = distance % buckets.length;
+    }
+    size--;
+    return buckets[bucket][--sizes[bucket]];
+  }
+
+  /**
+   * Gets the distance of the cell last popped
+   * @return Returns the key of the last popped cell
+   */
+  int distance() {
+    return distance;
+  }
+}
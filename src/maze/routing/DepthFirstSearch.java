@@ -0,0 +1,82 @@
+package maze.routing;
+
+// Utils
+import java.util.*;
+
+// Package imports
+import maze.Maze;
+import maze.Maze.Direction;
+import maze.PackedGrid;
+import maze.Tile;
+import maze.routing.NoRouteFoundException;
+
+/**
+ * Depth first search from the entrance to the exit, trying directions in the
+ * same order as RouteFinder.step but running to completion on the packed
+ * grid. The route found is not necessarily the shortest.
+ * @version 19/10/2026
+ */
+public class DepthFirstSearch implements RouteSearch {
+
+  // Attributes
+  private int expanded;
+
+  /**
+   * Gets the number of tiles expanded by the last search
+   * @return Returns the number of tiles pushed onto the route
+   */
+  public int getExpanded() {
+    return this.expanded;
+  }
+
+  /**
+   * Finds a route from the entrance to the exit
+   * @param maze The maze to be searched
+   * @return Returns the tiles of the route from the entrance to the exit
+   * @throws NoRouteFoundException If the exit cannot be reached
+   * @throws java.util.concurrent.CancellationException If the thread is
+   *         interrupted during the search
+   */
+  public List<Tile> findRoute(Maze maze) {
+    PackedGrid grid = maze.getGrid();
+    int start = GridRoutes.indexOf(maze, maze.getEntrance());
+    int goal = GridRoutes.indexOf(maze, maze.getExit());
+    boolean[] checked = new boolean[grid.size()];
+    // The route is the stack itself, as in RouteFinder
+    int[] route = new int[grid.size()];
+    Direction[] directions = Direction.values();
+    int top = 0;
+    expanded = 1;
+
+    route[top++] = start;
+    checked[start] = true;
+    while (top > 0) {
+      int current = route[top - 1];
+      if (current == goal) {
+        List<Tile> tiles = new ArrayList<Tile>(top);
+        for (int i = 0; i < top; i++) {
+          tiles.add(GridRoutes.tileAt(maze, route[i]));
+        }
+        return tiles;
+      }
+      boolean found = false;
+      for (int i = 0; i < directions.length; i++) {
+        int next = grid.neighbour(current, directions[i]);
+        if (next != -1 && !checked[next] && grid.isNavigable(next)) {
+          checked[next] = true;
+          route[top++] = next;
+          found = true;
+          if (++expanded % GridRoutes.CANCEL_INTERVAL == 0) {
+            GridRoutes.checkCancelled();
+          }
+          break;
+        }
+      }
+      // Dead end so back up
+      if (!found) {
+        top--;
+      }
+    }
+    throw new NoRouteFoundException("No route");
+  }
+}
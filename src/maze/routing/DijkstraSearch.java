@@ -0,0 +1,107 @@
+package maze.routing;
+
+// Utils
+import java.util.*;
+
+// Package imports
+import maze.Maze;
+import maze.Maze.Direction;
+import maze.PackedGrid;
+import maze.Tile;
+import maze.routing.NoRouteFoundException;
+
+/**
+ * Dijkstra's search for the cheapest route through a maze with weighted
+ * terrain. Move costs are small integers so the frontier is kept in a bucket
+ * queue rather than a heap, making the search close to linear in the number
+ * of tiles.
+ * @version 19/10/2026
+ */
+public class DijkstraSearch implements RouteSearch {
+
+  // Attributes
+  private int expanded;
+  private int cost;
+
+  /**
+   * Gets the number of tiles expanded by the last search
+   * @return Returns the number of tiles settled
+   */
+  public int getExpanded() {
+    return this.expanded;
+  }
+
+  /**
+   * Gets the total cost of the route found by the last search
+   * @return Returns the sum of the costs of every tile moved onto
+   */
+  public int getCost() {
+    return this.cost;
+  }
+
+  /**
+   * Finds the cheapest route from the entrance to the exit
+   * @param maze The maze to be searched
+   * @return Returns the tiles of the route from the entrance to the exit
+   * @throws NoRouteFoundException If the exit cannot be reached
+   */
+  public List<Tile> findRoute(Maze maze) {
+    PackedGrid grid = maze.getGrid();
+    int start = GridRoutes.indexOf(maze, maze.getEntrance());
+    int goal = GridRoutes.indexOf(maze, maze.getExit());
+    int[] parents = search(grid, start, goal);
+    return GridRoutes.toRoute(maze, parents, goal);
+  }
+
+  /**
+   * Runs the search over the grid
+   * @param grid The grid to be searched
+   * @param start The index to start from
+   * @param goal The index to find a route to
+   * @return Returns the parent of every settled index, -1 for the start
+   * @throws NoRouteFoundException If the goal cannot be reached
+   * @throws java.util.concurrent.CancellationException If the thread is
+   *         interrupted during the search
+   */
+  int[] search(PackedGrid grid, int start, int goal) {
+    int[] costs = new int[grid.size()];
+    int[] parents = new int[grid.size()];
+    boolean[] settled = new boolean[grid.size()];
+    Arrays.fill(costs, Integer.MAX_VALUE);
+    BucketQueue open = new BucketQueue(grid.getMaxCost());
+    Direction[] directions = Direction.values();
+    expanded = 0;
+
+    costs[start] = 0;
+    parents[start] = -1;
+    open.push(start, 0);
+    while (!open.isEmpty()) {
+      int current = open.pop();
+      // Skips copies left behind when a cheaper cost was found
+      if (settled[current] || costs[current] != open.distance()) {
+        continue;
+      }
+      settled[current] = true;
+      if (++expanded % GridRoutes.CANCEL_INTERVAL == 0) {
+        GridRoutes.checkCancelled();
+      }
+      if (current == goal) {
+        cost = costs[goal];
+        return parents;
+      }
+      for (int i = 0; i < directions.length; i++) {
+        int next = grid.neighbour(current, directions[i]);
+        if (next == -1 || !grid.isNavigable(next) || settled[next]) {
+          continue;
+        }
+        int nextCost = costs[current] + grid.getCost(next);
+        if (nextCost < costs[next]) {
+          costs[next] = nextCost;
+          parents[next] = current;
+          open.push(next, nextCost);
+        }
+      }
+    }
+    throw new NoRouteFoundException("No route");
+  }
+}
@@ -0,0 +1,83 @@
+package maze.routing;
+
+// Utils
+import java.util.*;
+import java.util.concurrent.CancellationException;
+
+// Package imports
+import maze.Maze;
+import maze.Maze.Coordinate;
+import maze.PackedGrid;
+import maze.Tile;
+
+/**
+ * Helpers shared by the searches which work on a maze's packed grid, moving
+ * between tiles and grid indices
+ * @version 19/10/2026
+ */
+final class GridRoutes {
+
+  /**
+   * Private constructor, the class only holds static helpers
+   */
+  private GridRoutes() {
+  }
+
+  // How many expansions a search makes between checks for cancellation
+  static final int CANCEL_INTERVAL = 1024;
+
+  /**
+   * Stops a search early if the thread running it has been interrupted, so
+   * searches raced against each other can be cancelled cooperatively
+   * @throws CancellationException If the current thread is interrupted
+   */
+  static void checkCancelled() {
+    if (Thread.currentThread().isInterrupted()) {
+      throw new CancellationException("Search cancelled");
+    }
+  }
+
+  /**
+   * Gets the grid index of a tile in the maze
+   * @param maze The maze containing the tile
+   * @param tile The tile to find
+   * @return Returns the row major index of the tile
+   * @throws IllegalArgumentException If the tile is not in the maze
+   */
+  static int indexOf(Maze maze, Tile tile) {
+    Coordinate location = tile == null ? null : maze.getTileLocation(tile);
+    if (location == null) {
+      throw new IllegalArgumentException("Tile not in maze");
+    }
+    PackedGrid grid = maze.getGrid();
+    // Coordinates count y up from the bottom, the grid counts rows down
+    return grid.index(location.getX(), grid.getHeight() - (location.getY() + 1));
+  }
+
+  /**
+   * Gets the tile at a grid index
+   * @param maze The maze containing the tile
+   * @param index The row major index of the tile
+   * @return Returns the tile at the index
+   */
+  static Tile tileAt(Maze maze, int index) {
+    PackedGrid grid = maze.getGrid();
+    return maze.getTiles().get(grid.getRow(index)).get(grid.getColumn(index));
+  }
+
+  /**
+   * Follows parent links back from the goal to build the route
+   * @param maze The maze the route is through
+   * @param parents The parent of each index, -1 for the start of the route
+   * @param goal The index the route ends at
+   * @return Returns the tiles from the start of the route to the goal
+   */
+  static List<Tile> toRoute(Maze maze, int[] parents, int goal) {
+    List<Tile> route = new ArrayList<Tile>();
+    for (int current = goal; current != -1; current = parents[current]) {
+      route.add(tileAt(maze, current));
+    }
+    Collections.reverse(route);
+    return route;
+  }
+}
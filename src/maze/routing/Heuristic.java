@@ -0,0 +1,29 @@
+package maze.routing;
+
+// Package imports
+import maze.PackedGrid;
+
+/**
+ * An estimate of the number of moves between two cells of a maze, used to
+ * guide an informed search such as AStarSearch
+ * @version 19/10/2026
+ */
+public interface Heuristic {
+
+  /**
+   * Manhattan distance between two cells, the default estimate
+   */
+  Heuristic MANHATTAN = (grid, from, goal) ->
+    Math.abs(grid.getColumn(from) - grid.getColumn(goal))
+      + Math.abs(grid.getRow(from) - grid.getRow(goal));
+
+  /**
+   * Estimates the distance between two cells. To keep the route found
+   * shortest the estimate must never be more than the real distance.
+   * @param grid The packed grid of the maze being searched
+   * @param from The index of the cell to estimate from
+   * @param goal The index of the cell being searched for
+   * @return Returns the estimated number of moves from the cell to the goal
+   */
+  int estimate(PackedGrid grid, int from, int goal);
+}
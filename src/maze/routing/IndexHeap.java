@@ -0,0 +1,175 @@
+package maze.routing;
+
+// Utils
+import java.util.Arrays;
+
+/**
+ * Binary min heap of cell indices keyed by an integer priority, with a
+ * position table so a queued cell can have its priority lowered in place
+ * @version 19/10/2026
+ */
+class IndexHeap {
+
+  // Attributes
+  private int[] heap;
+  private long[] keys;
+  private int[] positions;
+  private int size;
+
+  /**
+   * Constructor for an empty heap over a grid
+   * @param capacity The number of cells in the grid
+   */
+  IndexHeap(int capacity) {
+    heap = new int[Math.min(capacity, 1024)];
+    keys = new long[capacity];
+    positions = new int[capacity];
+    Arrays.fill(positions, -1);
+  }
+
+  /**
+   * Checks if the heap is empty
+   * @return Returns true if there are no cells queued
+   */
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Gets the number of queued cells
+   * @return Returns the size of the heap
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Checks if a cell is queued
+   * @param cell The index of the cell
+   * @return Returns true if the cell is in the heap
+   */
+  boolean contains(int cell) {
+    return positions[cell] != -1;
+  }
+
+  /**
+   * Gets the cell at a position in the heap, used to walk the queued cells
+   * @param position The position in the heap, from 0 to size - 1
+   * @return Returns the index of the cell at that position
+   */
+  int cellAt(int position) {
+    return heap[position];
+  }
+
+  /**
+   * Gets the smallest priority in the heap without removing it
+   * @return Returns the priority of the top cell
+   */
+  long peekKey() {
+    return keys[heap[0]];
+  }
+
+  /**
+   * Adds a cell or lowers its priority if it is already queued. Ties are
+   * broken by the lower secondary value, packed below the priority.
+   * @param cell The index of the cell
+   * @param priority The priority of the cell
+   * @param tieBreak The secondary ordering for cells with equal priority
+   */
+  void push(int cell, int priority, int tieBreak) {
+    push(cell, ((long) priority << 32) | (tieBreak & 0xffffffffL));
+  }
+
+  /**
+   * Adds a cell or lowers its key if it is already queued
+   * @param cell The index of the cell
+   * @param key The full ordering key of the cell
+   */
+  void push(int cell, long key) {
+    int position = positions[cell];
+    if (position == -1) {
+      if (size == heap.length) {
+        heap = Arrays.copyOf(heap, Math.min(keys.length, size * 2));
+      }
+      position = size++;
+      heap[position] = cell;
+      positions[cell] = position;
+    } else if (key >= keys[cell]) {
+      return;
+    }
+    keys[cell] = key;
+    siftUp(position);
+  }
+
+  /**
+   * Removes the cell with the lowest priority
+   * @return Returns the index of the removed cell
+   */
+  int pop() {
+    int top = heap[0];
+    positions[top] = -1;
+    size--;
+    if (size > 0) {
+      heap[0] = heap[size];
+      positions[heap[0]] = 0;
+      siftDown(0);
+    }
+    return top;
+  }
+
+  /**
+   * Removes every cell from the heap
+   */
+  void clear() {
+    for (int i = 0; i < size; i++) {
+      positions[heap[i]] = -1;
+    }
+    size = 0;
+  }
+
+  /**
+   * Moves a cell up the heap until its parent is smaller
+   * @param position The position in the heap to start from
+   */
+  private void siftUp(int position) {
+    int cell = heap[position];
+    long key = keys[cell];
+    while (position > 0) {
+      int parent = (position - 1) >>> 1;
+      if (keys[heap[parent]] <= key) {
+        break;
+      }
+      heap[position] = heap[parent];
+      positions[heap[position]] = position;
+      position = parent;
+    }
+    heap[position] = cell;
+    positions[cell] = position;
+  }
+
+  /**
+   * Moves a cell down the heap until both children are larger
+   * @param position The position in the heap to start from
+   */
+  private void siftDown(int position) {
+    int cell = heap[position];
+    long key = keys[cell];
+    while (true) {
+      int child = 2 * position + 1;
+      if (child >= size) {
+        break;
+      }
+      if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) {
+        child++;
+      }
+      if (keys[heap[child]] >= key) {
+        break;
+      }
+      heap[position] = heap[child];
+      positions[heap[position]] = position;
+      position = child;
+    }
+    heap[position] = cell;
+    positions[cell] = position;
+  }
+}
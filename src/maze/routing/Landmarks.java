@@ -0,0 +1,246 @@
+package maze.routing;
+
+// Utils
+import java.util.*;
+
+// Package imports
+import maze.Maze;
+import maze.PackedGrid;
+
+// Input and output imports
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.FileOutputStream;
+import java.io.ObjectOutputStream;
+import java.io.FileInputStream;
+import java.io.ObjectInputStream;
+
+/**
+ * ALT preprocessing for a maze. Stores the distance from a handful of
+ * landmark tiles to every tile and uses the triangle inequality to give A*
+ * a much tighter estimate than the Manhattan distance in twisting mazes.
+ * @version 19/10/2026
+ */
+public class Landmarks implements Heuristic, java.io.Serializable {
+
+  // Stored distance for tiles a landmark cannot reach
+  private static final int UNREACHABLE = -1;
+
+  // Attributes
+  private int width;
+  private int height;
+  private int fingerprint;
+  private int[] landmarks;
+  private short[][] shortDistances;
+  private int[][] intDistances;
+
+  /**
+   * Private constructor, tables are built by compute or read by load
+   */
+  private Landmarks() {
+  }
+
+  /**
+   * Chooses landmarks for a maze and measures the distance from each one to
+   * every tile. Each landmark is the tile furthest from those already chosen,
+   * starting from the tile furthest from the entrance.
+   * @param maze The maze to be preprocessed
+   * @param count The number of landmarks to choose
+   * @return Returns the landmark tables for the maze
+   * @throws IllegalArgumentException If count is less than 1
+   */
+  public static Landmarks compute(Maze maze, int count) {
+    if (count < 1) {
+      throw new IllegalArgumentException("At least one landmark is needed");
+    }
+    PackedGrid grid = maze.getGrid();
+    Landmarks tables = new Landmarks();
+    tables.width = grid.getWidth();
+    tables.height = grid.getHeight();
+    tables.fingerprint = fingerprint(grid);
+
+    int[][] distances = new int[count][];
+    int[] chosen = new int[count];
+    // Smallest distance from each tile to any chosen landmark
+    int[] nearest = grid.distancesFrom(GridRoutes.indexOf(maze, maze.getEntrance()));
+    int found = 0;
+    int largest = 0;
+    while (found < count) {
+      int next = furthest(nearest);
+      if (next == -1) {
+        break;
+      }
+      chosen[found] = next;
+      distances[found] = grid.distancesFrom(next);
+      for (int i = 0; i < nearest.length; i++) {
+        int distance = distances[found][i];
+        if (distance != UNREACHABLE && distance < nearest[i]) {
+          nearest[i] = distance;
+        }
+        largest = Math.max(largest, distance);
+      }
+      found++;
+    }
+    tables.landmarks = Arrays.copyOf(chosen, found);
+    // Halves the size of the tables for all but the largest mazes
+    if (largest < Short.MAX_VALUE) {
+      tables.shortDistances = new short[found][];
+      for (int i = 0; i < found; i++) {
+        short[] row = new short[distances[i].length];
+        for (int j = 0; j < row.length; j++) {
+          row[j] = (short) distances[i][j];
+        }
+        tables.shortDistances[i] = row;
+      }
+    } else {
+      tables.intDistances = Arrays.copyOf(distances, found);
+    }
+    return tables;
+  }
+
+  /**
+   * Finds the reachable tile with the largest distance that is not yet a
+   * landmark
+   * @param nearest The distance from each tile to the closest landmark
+   * @return Returns the index of the furthest tile or -1 if none are left
+   */
+  private static int furthest(int[] nearest) {
+    int best = -1;
+    for (int i = 0; i < nearest.length; i++) {
+      if (nearest[i] > 0 && (best == -1 || nearest[i] > nearest[best])) {
+        best = i;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Hashes the cells of a grid so tables can be matched to their maze
+   * @param grid The grid to hash
+   * @return Returns a hash of the grid contents
+   */
+  private static int fingerprint(PackedGrid grid) {
+    int hash = 31 * grid.getWidth() + grid.getHeight();
+    for (int i = 0; i < grid.size(); i++) {
+      hash = 31 * hash + (grid.isNavigable(i) ? 1 : 0);
+    }
+    return hash;
+  }
+
+  /**
+   * Gets the number of landmarks
+   * @return Returns the number of landmarks in the tables
+   */
+  public int getCount() {
+    return this.landmarks.length;
+  }
+
+  /**
+   * Gets the grid index of a landmark
+   * @param landmark The number of the landmark
+   * @return Returns the index of the landmark tile in the maze's grid
+   */
+  public int getLandmark(int landmark) {
+    return this.landmarks[landmark];
+  }
+
+  /**
+   * Checks if the tables were built for a maze with the same layout
+   * @param maze The maze to check
+   * @return Returns true if the tables can be used to search the maze
+   */
+  public boolean matches(Maze maze) {
+    PackedGrid grid = maze.getGrid();
+    return grid.getWidth() == this.width && grid.getHeight() == this.height
+      && fingerprint(grid) == this.fingerprint;
+  }
+
+  /**
+   * Gets the stored distance from a landmark to a tile
+   * @param landmark The number of the landmark
+   * @param index The grid index of the tile
+   * @return Returns the number of moves or -1 if the tile cannot be reached
+   */
+  public int distance(int landmark, int index) {
+    if (this.shortDistances != null) {
+      return this.shortDistances[landmark][index];
+    }
+    return this.intDistances[landmark][index];
+  }
+
+  /**
+   * Estimates the distance between two tiles as the largest difference in
+   * their distances to any one landmark
+   * @param grid The packed grid of the maze being searched
+   * @param from The index of the tile to estimate from
+   * @param goal The index of the tile being searched for
+   * @return Returns a lower bound on the number of moves between the tiles
+   */
+  public int estimate(PackedGrid grid, int from, int goal) {
+    int best = 0;
+    for (int i = 0; i < this.landmarks.length; i++) {
+      int toFrom = distance(i, from);
+      int toGoal = distance(i, goal);
+      if (toFrom != UNREACHABLE && toGoal != UNREACHABLE) {
+        best = Math.max(best, Math.abs(toGoal - toFrom));
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Saves the tables to a file, normally next to the maze they were built for
+   * @param outputFile The name of the file the tables will be saved to
+   * @throws IOException Thrown if error with output file name
+   */
+  public void save(String outputFile) throws IOException {
+    try (ObjectOutputStream OOS = new ObjectOutputStream(
+                                        new FileOutputStream(outputFile))) {
+      OOS.writeObject(this);
+    }
+  }
+
+  /**
+   * Loads tables from a file
+   * @param inputFile The file which the tables will be loaded from
+   * @return Returns the loaded tables
+   * @throws IOException Thrown if the file cannot be read or does not hold
+   *         landmark tables
+   */
+  public static Landmarks load(String inputFile) throws IOException {
+    try (ObjectInputStream OIS = new ObjectInputStream(
+                                        new FileInputStream(inputFile))) {
+      return (Landmarks) OIS.readObject();
+    } catch (ClassNotFoundException | ClassCastException e) {
+      throw new IOException("Not a landmark file");
+    }
+  }
+
+  /**
+   * Gets the tables for a maze from a file, building and saving them first if
+   * the file is missing or was made for a different maze. Saving is best
+   * effort: if the file cannot be written the tables are still returned and
+   * are simply rebuilt the next time.
+   * @param maze The maze the tables are for
+   * @param file The file the tables are kept in
+   * @param count The number of landmarks to choose if they must be rebuilt
+   * @return Returns tables that match the maze
+   */
+  public static Landmarks forMaze(Maze maze, String file, int count) {
+    try {
+      Landmarks stored = load(file);
+      if (stored.matches(maze)) {
+        return stored;
+      }
+    } catch (IOException e) {
+      // Missing or unreadable, rebuilt below
+    }
+    Landmarks tables = compute(maze, count);
+    try {
+      tables.save(file);
+    } catch (IOException e) {
+      // Not cached, rebuilt by the next call
+    }
+    return tables;
+  }
+}
@@ -0,0 +1,144 @@
+package maze.routing;
+
+// Utils
+import java.util.*;
+
+// Package imports
+import maze.Maze;
+import maze.Maze.Direction;
+import maze.PackedGrid;
+import maze.Tile;
+import maze.routing.NoRouteFoundException;
+
+/**
+ * Multi-source search seeded from every exit of a maze at once. One pass
+ * gives the cheapest exit for every tile, so routes from any number of
+ * starting tiles can be read off afterwards without searching again.
+ * @version 19/10/2026
+ */
+public class NearestExitSearch implements RouteSearch {
+
+  // Attributes
+  private Maze maze;
+  private int[] costs;
+  private int[] nearest;
+  private int[] next;
+  private int expanded;
+
+  /**
+   * Runs the search over the maze, recording for every tile its cheapest
+   * exit, the cost to get there and the next tile on the way
+   * @param maze The maze to be searched
+   */
+  public void search(Maze maze) {
+    PackedGrid grid = maze.getGrid();
+    this.maze = maze;
+    costs = new int[grid.size()];
+    nearest = new int[grid.size()];
+    next = new int[grid.size()];
+    Arrays.fill(costs, Integer.MAX_VALUE);
+    Arrays.fill(nearest, -1);
+    Arrays.fill(next, -1);
+    boolean[] settled = new boolean[grid.size()];
+    BucketQueue open = new BucketQueue(grid.getMaxCost());
+    Direction[] directions = Direction.values();
+    expanded = 0;
+
+    // Every exit starts the search at no cost
+    for (int i = 0; i < grid.size(); i++) {
+      if (grid.get(i) == PackedGrid.EXIT) {
+        costs[i] = 0;
+        nearest[i] = i;
+        open.push(i, 0);
+      }
+    }
+    while (!open.isEmpty()) {
+      int current = open.pop();
+      if (settled[current] || costs[current] != open.distance()) {
+        continue;
+      }
+      settled[current] = true;
+      expanded++;
+      // Searching backwards, so stepping to a neighbour costs this tile
+      int cost = costs[current] + grid.getCost(current);
+      for (int i = 0; i < directions.length; i++) {
+        int neighbour = grid.neighbour(current, directions[i]);
+        if (neighbour == -1 || !grid.isNavigable(neighbour) || settled[neighbour]) {
+          continue;
+        }
+        if (cost < costs[neighbour]) {
+          costs[neighbour] = cost;
+          nearest[neighbour] = nearest[current];
+          next[neighbour] = current;
+          open.push(neighbour, cost);
+        }
+      }
+    }
+  }
+
+  /**
+   * Finds the route from the entrance to its nearest exit
+   * @param maze The maze to be searched
+   * @return Returns the tiles of the route from the entrance to the exit
+   * @throws NoRouteFoundException If no exit can be reached
+   */
+  public List<Tile> findRoute(Maze maze) {
+    search(maze);
+    return routeFrom(maze.getEntrance());
+  }
+
+  /**
+   * Gets the route from a tile to its nearest exit using the last search
+   * @param start The tile to start from
+   * @return Returns the tiles of the route from the start to the exit
+   * @throws NoRouteFoundException If no exit can be reached from the tile
+   */
+  public List<Tile> routeFrom(Tile start) {
+    int current = GridRoutes.indexOf(maze, start);
+    if (nearest[current] == -1) {
+      throw new NoRouteFoundException("No route");
+    }
+    List<Tile> route = new ArrayList<Tile>();
+    for (; current != -1; current = next[current]) {
+      route.add(GridRoutes.tileAt(maze, current));
+    }
+    return route;
+  }
+
+  /**
+   * Gets the nearest exit to a tile using the last search
+   * @param tile The tile to look up
+   * @return Returns the cheapest exit to reach or null if none can be reached
+   */
+  public Tile getNearestExit(Tile tile) {
+    int exit = nearest[GridRoutes.indexOf(maze, tile)];
+    return exit == -1 ? null : GridRoutes.tileAt(maze, exit);
+  }
+
+  /**
+   * Gets the cost from a tile to its nearest exit using the last search
+   * @param tile The tile to look up
+   * @return Returns the route cost or -1 if no exit can be reached
+   */
+  public int getCost(Tile tile) {
+    int cost = costs[GridRoutes.indexOf(maze, tile)];
+    return cost == Integer.MAX_VALUE ? -1 : cost;
+  }
+
+  /**
+   * Gets the nearest exit assignment of every tile from the last search
+   * @return Returns, for each grid index, the grid index of its nearest exit
+   *         or -1 for walls and tiles which cannot reach an exit
+   */
+  public int[] getAssignments() {
+    return this.nearest;
+  }
+
+  /**
+   * Gets the number of tiles expanded by the last search
+   * @return Returns the number of tiles settled
+   */
+  public int getExpanded() {
+    return this.expanded;
+  }
+}
@@ -0,0 +1,232 @@
+package maze.routing;
+
+// Utils
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Package imports
+import maze.Maze;
+import maze.PackedGrid;
+import maze.Tile;
+import maze.routing.NoRouteFoundException;
+
+/**
+ * Races several searches against each other on separate threads over the
+ * same maze. The first route found is returned and the other searches are
+ * interrupted, which they notice and stop at their next cancellation check.
+ * Wins are counted per maze shape so the strategy that usually wins on
+ * similar mazes can be picked without racing.
+ * @version 19/10/2026
+ */
+public class PortfolioSearch implements RouteSearch {
+
+  /**
+   * The searches which can be raced
+   */
+  public enum Strategy {
+    DFS, BFS, ASTAR, BIDIRECTIONAL;
+
+    /**
+     * Creates a new search for the strategy
+     * @return Returns a search which has not been run yet
+     */
+    public RouteSearch create() {
+      switch(this) {
+        case DFS:
+          return new DepthFirstSearch();
+        case BFS:
+          return new BreadthFirstSearch();
+        case BIDIRECTIONAL:
+          return new BidirectionalSearch();
+        default:
+          return new AStarSearch();
+      }
+    }
+  }
+
+  // Attributes
+  private List<Strategy> strategies;
+  private Map<String, int[]> wins;
+  private Strategy winner;
+  private int expanded;
+
+  /**
+   * The route found by one of the raced searches
+   */
+  private static class Result {
+
+    // Attributes
+    private Strategy strategy;
+    private List<Tile> route;
+    private int expanded;
+
+    /**
+     * Constructor for a finished search
+     * @param strategy The strategy which found the route
+     * @param route The tiles from the entrance to the exit
+     * @param expanded The number of tiles the search expanded
+     */
+    Result(Strategy strategy, List<Tile> route, int expanded) {
+      this.strategy = strategy;
+      this.route = route;
+      this.expanded = expanded;
+    }
+  }
+
+  /**
+   * Constructor for a portfolio racing every strategy
+   */
+  public PortfolioSearch() {
+    this(EnumSet.allOf(Strategy.class));
+  }
+
+  /**
+   * Constructor for a portfolio racing a chosen set of strategies
+   * @param strategies The strategies to be raced
+   * @throws IllegalArgumentException If no strategies are given
+   */
+  public PortfolioSearch(Collection<Strategy> strategies) {
+    if (strategies.isEmpty()) {
+      throw new IllegalArgumentException("No strategies to race");
+    }
+    this.strategies = new ArrayList<Strategy>(strategies);
+    this.wins = new HashMap<String, int[]>();
+  }
+
+  /**
+   * Races the strategies and returns the first route found
+   * @param maze The maze to be searched
+   * @return Returns the tiles of the winning route from the entrance to the
+   *         exit
+   * @throws NoRouteFoundException If the exit cannot be reached
+   */
+  public List<Tile> findRoute(Maze maze) {
+    // Built here so the searches only ever read the maze
+    maze.getGrid();
+    List<Callable<Result>> tasks = new ArrayList<Callable<Result>>();
+    for (Strategy strategy : strategies) {
+      tasks.add(() -> {
+        RouteSearch search = strategy.create();
+        List<Tile> route = search.findRoute(maze);
+        return new Result(strategy, route, search.getExpanded());
+      });
+    }
+    ExecutorService pool = Executors.newFixedThreadPool(tasks.size(), runnable -> {
+      Thread thread = new Thread(runnable, "portfolio-search");
+      thread.setDaemon(true);
+      return thread;
+    });
+    try {
+      // Cancels and interrupts the losers as soon as one search returns
+      Result result = pool.invokeAny(tasks);
+      recordWin(maze, result.strategy);
+      winner = result.strategy;
+      expanded = result.expanded;
+      return result.route;
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new NoRouteFoundException("No route");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CancellationException("Search cancelled");
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * Gets the strategy which won the last race
+   * @return Returns the winning strategy or null if no race has finished
+   */
+  public Strategy getWinner() {
+    return this.winner;
+  }
+
+  /**
+   * Gets the number of tiles expanded by the winner of the last race
+   * @return Returns the winning search's expansions
+   */
+  public int getExpanded() {
+    return this.expanded;
+  }
+
+  /**
+   * Gets how many races a strategy has won on mazes shaped like this one
+   * @param maze The maze to look up
+   * @param strategy The strategy to count wins for
+   * @return Returns the number of wins
+   */
+  public synchronized int getWins(Maze maze, Strategy strategy) {
+    int[] counts = wins.get(shapeOf(maze));
+    return counts == null ? 0 : counts[strategy.ordinal()];
+  }
+
+  /**
+   * Gets the strategy which has won most often on mazes shaped like this one
+   * @param maze The maze to look up
+   * @return Returns the most successful strategy, ASTAR if there have been
+   *         no races on similar mazes
+   */
+  public synchronized Strategy getPreferredStrategy(Maze maze) {
+    int[] counts = wins.get(shapeOf(maze));
+    Strategy preferred = Strategy.ASTAR;
+    if (counts != null) {
+      for (Strategy strategy : Strategy.values()) {
+        if (counts[strategy.ordinal()] > counts[preferred.ordinal()]) {
+          preferred = strategy;
+        }
+      }
+    }
+    return preferred;
+  }
+
+  /**
+   * Creates the search to use on a maze without racing, based on which
+   * strategy has won most on similar mazes
+   * @param maze The maze to be searched
+   * @return Returns a new search of the preferred strategy
+   */
+  public RouteSearch getDefaultSearch(Maze maze) {
+    return getPreferredStrategy(maze).create();
+  }
+
+  /**
+   * Adds a win to the statistics for the maze's shape
+   * @param maze The maze that was raced on
+   * @param strategy The strategy which won
+   */
+  private synchronized void recordWin(Maze maze, Strategy strategy) {
+    String shape = shapeOf(maze);
+    int[] counts = wins.get(shape);
+    if (counts == null) {
+      counts = new int[Strategy.values().length];
+      wins.put(shape, counts);
+    }
+    counts[strategy.ordinal()]++;
+  }
+
+  /**
+   * Groups mazes by the power of two of their tile count and the tenth of
+   * their tiles which are walls
+   * @param maze The maze to classify
+   * @return Returns a key shared by mazes of a similar shape
+   */
+  static String shapeOf(Maze maze) {
+    PackedGrid grid = maze.getGrid();
+    int walls = 0;
+    for (int i = 0; i < grid.size(); i++) {
+      if (!grid.isNavigable(i)) {
+        walls++;
+      }
+    }
+    int sizeClass = 31 - Integer.numberOfLeadingZeros(grid.size());
+    int density = (int) (10L * walls / grid.size());
+    return sizeClass + ":" + density;
+  }
+}
@@ -18,6 +18,8 @@ import java.io.ObjectOutputStream;
 import java.io.FileWriter;
 import java.io.FileInputStream;
 import java.io.ObjectInputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
 
 /**
  * Route find contains the current route the checked tiles and the methods to
@@ -95,9 +97,9 @@ public class RouteFinder implements java.io.Serializable {
     if (route.isEmpty()) {
       throw new NoRouteFoundException("No route");
     }
-    /* Checks if the current end of the route is the exit if it is a route
+    /* Checks if the current end of the route is an exit if it is a route
     has been found. */
-    if (route.peek() == maze.getExit()) {
+    if (route.peek() == maze.getExit() || maze.getExits().contains(route.peek())) {
       finished = true;
       return true;
     } else {
@@ -251,27 +253,61 @@ public class RouteFinder implements java.io.Serializable {
    * @return String representing the maze and current path through it
    */
   public String toString() {
-    String output = "";
-    List<List<Tile>> tiles = maze.getTiles();
-    for (int i = 0; i < tiles.size(); i++) {
-      output = output + (tiles.size()- (i + 1)) + " ";
-      for (int j = 0; j < tiles.get(i).size(); j++) {
-        if (this.search(this.getRouteStack(), maze.getTileAtLocation(
-                        maze.new Coordinate(j, tiles.size() - (i+1)))) != -1) {
-          output = output + "*" + " ";
-        } else if (this.search(this.getChecked(), maze.getTileAtLocation(
-                        maze.new Coordinate(j, tiles.size() - (i+1)))) != -1) {
-          output = output + "-" + " ";
-        } else {
-          output = output + (tiles.get(i).get(j).toString()) + " ";
+    StringBuilder output = new StringBuilder();
+    try {
+      writeTo(output);
+    } catch (IOException e) {
+      // A StringBuilder never throws
+      throw new UncheckedIOException(e);
+    }
+    return output.toString();
+  }
+
+  /**
+   * Writes the maze with the current route drawn as * and the other checked
+   * tiles as -, exactly as toString, without building one string first
+   * @param out Where the maze is written
+   * @throws IOException If out cannot be written to
+   */
+  public void writeTo(Appendable out) throws IOException {
+    BitSet[] overlay = overlay();
+    maze.writeTo(out, overlay[0], overlay[1]);
+  }
+
+  /**
+   * Writes the maze with the current route drawn through it to a channel as
+   * ASCII, exactly as toString
+   * @param channel Where the maze is written, which is left open
+   * @throws IOException If the channel cannot be written to
+   */
+  public void writeTo(WritableByteChannel channel) throws IOException {
+    BitSet[] overlay = overlay();
+    maze.writeTo(channel, overlay[0], overlay[1]);
+  }
+
+  /**
+   * Marks the grid indices of the tiles on the route and the checked tiles,
+   * in one pass over the maze rather than searching the stacks for each tile
+   * @return Returns the route indices followed by the checked indices
+   */
+  private BitSet[] overlay() {
+    Set<Tile> onRoute = Collections.newSetFromMap(new IdentityHashMap<Tile, Boolean>());
+    onRoute.addAll(route);
+    Set<Tile> wasChecked = Collections.newSetFromMap(new IdentityHashMap<Tile, Boolean>());
+    wasChecked.addAll(checked);
+    BitSet routeBits = new BitSet();
+    BitSet checkedBits = new BitSet();
+    int index = 0;
+    for (List<Tile> row : maze.getTiles()) {
+      for (Tile tile : row) {
+        if (onRoute.contains(tile)) {
+          routeBits.set(index);
+        } else if (wasChecked.contains(tile)) {
+          checkedBits.set(index);
         }
+        index++;
       }
-      output = output + "\n";
-    }
-    output = output + "\n  ";
-    for (int k = 0; k < tiles.get(0).size(); k++) {
-      output = output + k + " ";
     }
-    return output;
+    return new BitSet[] {routeBits, checkedBits};
   }
 }
@@ -0,0 +1,31 @@
+package maze.routing;
+
+// Utils
+import java.util.List;
+
+// Package imports
+import maze.Maze;
+import maze.Tile;
+
+/**
+ * A search which finds a complete route from the entrance to the exit of a
+ * maze in one call, rather than a step at a time like RouteFinder
+ * @version 19/10/2026
+ */
+public interface RouteSearch {
+
+  /**
+   * Finds a route through the maze
+   * @param maze The maze to be searched
+   * @return Returns the tiles of the route in order from the entrance to the
+   *         exit, in the same form as RouteFinder.getRoute
+   * @throws NoRouteFoundException If the exit cannot be reached
+   */
+  List<Tile> findRoute(Maze maze);
+
+  /**
+   * Gets the number of tiles expanded by the last search
+   * @return Returns the number of tiles taken off the frontier
+   */
+  int getExpanded();
+}
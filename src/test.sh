@@ -10,6 +10,29 @@ javac -d ./bin -cp .:junit-platform-console-standalone.jar ./tests/*/MazeTest.ja
 javac -d ./bin -cp .:junit-platform-console-standalone.jar ./tests/*/RouteFinderTest.java
 javac -d ./bin -cp .:junit-platform-console-standalone.jar ./tests/*/TileTest.java
 javac -d ./bin -cp .:junit-platform-console-standalone.jar ./tests/*/VisualisationTest.java
+javac -d ./bin -cp .:junit-platform-console-standalone.jar ./tests/*/LandmarksTest.java
+javac -d ./bin -cp .:junit-platform-console-standalone.jar ./tests/*/DijkstraSearchTest.java
+javac -d ./bin -cp .:junit-platform-console-standalone.jar ./tests/*/AnytimeSearchTest.java
+javac -d ./bin -cp .:junit-platform-console-standalone.jar ./tests/*/NearestExitSearchTest.java
+javac -d ./bin -cp .:junit-platform-console-standalone.jar ./tests/*/PortfolioSearchTest.java
+javac -d ./bin -cp .:junit-platform-console-standalone.jar ./tests/*/RecursiveDivisionTest.java
+javac -d ./bin -cp .:junit-platform-console-standalone.jar ./tests/*/EllerGeneratorTest.java
+javac -d ./bin -cp .:junit-platform-console-standalone.jar ./tests/*/SpanningTreeGeneratorTest.java
+javac -d ./bin -cp .:junit-platform-console-standalone.jar ./tests/*/BraiderTest.java
+javac -d ./bin -cp .:junit-platform-console-standalone.jar ./tests/*/InfiniteMazeTest.java
+javac -d ./bin -cp .:junit-platform-console-standalone.jar ./tests/*/CaveGeneratorTest.java
+javac -d ./bin -cp .:junit-platform-console-standalone.jar ./tests/*/CorpusPipelineTest.java
+javac -d ./bin -cp .:junit-platform-console-standalone.jar ./tests/*/SolvabilityTest.java
+javac -d ./bin -cp .:junit-platform-console-standalone.jar ./tests/*/TxtParserTest.java
+javac -d ./bin -cp .:junit-platform-console-standalone.jar ./tests/*/ParallelTxtParserTest.java
+javac -d ./bin -cp .:junit-platform-console-standalone.jar ./tests/*/ByteClassifierTest.java
+javac -d ./bin -cp .:junit-platform-console-standalone.jar ./tests/*/BinaryFormatTest.java
+javac -d ./bin -cp .:junit-platform-console-standalone.jar ./tests/*/RunLengthFormatTest.java
+javac -d ./bin -cp .:junit-platform-console-standalone.jar ./tests/*/RegionLoadingTest.java
+javac -d ./bin -cp .:junit-platform-console-standalone.jar ./tests/*/StreamLoadingTest.java
+javac -d ./bin -cp .:junit-platform-console-standalone.jar ./tests/*/MazeWriterTest.java
+javac -d ./bin -cp .:junit-platform-console-standalone.jar ./tests/*/TxtWriterTest.java
+javac -d ./bin -cp .:junit-platform-console-standalone.jar ./tests/*/BulkLoaderTest.java
 
 if [ "$isStatic" == "true" ]
 then
@@ -22,3 +45,14 @@ else
 fi
 
 java -jar junit-platform-console-standalone.jar --class-path ./bin --scan-class-path --fail-if-no-tests
+status=$?
+
+# The Vector API classifier is only loaded by name and needs the incubator
+# module, so it is built and checked against the scalar one on its own
+rm -rf ./bin-vector
+javac -d ./bin-vector --add-modules jdk.incubator.vector -cp .:junit-platform-console-standalone.jar maze/VectorClassifier.java ./tests/*/ByteClassifierTest.java
+java --add-modules jdk.incubator.vector -Dmaze.expectVector=true -jar junit-platform-console-standalone.jar --class-path ./bin-vector --select-class tests.dev.ByteClassifierTest --fail-if-no-tests
+vectorStatus=$?
+rm -rf ./bin-vector
+
+exit $((status | vectorStatus))
@@ -0,0 +1,75 @@
+package tests.dev;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import maze.Maze;
+import maze.Tile;
+import maze.routing.AnytimeSearch;
+import maze.routing.DijkstraSearch;
+
+public class AnytimeSearchTest {
+
+    // ~~~~~~~~~~ Utility Functions ~~~~~~~~~~
+
+    private Maze load(String filename) {
+        try {
+            return Maze.fromTxt(filename);
+        } catch (Exception e) {
+            fail(e.getClass().getName() + ": " + e.getMessage());
+        }
+        return null;
+    }
+
+    private int cheapestCost(Maze maze) {
+        DijkstraSearch search = new DijkstraSearch();
+        search.findRoute(maze);
+        return search.getCost();
+    }
+
+    // ~~~~~~~~~~ Functionality tests ~~~~~~~~~~
+
+    @Test
+    public void ensureFinalRouteIsCheapest() {
+        for (String file: new String[] {"../mazes/maze3.txt", "../mazes/weighted.txt"}) {
+            Maze maze = load(file);
+            AnytimeSearch search = new AnytimeSearch(3.0, 0.5, 10000);
+            List<Tile> route = search.findRoute(maze);
+            assertEquals(cheapestCost(maze), search.getBest().getCost());
+            assertEquals(1.0, search.getBest().getBound(), 0.0);
+            assertSame(maze.getEntrance(), route.get(0));
+            assertSame(maze.getExit(), route.get(route.size() - 1));
+        }
+    }
+
+    @Test
+    public void ensurePublishedRoutesRespectTheirBounds() {
+        Maze maze = load("../mazes/weighted.txt");
+        int cheapest = cheapestCost(maze);
+        List<AnytimeSearch.Solution> published = new ArrayList<>();
+        AnytimeSearch search = new AnytimeSearch(5.0, 1.0, 10000);
+        search.addListener(published::add);
+        search.findRoute(maze);
+        assertFalse(published.isEmpty());
+        assertTrue(published.get(0).getBound() <= 5.0);
+        for (int i = 0; i < published.size(); i++) {
+            AnytimeSearch.Solution solution = published.get(i);
+            assertTrue(solution.getCost() <= solution.getBound() * cheapest + 1e-9);
+            if (i > 0) {
+                assertTrue(solution.getBound() <= published.get(i - 1).getBound());
+            }
+        }
+    }
+
+    @Test
+    public void ensureZeroBudgetStillReturnsRoute() {
+        Maze maze = load("../mazes/maze3.txt");
+        AnytimeSearch search = new AnytimeSearch(4.0, 1.0, 0);
+        List<Tile> route = search.findRoute(maze);
+        assertSame(maze.getExit(), route.get(route.size() - 1));
+        assertNotNull(search.getBest());
+    }
+}
@@ -0,0 +1,119 @@
+package tests.dev;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import maze.BinaryFormat;
+import maze.Maze;
+import maze.NoEntranceException;
+import maze.PackedGrid;
+import maze.generation.EllerGenerator;
+import maze.generation.KruskalGenerator;
+
+public class BinaryFormatTest {
+
+    private byte[] write(PackedGrid grid) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryFormat.write(grid, Channels.newChannel(out));
+        return out.toByteArray();
+    }
+
+    private void assertSameGrid(PackedGrid expected, PackedGrid actual) {
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    // ~~~~~~~~~~ Functionality tests ~~~~~~~~~~
+
+    @Test
+    public void ensureMazeSurvivesRoundTrip() throws Exception {
+        Maze maze = Maze.fromKruskal(37, 23, 8);
+        Path file = Files.createTempFile("binary", ".maze");
+        try {
+            maze.toBinary(file.toString());
+            Maze loaded = Maze.fromBinary(file.toString());
+            assertEquals(maze.toString(), loaded.toString());
+            assertEquals(maze.getTileLocation(maze.getExit()).toString(),
+                         loaded.getTileLocation(loaded.getExit()).toString());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void ensureOddWidthsSurviveRoundTrip() throws Exception {
+        for (int width = 3; width <= 21; width++) {
+            PackedGrid grid = KruskalGenerator.generate(width, 5, width);
+            assertSameGrid(grid, BinaryFormat.read(ByteBuffer.wrap(write(grid))));
+        }
+    }
+
+    @Test
+    public void ensureTerrainAndExitsAreKept() throws Exception {
+        PackedGrid grid = new PackedGrid(6, 3);
+        grid.set(0, 0, PackedGrid.ENTRANCE);
+        grid.set(5, 0, PackedGrid.EXIT);
+        grid.set(5, 2, PackedGrid.EXIT);
+        grid.set(1, 1, PackedGrid.ROUGH);
+        grid.set(2, 1, PackedGrid.MUD);
+        grid.set(3, 1, PackedGrid.WATER);
+        grid.set(4, 1, PackedGrid.WALL);
+        assertSameGrid(grid, BinaryFormat.read(ByteBuffer.wrap(write(grid))));
+    }
+
+    @Test
+    public void ensureFileIsAnEighthOfText() throws Exception {
+        Path text = Files.createTempFile("binary", ".txt");
+        try {
+            EllerGenerator.write(200, 200, 2, text);
+            byte[] binary = write(Maze.fromTxt(text.toString()).getGrid());
+            assertTrue(binary.length * 7 < Files.size(text));
+        } finally {
+            Files.delete(text);
+        }
+    }
+
+    // ~~~~~~~~~~ Error tests ~~~~~~~~~~
+
+    @Test(expected = IOException.class)
+    public void ensureChangedByteFailsChecksum() throws Exception {
+        byte[] bytes = write(KruskalGenerator.generate(9, 9, 1));
+        bytes[bytes.length - 3] ^= 4;
+        BinaryFormat.read(ByteBuffer.wrap(bytes));
+    }
+
+    @Test(expected = IOException.class)
+    public void ensureTruncatedFileIsRejected() throws Exception {
+        byte[] bytes = write(KruskalGenerator.generate(9, 9, 1));
+        BinaryFormat.read(ByteBuffer.wrap(bytes, 0, bytes.length - 1));
+    }
+
+    @Test(expected = IOException.class)
+    public void ensureTextFileIsRejected() throws Exception {
+        BinaryFormat.read(ByteBuffer.wrap("e.#\n#.x\n................................".getBytes()));
+    }
+
+    @Test(expected = IOException.class)
+    public void ensureUnknownVersionIsRejected() throws Exception {
+        byte[] bytes = write(KruskalGenerator.generate(9, 9, 1));
+        bytes[4] = 99;
+        BinaryFormat.read(ByteBuffer.wrap(bytes));
+    }
+
+    @Test(expected = NoEntranceException.class)
+    public void ensureGridWithoutEntranceIsNotWritten() throws Exception {
+        PackedGrid grid = new PackedGrid(3, 3);
+        grid.set(2, 2, PackedGrid.EXIT);
+        write(grid);
+    }
+}
@@ -0,0 +1,104 @@
+package tests.dev;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import maze.Maze;
+import maze.PackedGrid;
+import maze.Tile;
+import maze.generation.Braider;
+import maze.generation.KruskalGenerator;
+import maze.routing.BreadthFirstSearch;
+
+public class BraiderTest {
+
+    private int countDeadEnds(PackedGrid grid) {
+        int deadEnds = 0;
+        for (int i = 0; i < grid.size(); i++) {
+            if (grid.get(i) != PackedGrid.CORRIDOR) continue;
+            int open = 0;
+            for (Maze.Direction direction: Maze.Direction.values()) {
+                int neighbour = grid.neighbour(i, direction);
+                if (neighbour != -1 && grid.isNavigable(neighbour)) open++;
+            }
+            if (open == 1) deadEnds++;
+        }
+        return deadEnds;
+    }
+
+    // ~~~~~~~~~~ Functionality tests ~~~~~~~~~~
+
+    @Test
+    public void ensureFullBraidRemovesEveryDeadEnd() {
+        PackedGrid grid = KruskalGenerator.generate(61, 61, 3);
+        assertTrue(countDeadEnds(grid) > 0);
+        Braider.braid(grid, 1, 3);
+        assertEquals(0, countDeadEnds(grid));
+    }
+
+    @Test
+    public void ensureFractionControlsDeadEndsRemoved() {
+        PackedGrid grid = KruskalGenerator.generate(101, 101, 8);
+        int before = countDeadEnds(grid);
+        int removed = Braider.braid(grid, 0.5, 8);
+        long target = Math.round(before * 0.5);
+        assertTrue(removed == target || removed == target + 1);
+        assertEquals(before - removed, countDeadEnds(grid));
+    }
+
+    @Test
+    public void ensureNoBraidLeavesGridUnchanged() {
+        PackedGrid grid = KruskalGenerator.generate(41, 41, 1);
+        PackedGrid copy = KruskalGenerator.generate(41, 41, 1);
+        assertEquals(0, Braider.braid(grid, 0, 1));
+        for (int i = 0; i < grid.size(); i++) {
+            assertEquals(copy.get(i), grid.get(i));
+        }
+    }
+
+    @Test
+    public void ensureBraidKeepsOuterWalls() {
+        PackedGrid grid = KruskalGenerator.generate(51, 31, 6);
+        Braider.braid(grid, 1, 6);
+        for (int column = 0; column < grid.getWidth(); column++) {
+            assertNotEquals(PackedGrid.CORRIDOR, grid.get(column, 0));
+            assertNotEquals(PackedGrid.CORRIDOR, grid.get(column, grid.getHeight() - 1));
+        }
+        for (int row = 0; row < grid.getHeight(); row++) {
+            assertEquals(PackedGrid.WALL, grid.get(0, row));
+            assertEquals(PackedGrid.WALL, grid.get(grid.getWidth() - 1, row));
+        }
+    }
+
+    @Test
+    public void ensureBraidedMazeIsCopiedAndRouteNoLonger() {
+        Maze maze = Maze.fromKruskal(81, 81, 12);
+        Maze braided = Maze.braid(maze, 1, 12);
+        assertNotSame(maze, braided);
+        assertTrue(countDeadEnds(maze.getGrid()) > 0);
+        assertEquals(0, countDeadEnds(braided.getGrid()));
+        List<Tile> original = new BreadthFirstSearch().findRoute(maze);
+        List<Tile> shortcut = new BreadthFirstSearch().findRoute(braided);
+        assertTrue(shortcut.size() <= original.size());
+    }
+
+    @Test
+    public void ensureBraidedMazeKeepsEveryExit() throws Exception {
+        String text = "#######\n#e....x\n#.###.#\n#.#...#\n#.#.###\n#...#x#\n#######\n";
+        Maze maze = Maze.fromTxt(new ByteArrayInputStream(text.getBytes()), true);
+        Maze braided = Maze.braid(maze, 1, 4);
+        assertEquals(2, braided.getExits().size());
+        assertEquals(maze.getTileLocation(maze.getExit()).toString(),
+                     braided.getTileLocation(braided.getExit()).toString());
+    }
+
+    // ~~~~~~~~~~ Error tests ~~~~~~~~~~
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ensureFractionAboveOneIsRejected() {
+        Braider.braid(new PackedGrid(5, 5), 1.5, 0);
+    }
+}
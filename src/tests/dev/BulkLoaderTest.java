@@ -0,0 +1,97 @@
+package tests.dev;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import maze.BulkLoader;
+import maze.InvalidMazeException;
+import maze.Maze;
+import maze.MultipleEntranceException;
+import maze.MultipleExitException;
+import maze.NoEntranceException;
+import maze.NoExitException;
+import maze.RaggedMazeException;
+
+public class BulkLoaderTest {
+
+    private Map<String, BulkLoader.Result> byName(BulkLoader.Report report) {
+        Map<String, BulkLoader.Result> results = new HashMap<>();
+        for (BulkLoader.Result result: report.getResults()) {
+            results.put(result.getFile().getFileName().toString(), result);
+        }
+        return results;
+    }
+
+    // ~~~~~~~~~~ Functionality tests ~~~~~~~~~~
+
+    @Test
+    public void ensureEveryFileIsReported() throws Exception {
+        BulkLoader.Report report = new BulkLoader(3, 64L << 20).load(Paths.get("../mazes"));
+        Map<String, BulkLoader.Result> results = byName(report);
+        assertEquals(10, report.getResults().size());
+        assertEquals(4, report.getValid());
+        assertEquals(6, report.getInvalid());
+        assertTrue(report.getFilesPerSecond() > 0);
+        assertTrue(report.toString().contains("files/s"));
+
+        Maze maze = Maze.fromTxt("../mazes/maze1.txt");
+        BulkLoader.Result maze1 = results.get("maze1.txt");
+        assertTrue(maze1.isValid());
+        assertEquals(maze.getGrid().getWidth(), maze1.getWidth());
+        assertEquals(maze.getGrid().getHeight(), maze1.getHeight());
+        assertEquals(1, maze1.getExits());
+    }
+
+    @Test
+    public void ensureInvalidFilesGiveTheirException() throws Exception {
+        Map<String, BulkLoader.Result> results = byName(
+            new BulkLoader(2, 64L << 20).load(Paths.get("../mazes/invalid")));
+        assertEquals(InvalidMazeException.class, results.get("invalidChar.txt").getError().getClass());
+        assertEquals(MultipleEntranceException.class,
+                     results.get("multipleEntrance.txt").getError().getClass());
+        assertEquals(MultipleExitException.class,
+                     results.get("multipleExit.txt").getError().getClass());
+        assertEquals(NoEntranceException.class, results.get("noEntrance.txt").getError().getClass());
+        assertEquals(NoExitException.class, results.get("noExit.txt").getError().getClass());
+        assertEquals(RaggedMazeException.class, results.get("ragged.txt").getError().getClass());
+        assertTrue(results.get("ragged.txt").toString().contains("RaggedMazeException"));
+    }
+
+    @Test
+    public void ensureSmallBudgetStillLoadsEveryFile() throws Exception {
+        List<Path> files = Arrays.asList(Paths.get("../mazes/maze1.txt"),
+                                         Paths.get("../mazes/maze2.txt"),
+                                         Paths.get("../mazes/maze3.txt"));
+        BulkLoader.Report report = new BulkLoader(4, 1024).load(files);
+        assertEquals(3, report.getValid());
+        assertEquals(files.get(1), report.getResults().get(1).getFile());
+    }
+
+    // ~~~~~~~~~~ Error tests ~~~~~~~~~~
+
+    @Test
+    public void ensureMissingFileIsReported() throws Exception {
+        BulkLoader.Report report = new BulkLoader(1, 1 << 20).load(
+            Arrays.asList(Paths.get("../mazes/missing.txt")));
+        assertFalse(report.getResults().get(0).isValid());
+        assertNotNull(report.getResults().get(0).getError());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ensureNoThreadsIsRejected() {
+        new BulkLoader(0, 1 << 20);
+    }
+
+    @Test(expected = java.io.IOException.class)
+    public void ensureMissingDirectoryIsRejected() throws Exception {
+        new BulkLoader(1, 1 << 20).load(Paths.get("../mazes/missing"));
+    }
+}
@@ -0,0 +1,84 @@
+package tests.dev;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import maze.ByteClassifier;
+import maze.ScalarClassifier;
+
+public class ByteClassifierTest {
+
+    private static final String TILES = "..........####,~%ex";
+
+    // ~~~~~~~~~~ Functionality tests ~~~~~~~~~~
+
+    @Test
+    public void ensureScalarClassifierCountsAndMarksWalls() {
+        byte[] row = "e.#,~%#x..#".getBytes(StandardCharsets.US_ASCII);
+        long[] walls = new long[1];
+        int[] counts = new int[2];
+        assertEquals(-1, new ScalarClassifier().scan(row, 0, row.length, walls, counts));
+        assertEquals(1, counts[ByteClassifier.ENTRANCES]);
+        assertEquals(1, counts[ByteClassifier.EXITS]);
+        assertEquals((1L << 2) | (1L << 6) | (1L << 10), walls[0]);
+    }
+
+    @Test
+    public void ensureScanStopsAtFirstInvalidByte() {
+        byte[] row = "##e.\n#x?".getBytes(StandardCharsets.US_ASCII);
+        long[] walls = new long[1];
+        int[] counts = new int[2];
+        assertEquals(4, new ScalarClassifier().scan(row, 0, row.length, walls, counts));
+        assertEquals(1, counts[ByteClassifier.ENTRANCES]);
+        assertEquals(0, counts[ByteClassifier.EXITS]);
+        assertEquals(3L, walls[0]);
+    }
+
+    @Test
+    public void ensureWallsAreRelativeToStartOfRange() {
+        byte[] row = "??..#".getBytes(StandardCharsets.US_ASCII);
+        long[] walls = new long[1];
+        assertEquals(-1, new ScalarClassifier().scan(row, 2, row.length, walls, new int[2]));
+        assertEquals(1L << 2, walls[0]);
+    }
+
+    @Test
+    public void ensureLoadedClassifierMatchesScalar() {
+        ByteClassifier scalar = new ScalarClassifier();
+        ByteClassifier loaded = ByteClassifier.load();
+        // Set by the run with the Vector API module, which must not fall back
+        if (Boolean.getBoolean("maze.expectVector")) {
+            assertTrue(loaded.getName(), loaded.getName().startsWith("vector"));
+        }
+        Random random = new Random(5);
+        for (int trial = 0; trial < 500; trial++) {
+            byte[] bytes = new byte[random.nextInt(300) + 1];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = (byte) TILES.charAt(random.nextInt(TILES.length()));
+            }
+            if (trial % 2 == 0) {
+                bytes[random.nextInt(bytes.length)] = (byte) "?\n\r ".charAt(trial % 4);
+            }
+            int from = random.nextInt(bytes.length);
+            long[] expectedWalls = new long[(bytes.length - from + 63) / 64];
+            long[] walls = new long[expectedWalls.length];
+            int[] expectedCounts = new int[2];
+            int[] counts = new int[2];
+            assertEquals(scalar.scan(bytes, from, bytes.length, expectedWalls, expectedCounts),
+                         loaded.scan(bytes, from, bytes.length, walls, counts));
+            assertArrayEquals(expectedWalls, walls);
+            assertArrayEquals(expectedCounts, counts);
+        }
+    }
+
+    @Test
+    public void ensureWallsCanBeSkipped() {
+        byte[] row = "e#x".getBytes(StandardCharsets.US_ASCII);
+        int[] counts = new int[2];
+        assertEquals(-1, ByteClassifier.load().scan(row, 0, row.length, null, counts));
+        assertEquals(1, counts[ByteClassifier.EXITS]);
+    }
+}
@@ -0,0 +1,71 @@
+package tests.dev;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import maze.Maze;
+import maze.PackedGrid;
+import maze.generation.CaveGenerator;
+import maze.routing.RouteFinder;
+
+public class CaveGeneratorTest {
+
+    // ~~~~~~~~~~ Functionality tests ~~~~~~~~~~
+
+    @Test
+    public void ensureNeighbourCountsTreatOutsideAsWall() {
+        // Open edge tiles have three outside neighbours and corners five, so
+        // a rule which only grows walls on three walls the edges
+        for (int width: new int[] {5, 64, 65, 130}) {
+            PackedGrid grid = CaveGenerator.generate(width, 5, 1, 0, 1 << 3, 0x1FF, 1);
+            for (int row = 0; row < 5; row++) {
+                for (int column = 0; column < width; column++) {
+                    boolean edge = row == 0 || row == 4 || column == 0 || column == width - 1;
+                    assertEquals(!edge, grid.isNavigable(grid.index(column, row)));
+                }
+            }
+            assertEquals(PackedGrid.ENTRANCE, grid.get(1, 1));
+            assertEquals(PackedGrid.EXIT, grid.get(width - 2, 3));
+        }
+    }
+
+    @Test
+    public void ensureOnlyLargestRegionIsKept() {
+        PackedGrid grid = CaveGenerator.generate(300, 200, 4);
+        int[] distances = grid.distancesFrom(grid.indexOf(PackedGrid.ENTRANCE));
+        int open = 0;
+        for (int i = 0; i < grid.size(); i++) {
+            if (grid.isNavigable(i)) {
+                open++;
+                assertTrue(distances[i] >= 0);
+            }
+        }
+        assertTrue(open > grid.size() / 4);
+    }
+
+    @Test
+    public void ensureCaveIsSolvedByRouteFinder() {
+        Maze maze = Maze.fromCave(60, 40, 8);
+        RouteFinder finder = new RouteFinder(maze);
+        while (!finder.step()) {
+        }
+        assertTrue(finder.isFinished());
+        assertEquals(Long.valueOf(8), maze.getSeed());
+    }
+
+    @Test
+    public void ensureSameSeedGivesSameCave() {
+        PackedGrid first = CaveGenerator.generate(257, 129, 21);
+        PackedGrid second = CaveGenerator.generate(257, 129, 21);
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(i), second.get(i));
+        }
+    }
+
+    // ~~~~~~~~~~ Error tests ~~~~~~~~~~
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ensureSolidCaveIsRejected() {
+        CaveGenerator.generate(50, 50, 1, 1, 0x1FF, 0x1FF, 2);
+    }
+}
@@ -0,0 +1,121 @@
+package tests.dev;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import maze.Maze;
+import maze.PackedGrid;
+import maze.generation.CorpusPipeline;
+import maze.generation.KruskalGenerator;
+
+public class CorpusPipelineTest {
+
+    private void delete(Path directory) throws Exception {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private String toText(PackedGrid grid) {
+        StringBuilder text = new StringBuilder();
+        for (int row = 0; row < grid.getHeight(); row++) {
+            if (row > 0) text.append('\n');
+            for (int column = 0; column < grid.getWidth(); column++) {
+                text.append(PackedGrid.symbolOf(grid.get(column, row)));
+            }
+        }
+        return text.toString();
+    }
+
+    // ~~~~~~~~~~ Functionality tests ~~~~~~~~~~
+
+    @Test
+    public void ensureCorpusIsShardedAndReproducible() throws Exception {
+        Path directory = Files.createTempDirectory("corpus");
+        try {
+            CorpusPipeline pipeline = new CorpusPipeline("kruskal", 21, 15, 2, 4, 16);
+            CorpusPipeline.Report report = pipeline.run(50, 99, directory);
+            assertEquals(50, report.getWritten() + report.getRejected());
+            assertTrue(Files.exists(directory.resolve(CorpusPipeline.shardName(3))));
+            assertFalse(Files.exists(directory.resolve(CorpusPipeline.shardName(4))));
+
+            List<String> lines = Files.readAllLines(directory.resolve(CorpusPipeline.MANIFEST));
+            assertEquals(52, lines.size());
+            assertTrue(lines.get(0).contains("generator=kruskal"));
+            for (String line: lines.subList(2, lines.size())) {
+                String[] fields = line.split(",");
+                long index = Long.parseLong(fields[0]);
+                long seed = Long.parseLong(fields[1]);
+                assertEquals(CorpusPipeline.seedOf(99, index), seed);
+                byte[] shard = Files.readAllBytes(directory.resolve(fields[2]));
+                String text = new String(shard, Integer.parseInt(fields[3]),
+                                         Integer.parseInt(fields[4]), StandardCharsets.US_ASCII);
+                assertEquals(toText(KruskalGenerator.generate(21, 15, seed)), text);
+            }
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void ensureShardedMazesLoadWithFromTxt() throws Exception {
+        Path directory = Files.createTempDirectory("corpus");
+        try {
+            new CorpusPipeline("cave", 30, 20, 1, 1, 100).run(3, 5, directory);
+            List<String> lines = Files.readAllLines(directory.resolve(CorpusPipeline.MANIFEST));
+            String[] fields = lines.get(3).split(",");
+            byte[] shard = Files.readAllBytes(directory.resolve(fields[2]));
+            Path single = directory.resolve("single.txt");
+            Files.write(single, Arrays.copyOfRange(shard, Integer.parseInt(fields[3]),
+                        Integer.parseInt(fields[3]) + Integer.parseInt(fields[4])));
+            Maze maze = Maze.fromTxt(single.toString());
+            assertEquals(20, maze.getTiles().size());
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void ensureQueueDepthNeverPassesCapacity() throws Exception {
+        Path directory = Files.createTempDirectory("corpus");
+        try {
+            List<CorpusPipeline.Report> reports = new ArrayList<CorpusPipeline.Report>();
+            CorpusPipeline pipeline = new CorpusPipeline("prim", 11, 11, 3, 2, 1000);
+            pipeline.addListener(reports::add);
+            CorpusPipeline.Report report = pipeline.run(2500, 1, directory);
+            assertEquals(3, reports.size());
+            assertSame(report, reports.get(2));
+            assertTrue(report.getMaxQueueDepth() <= 2);
+            assertTrue(report.getMazesPerSecond() > 0);
+        } finally {
+            delete(directory);
+        }
+    }
+
+    // ~~~~~~~~~~ Error tests ~~~~~~~~~~
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ensureUnknownGeneratorIsRejected() {
+        new CorpusPipeline("maze", 11, 11, 1, 1, 1);
+    }
+
+    @Test(expected = java.io.IOException.class)
+    public void ensureWorkerFailureIsReported() throws Exception {
+        Path directory = Files.createTempDirectory("corpus");
+        try {
+            // Too small for the generator, so every worker throws
+            new CorpusPipeline("kruskal", 2, 2, 2, 2, 10).run(5, 1, directory);
+        } finally {
+            delete(directory);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package tests.dev;
+
+import java.util.List;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import maze.Maze;
+import maze.PackedGrid;
+import maze.Tile;
+import maze.routing.AStarSearch;
+import maze.routing.DijkstraSearch;
+
+public class DijkstraSearchTest {
+
+    // ~~~~~~~~~~ Utility Functions ~~~~~~~~~~
+
+    private Maze load(String filename) {
+        try {
+            return Maze.fromTxt(filename);
+        } catch (Exception e) {
+            fail(e.getClass().getName() + ": " + e.getMessage());
+        }
+        return null;
+    }
+
+    private int routeCost(List<Tile> route) {
+        int cost = 0;
+        for (Tile tile: route.subList(1, route.size())) {
+            cost += tile.getCost();
+        }
+        return cost;
+    }
+
+    // ~~~~~~~~~~ Functionality tests ~~~~~~~~~~
+
+    @Test
+    public void ensureWeightedTilesAreLoaded() {
+        Maze maze = load("../mazes/weighted.txt");
+        Tile mud = maze.getTiles().get(1).get(3);
+        assertSame(Tile.Type.MUD, mud.getType());
+        assertEquals(4, mud.getCost());
+        assertTrue(mud.isNavigable());
+        assertEquals("~", mud.toString());
+    }
+
+    @Test
+    public void ensureDijkstraAvoidsExpensiveTerrain() {
+        Maze maze = load("../mazes/weighted.txt");
+        DijkstraSearch search = new DijkstraSearch();
+        List<Tile> route = search.findRoute(maze);
+        assertEquals(12, search.getCost());
+        assertEquals(12, routeCost(route));
+        assertEquals(13, route.size());
+        for (Tile tile: route) {
+            assertNotSame(Tile.Type.MUD, tile.getType());
+        }
+    }
+
+    @Test
+    public void ensureAStarAgreesWithDijkstraOnCost() {
+        Maze maze = load("../mazes/weighted.txt");
+        assertEquals(12, routeCost(new AStarSearch().findRoute(maze)));
+    }
+
+    @Test
+    public void ensureDijkstraFindsShortestRouteWithoutTerrain() {
+        Maze maze = load("../mazes/maze3.txt");
+        PackedGrid grid = maze.getGrid();
+        int[] distances = grid.distancesFrom(grid.indexOf(PackedGrid.ENTRANCE));
+        List<Tile> route = new DijkstraSearch().findRoute(maze);
+        assertEquals(distances[grid.indexOf(PackedGrid.EXIT)] + 1, route.size());
+        assertSame(maze.getEntrance(), route.get(0));
+        assertSame(maze.getExit(), route.get(route.size() - 1));
+    }
+}
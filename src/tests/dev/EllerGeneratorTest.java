@@ -0,0 +1,91 @@
+package tests.dev;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import maze.Maze;
+import maze.PackedGrid;
+import maze.Tile;
+import maze.generation.EllerGenerator;
+import maze.routing.BreadthFirstSearch;
+
+public class EllerGeneratorTest {
+
+    private Maze generate(int columns, int rows, long seed) throws Exception {
+        Path file = Files.createTempFile("eller", ".txt");
+        try {
+            EllerGenerator.write(columns, rows, seed, file);
+            return Maze.fromTxt(file.toString());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    // ~~~~~~~~~~ Functionality tests ~~~~~~~~~~
+
+    @Test
+    public void ensureOutputLoadsWithEntranceAndExitInBorders() throws Exception {
+        Maze maze = generate(20, 12, 3);
+        List<List<Tile>> tiles = maze.getTiles();
+        assertEquals(25, tiles.size());
+        assertEquals(41, tiles.get(0).size());
+        assertSame(maze.getEntrance(), tiles.get(0).get(1));
+        assertSame(maze.getExit(), tiles.get(24).get(39));
+    }
+
+    @Test
+    public void ensureGeneratedMazeIsSolvable() throws Exception {
+        Maze maze = generate(60, 45, 11);
+        List<Tile> route = new BreadthFirstSearch().findRoute(maze);
+        assertSame(maze.getEntrance(), route.get(0));
+        assertSame(maze.getExit(), route.get(route.size() - 1));
+    }
+
+    @Test
+    public void ensureGeneratedMazeIsPerfect() throws Exception {
+        // A spanning tree of the cells has exactly one fewer opening than cells
+        int columns = 30;
+        int rows = 25;
+        PackedGrid grid = generate(columns, rows, 5).getGrid();
+        int openings = 0;
+        for (int row = 1; row < grid.getHeight() - 1; row++) {
+            for (int column = 1; column < grid.getWidth() - 1; column++) {
+                if ((row + column) % 2 == 1 && grid.isNavigable(grid.index(column, row))) {
+                    openings++;
+                }
+            }
+        }
+        assertEquals(columns * rows - 1, openings);
+    }
+
+    @Test
+    public void ensureSingleCellMazeIsSolvable() throws Exception {
+        Maze maze = generate(1, 1, 0);
+        assertEquals(3, new BreadthFirstSearch().findRoute(maze).size());
+    }
+
+    @Test
+    public void ensureSameSeedWritesSameFile() throws Exception {
+        Path first = Files.createTempFile("eller", ".txt");
+        Path second = Files.createTempFile("eller", ".txt");
+        try {
+            EllerGenerator.write(200, 150, 42, first);
+            EllerGenerator.write(200, 150, 42, second);
+            assertArrayEquals(Files.readAllBytes(first), Files.readAllBytes(second));
+        } finally {
+            Files.delete(first);
+            Files.delete(second);
+        }
+    }
+
+    // ~~~~~~~~~~ Error tests ~~~~~~~~~~
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ensureEmptyMazeIsRejected() throws Exception {
+        generate(0, 5, 1);
+    }
+}
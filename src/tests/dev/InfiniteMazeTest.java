@@ -0,0 +1,102 @@
+package tests.dev;
+
+import java.util.List;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import maze.InfiniteMaze;
+import maze.Maze;
+import maze.PackedGrid;
+import maze.Tile;
+import maze.routing.BreadthFirstSearch;
+
+public class InfiniteMazeTest {
+
+    private static final int CHUNK = InfiniteMaze.CHUNK_SIZE;
+
+    // ~~~~~~~~~~ Functionality tests ~~~~~~~~~~
+
+    @Test
+    public void ensureChunksAreGeneratedLazilyAndEvicted() {
+        InfiniteMaze maze = new InfiniteMaze(1, 2);
+        assertEquals(0, maze.getLoadedChunks());
+        maze.get(5, 5);
+        maze.get(CHUNK + 5, 5);
+        maze.get(2 * CHUNK + 5, 5);
+        assertEquals(2, maze.getLoadedChunks());
+        assertEquals(3, maze.getGeneratedChunks());
+        maze.get(5, 5);
+        assertEquals(4, maze.getGeneratedChunks());
+        assertEquals(2, maze.getLoadedChunks());
+    }
+
+    @Test
+    public void ensureEvictedChunksComeBackTheSame() {
+        InfiniteMaze small = new InfiniteMaze(42, 1);
+        InfiniteMaze large = new InfiniteMaze(42, 100);
+        for (int row = -CHUNK; row < CHUNK; row += 7) {
+            for (int column = -CHUNK; column < 2 * CHUNK; column += 3) {
+                assertEquals(large.get(column, row), small.get(column, row));
+            }
+        }
+        assertTrue(small.getGeneratedChunks() > large.getGeneratedChunks());
+    }
+
+    @Test
+    public void ensureDifferentSeedsGiveDifferentMazes() {
+        InfiniteMaze first = new InfiniteMaze(1);
+        InfiniteMaze second = new InfiniteMaze(2);
+        int differences = 0;
+        for (int column = 0; column < CHUNK; column++) {
+            if (first.get(column, 1) != second.get(column, 1)) differences++;
+        }
+        assertTrue(differences > 0);
+    }
+
+    @Test
+    public void ensureWindowAcrossChunksIsConnected() {
+        InfiniteMaze world = new InfiniteMaze(7, 4);
+        int size = 3 * CHUNK;
+        Maze maze = world.window(-CHUNK, -CHUNK, size, size, 1, 1, size - 1, size - 1);
+        List<List<Tile>> tiles = maze.getTiles();
+        assertSame(maze.getEntrance(), tiles.get(1).get(1));
+        assertSame(maze.getExit(), tiles.get(size - 1).get(size - 1));
+        List<Tile> route = new BreadthFirstSearch().findRoute(maze);
+        assertSame(maze.getExit(), route.get(route.size() - 1));
+    }
+
+    @Test
+    public void ensureWindowMatchesTiles() {
+        InfiniteMaze world = new InfiniteMaze(3);
+        Maze maze = world.window(200, -100, 150, 120, 1, 1, 3, 3);
+        PackedGrid grid = maze.getGrid();
+        for (int row = 0; row < 120; row++) {
+            for (int column = 0; column < 150; column++) {
+                assertEquals(world.isNavigable(200 + column, row - 100),
+                             grid.isNavigable(grid.index(column, row)));
+            }
+        }
+    }
+
+    @Test
+    public void ensureNeighbourQueryCrossesChunkBorder() {
+        InfiniteMaze world = new InfiniteMaze(9);
+        for (int row = 0; row < CHUNK; row++) {
+            assertEquals(world.isNavigable(CHUNK, row),
+                         world.isNavigable(CHUNK - 1, row, Maze.Direction.EAST));
+        }
+    }
+
+    // ~~~~~~~~~~ Error tests ~~~~~~~~~~
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ensureEntranceOnWallIsRejected() {
+        new InfiniteMaze(1).window(0, 0, 10, 10, 0, 0, 1, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ensureZeroChunkCapIsRejected() {
+        new InfiniteMaze(1, 0);
+    }
+}
@@ -0,0 +1,93 @@
+package tests.dev;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import maze.Maze;
+import maze.PackedGrid;
+import maze.Tile;
+import maze.routing.AStarSearch;
+import maze.routing.Landmarks;
+
+public class LandmarksTest {
+
+    // ~~~~~~~~~~ Utility Functions ~~~~~~~~~~
+
+    private Maze load(String filename) {
+        try {
+            return Maze.fromTxt(filename);
+        } catch (Exception e) {
+            fail(e.getClass().getName() + ": " + e.getMessage());
+        }
+        return null;
+    }
+
+    private int shortestLength(Maze maze) {
+        PackedGrid grid = maze.getGrid();
+        int[] distances = grid.distancesFrom(grid.indexOf(PackedGrid.ENTRANCE));
+        return distances[grid.indexOf(PackedGrid.EXIT)] + 1;
+    }
+
+    // ~~~~~~~~~~ Functionality tests ~~~~~~~~~~
+
+    @Test
+    public void ensureAStarFindsShortestRoute() {
+        Maze maze = load("../mazes/maze3.txt");
+        List<Tile> route = new AStarSearch().findRoute(maze);
+        assertEquals(shortestLength(maze), route.size());
+        assertSame(maze.getEntrance(), route.get(0));
+        assertSame(maze.getExit(), route.get(route.size() - 1));
+    }
+
+    @Test
+    public void ensureLandmarkEstimateNeverOverestimates() {
+        Maze maze = load("../mazes/maze3.txt");
+        PackedGrid grid = maze.getGrid();
+        Landmarks landmarks = Landmarks.compute(maze, 4);
+        assertEquals(4, landmarks.getCount());
+        for (int from = 0; from < grid.size(); from++) {
+            int[] distances = grid.distancesFrom(from);
+            for (int to = 0; to < grid.size(); to++) {
+                if (distances[to] != -1) {
+                    assertTrue(landmarks.estimate(grid, from, to) <= distances[to]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void ensureLandmarksReduceExpansions() {
+        Maze maze = load("../mazes/maze3.txt");
+        AStarSearch manhattan = new AStarSearch();
+        AStarSearch alt = new AStarSearch(Landmarks.compute(maze, 4));
+        List<Tile> first = manhattan.findRoute(maze);
+        List<Tile> second = alt.findRoute(maze);
+        assertEquals(first.size(), second.size());
+        assertTrue(alt.getExpanded() <= manhattan.getExpanded());
+    }
+
+    @Test
+    public void ensureSavedLandmarksMatchMaze() throws Exception {
+        Maze maze = load("../mazes/maze2.txt");
+        File file = File.createTempFile("maze2", ".landmarks");
+        file.deleteOnExit();
+        Landmarks.compute(maze, 2).save(file.getPath());
+        Landmarks loaded = Landmarks.load(file.getPath());
+        assertTrue(loaded.matches(maze));
+        assertFalse(loaded.matches(load("../mazes/maze1.txt")));
+    }
+
+    @Test
+    public void ensureUnsavableLandmarksAreStillReturned() throws Exception {
+        Maze maze = load("../mazes/maze2.txt");
+        File directory = File.createTempFile("landmarks", "");
+        directory.delete();
+        String file = new File(directory, "maze2.landmarks").getPath();
+        Landmarks tables = Landmarks.forMaze(maze, file, 2);
+        assertTrue(tables.matches(maze));
+        assertFalse(new File(file).exists());
+    }
+}
@@ -0,0 +1,113 @@
+package tests.dev;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import maze.Maze;
+import maze.Tile;
+import maze.routing.RouteFinder;
+
+public class MazeWriterTest {
+
+    // The rendering toString used before it was streamed
+    private String expected(Maze maze, List<Tile> route, List<Tile> checked) {
+        String output = "";
+        List<List<Tile>> tiles = maze.getTiles();
+        for (int i = 0; i < tiles.size(); i++) {
+            output = output + (tiles.size() - (i + 1)) + " ";
+            for (Tile tile: tiles.get(i)) {
+                if (route.contains(tile)) {
+                    output = output + "* ";
+                } else if (checked.contains(tile)) {
+                    output = output + "- ";
+                } else {
+                    output = output + tile + " ";
+                }
+            }
+            output = output + "\n";
+        }
+        output = output + "\n  ";
+        for (int k = 0; k < tiles.get(0).size(); k++) {
+            output = output + k + " ";
+        }
+        return output;
+    }
+
+    private String toChannel(Maze maze) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        maze.writeTo(Channels.newChannel(out));
+        return new String(out.toByteArray(), StandardCharsets.US_ASCII);
+    }
+
+    // ~~~~~~~~~~ Functionality tests ~~~~~~~~~~
+
+    @Test
+    public void ensureMazeOutputIsUnchanged() throws Exception {
+        for (String file: new String[] {"../mazes/maze1.txt", "../mazes/maze3.txt",
+                                        "../mazes/weighted.txt"}) {
+            Maze maze = Maze.fromTxt(file);
+            String expected = expected(maze, List.of(), List.of());
+            assertEquals(expected, maze.toString());
+            StringWriter writer = new StringWriter();
+            maze.writeTo(writer);
+            assertEquals(expected, writer.toString());
+            assertEquals(expected, toChannel(maze));
+        }
+    }
+
+    @Test
+    public void ensureRouteOutputIsUnchanged() throws Exception {
+        Maze maze = Maze.fromKruskal(13, 11, 4);
+        RouteFinder finder = new RouteFinder(maze);
+        for (int steps = 0; steps < 40 && !finder.isFinished(); steps++) {
+            finder.step();
+            String expected = expected(maze, finder.getRoute(), finder.getChecked());
+            assertEquals(expected, finder.toString());
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            finder.writeTo(Channels.newChannel(out));
+            assertEquals(expected, new String(out.toByteArray(), StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test
+    public void ensureOutputShowsEditedTiles() throws Exception {
+        Maze maze = Maze.fromTxt("../mazes/maze1.txt");
+        maze.getGrid();
+        Tile wall = maze.getTiles().get(0).get(1);
+        maze.getTiles().get(1).set(1, wall);
+        String expected = expected(maze, List.of(), List.of());
+        assertEquals(expected, maze.toString());
+        assertEquals(expected, toChannel(maze));
+        RouteFinder finder = new RouteFinder(maze);
+        finder.step();
+        assertEquals(expected(maze, finder.getRoute(), finder.getChecked()), finder.toString());
+    }
+
+    @Test
+    public void ensureOutputLargerThanABlockIsComplete() throws Exception {
+        Maze maze = Maze.fromKruskal(301, 301, 2);
+        assertEquals(maze.toString(), toChannel(maze));
+    }
+
+    @Test
+    public void ensureLargeRouteIsWrittenQuickly() throws Exception {
+        Maze maze = Maze.fromKruskal(2001, 2001, 6);
+        RouteFinder finder = new RouteFinder(maze);
+        while (!finder.isFinished() && finder.getChecked().size() < 5000) {
+            finder.step();
+        }
+        long start = System.nanoTime();
+        String output = finder.toString();
+        assertTrue(System.nanoTime() - start < 5_000_000_000L);
+        assertTrue(output.indexOf('*') != -1);
+        assertTrue(output.indexOf('-') != -1);
+        assertTrue(output.length() > 2001 * 2001 * 2);
+    }
+}
@@ -0,0 +1,101 @@
+package tests.dev;
+
+import java.util.List;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import maze.Maze;
+import maze.MultipleExitException;
+import maze.PackedGrid;
+import maze.Tile;
+import maze.routing.NearestExitSearch;
+import maze.routing.RouteFinder;
+
+public class NearestExitSearchTest {
+
+    // ~~~~~~~~~~ Utility Functions ~~~~~~~~~~
+
+    private Maze loadMultipleExits() {
+        try {
+            return Maze.fromTxt("../mazes/invalid/multipleExit.txt", true);
+        } catch (Exception e) {
+            fail(e.getClass().getName() + ": " + e.getMessage());
+        }
+        return null;
+    }
+
+    // ~~~~~~~~~~ Functionality tests ~~~~~~~~~~
+
+    @Test
+    public void ensureMultipleExitsRejectedByDefault() {
+        try {
+            Maze.fromTxt("../mazes/invalid/multipleExit.txt");
+            fail("Expected MultipleExitException");
+        } catch (MultipleExitException e) {
+        } catch (Exception e) {
+            fail(e.getClass().getName() + ": " + e.getMessage());
+        }
+    }
+
+    @Test
+    public void ensureMultipleExitsLoadedWhenAllowed() {
+        Maze maze = loadMultipleExits();
+        assertEquals(2, maze.getExits().size());
+        assertSame(maze.getExit(), maze.getExits().get(0));
+        for (Tile exit: maze.getExits()) {
+            assertSame(Tile.Type.EXIT, exit.getType());
+        }
+    }
+
+    @Test
+    public void ensureRouteReachesNearestExit() {
+        Maze maze = loadMultipleExits();
+        PackedGrid grid = maze.getGrid();
+        int[] distances = grid.distancesFrom(grid.indexOf(PackedGrid.ENTRANCE));
+        int shortest = Integer.MAX_VALUE;
+        for (int i = 0; i < grid.size(); i++) {
+            if (grid.get(i) == PackedGrid.EXIT && distances[i] != -1) {
+                shortest = Math.min(shortest, distances[i]);
+            }
+        }
+        NearestExitSearch search = new NearestExitSearch();
+        List<Tile> route = search.findRoute(maze);
+        assertEquals(shortest + 1, route.size());
+        assertSame(maze.getEntrance(), route.get(0));
+        assertSame(search.getNearestExit(maze.getEntrance()), route.get(route.size() - 1));
+        assertEquals(shortest, search.getCost(maze.getEntrance()));
+    }
+
+    @Test
+    public void ensureEveryTileAssignedToNearestExit() {
+        Maze maze = loadMultipleExits();
+        PackedGrid grid = maze.getGrid();
+        NearestExitSearch search = new NearestExitSearch();
+        search.search(maze);
+        int[] assignments = search.getAssignments();
+        for (int i = 0; i < grid.size(); i++) {
+            if (!grid.isNavigable(i)) {
+                assertEquals(-1, assignments[i]);
+                continue;
+            }
+            int[] distances = grid.distancesFrom(i);
+            int shortest = Integer.MAX_VALUE;
+            for (int j = 0; j < grid.size(); j++) {
+                if (grid.get(j) == PackedGrid.EXIT && distances[j] != -1) {
+                    shortest = Math.min(shortest, distances[j]);
+                }
+            }
+            assertEquals(shortest, distances[assignments[i]]);
+        }
+    }
+
+    @Test
+    public void ensureRouteFinderStopsAtAnyExit() {
+        Maze maze = loadMultipleExits();
+        RouteFinder finder = new RouteFinder(maze);
+        for (int i = 0; i < 200; ++i) if (finder.step()) break;
+        assertTrue(finder.isFinished());
+        assertSame(Tile.Type.EXIT, finder.peek().getType());
+    }
+}
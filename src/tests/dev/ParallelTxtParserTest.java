@@ -0,0 +1,141 @@
+package tests.dev;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import maze.InvalidMazeException;
+import maze.MultipleEntranceException;
+import maze.MultipleExitException;
+import maze.NoEntranceException;
+import maze.NoExitException;
+import maze.PackedGrid;
+import maze.ParallelTxtParser;
+import maze.RaggedMazeException;
+import maze.TxtParser;
+import maze.generation.EllerGenerator;
+
+public class ParallelTxtParserTest {
+
+    private PackedGrid parse(String text, boolean multipleExits) throws Exception {
+        Path file = Files.createTempFile("parallel", ".txt");
+        try {
+            Files.write(file, text.getBytes(StandardCharsets.US_ASCII));
+            return ParallelTxtParser.parse(file, multipleExits, 4);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private PackedGrid parse(String text) throws Exception {
+        return parse(text, false);
+    }
+
+    // ~~~~~~~~~~ Functionality tests ~~~~~~~~~~
+
+    @Test
+    public void ensureMatchesSequentialParser() throws Exception {
+        Path file = Files.createTempFile("parallel", ".txt");
+        try {
+            EllerGenerator.write(120, 90, 11, file);
+            PackedGrid expected = TxtParser.parse(file, false);
+            for (int threads = 1; threads <= 5; threads++) {
+                PackedGrid grid = ParallelTxtParser.parse(file, false, threads);
+                assertEquals(expected.getWidth(), grid.getWidth());
+                assertEquals(expected.getHeight(), grid.getHeight());
+                for (int i = 0; i < grid.size(); i++) {
+                    assertEquals(expected.get(i), grid.get(i));
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void ensureLineEndingsAreAllAccepted() throws Exception {
+        String[] texts = {"e.#\n#.#\n..#\n#.x", "e.#\n#.#\n..#\n#.x\n",
+                          "e.#\r\n#.#\r\n..#\r\n#.x\r\n", "e.#\r#.#\r..#\r#.x"};
+        for (String text: texts) {
+            PackedGrid grid = parse(text);
+            assertEquals(3, grid.getWidth());
+            assertEquals(4, grid.getHeight());
+            assertEquals(PackedGrid.ENTRANCE, grid.get(0, 0));
+            assertEquals(PackedGrid.EXIT, grid.get(2, 3));
+        }
+    }
+
+    @Test
+    public void ensureMixedLineEndingsFallBackToSequential() throws Exception {
+        PackedGrid grid = parse("e.#\r\n#.#\n..#\r\n#.x");
+        assertEquals(4, grid.getHeight());
+        assertEquals(PackedGrid.EXIT, grid.get(2, 3));
+    }
+
+    @Test
+    public void ensureMultipleExitsAreAccepted() throws Exception {
+        PackedGrid grid = parse("e.x\n...\n..#\n.#x", true);
+        assertEquals(PackedGrid.EXIT, grid.get(2, 0));
+        assertEquals(PackedGrid.EXIT, grid.get(2, 3));
+    }
+
+    // ~~~~~~~~~~ Error tests ~~~~~~~~~~
+
+    @Test(expected = RaggedMazeException.class)
+    public void ensureShortRowIsRagged() throws Exception {
+        parse("e.#\n...\n?e\n..#\n..x");
+    }
+
+    @Test(expected = RaggedMazeException.class)
+    public void ensureLongRowIsRagged() throws Exception {
+        parse("e.#\n...\n?e..\n..#\n.x");
+    }
+
+    @Test(expected = InvalidMazeException.class)
+    public void ensureErrorBeforeRaggedRowIsReported() throws Exception {
+        parse("e.#\n.?.\n...\n....\n.x");
+    }
+
+    @Test(expected = MultipleEntranceException.class)
+    public void ensureEarliestErrorAcrossRangesWins() throws Exception {
+        parse("e.#\n...\n.e.\n...\n...\n...\n..?\n..x");
+    }
+
+    @Test(expected = InvalidMazeException.class)
+    public void ensureFirstErrorInRowWins() throws Exception {
+        parse("e.#.\n..?e\n....\n..x.");
+    }
+
+    @Test(expected = MultipleExitException.class)
+    public void ensureMultipleExitsAreRejected() throws Exception {
+        parse("e.x\n...\n...\n..x");
+    }
+
+    @Test(expected = NoExitException.class)
+    public void ensureNoExitIsCheckedBeforeNoEntrance() throws Exception {
+        parse("...\n...\n...\n...");
+    }
+
+    @Test(expected = NoEntranceException.class)
+    public void ensureNoEntranceIsReported() throws Exception {
+        parse("...\n...\n...\n..x");
+    }
+
+    @Test(expected = RaggedMazeException.class)
+    public void ensureBlankLineAtEndIsRagged() throws Exception {
+        parse("e.#\n...\n..x\n\n");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ensureThreadsMustBePositive() throws Exception {
+        Path file = Files.createTempFile("parallel", ".txt");
+        try {
+            ParallelTxtParser.parse(file, false, 0);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
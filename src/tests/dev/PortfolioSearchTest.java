@@ -0,0 +1,90 @@
+package tests.dev;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import maze.Maze;
+import maze.PackedGrid;
+import maze.Tile;
+import maze.routing.BidirectionalSearch;
+import maze.routing.BreadthFirstSearch;
+import maze.routing.DepthFirstSearch;
+import maze.routing.PortfolioSearch;
+import maze.routing.PortfolioSearch.Strategy;
+
+public class PortfolioSearchTest {
+
+    // ~~~~~~~~~~ Utility Functions ~~~~~~~~~~
+
+    private Maze load(String filename) {
+        try {
+            return Maze.fromTxt(filename);
+        } catch (Exception e) {
+            fail(e.getClass().getName() + ": " + e.getMessage());
+        }
+        return null;
+    }
+
+    private int shortestLength(Maze maze) {
+        PackedGrid grid = maze.getGrid();
+        int[] distances = grid.distancesFrom(grid.indexOf(PackedGrid.ENTRANCE));
+        return distances[grid.indexOf(PackedGrid.EXIT)] + 1;
+    }
+
+    private void ensureConnectedRoute(Maze maze, List<Tile> route) {
+        assertSame(maze.getEntrance(), route.get(0));
+        assertSame(maze.getExit(), route.get(route.size() - 1));
+        for (int i = 1; i < route.size(); i++) {
+            Maze.Coordinate a = maze.getTileLocation(route.get(i - 1));
+            Maze.Coordinate b = maze.getTileLocation(route.get(i));
+            int moved = Math.abs(a.getX() - b.getX()) + Math.abs(a.getY() - b.getY());
+            assertEquals(1, moved);
+            assertTrue(route.get(i).isNavigable());
+        }
+    }
+
+    // ~~~~~~~~~~ Functionality tests ~~~~~~~~~~
+
+    @Test
+    public void ensureBreadthFirstAndBidirectionalAreShortest() {
+        Maze maze = load("../mazes/maze3.txt");
+        List<Tile> bfs = new BreadthFirstSearch().findRoute(maze);
+        List<Tile> bidirectional = new BidirectionalSearch().findRoute(maze);
+        assertEquals(shortestLength(maze), bfs.size());
+        assertEquals(shortestLength(maze), bidirectional.size());
+        ensureConnectedRoute(maze, bfs);
+        ensureConnectedRoute(maze, bidirectional);
+    }
+
+    @Test
+    public void ensureDepthFirstFindsConnectedRoute() {
+        Maze maze = load("../mazes/maze2.txt");
+        ensureConnectedRoute(maze, new DepthFirstSearch().findRoute(maze));
+    }
+
+    @Test
+    public void ensurePortfolioReturnsRouteAndRecordsWinner() {
+        Maze maze = load("../mazes/maze3.txt");
+        PortfolioSearch portfolio = new PortfolioSearch();
+        ensureConnectedRoute(maze, portfolio.findRoute(maze));
+        assertNotNull(portfolio.getWinner());
+        assertEquals(1, portfolio.getWins(maze, portfolio.getWinner()));
+    }
+
+    @Test
+    public void ensureWinsChooseDefaultStrategy() {
+        Maze maze = load("../mazes/maze3.txt");
+        PortfolioSearch portfolio = new PortfolioSearch(EnumSet.of(Strategy.BFS));
+        assertSame(Strategy.ASTAR, portfolio.getPreferredStrategy(maze));
+        for (int i = 0; i < 3; i++) {
+            portfolio.findRoute(maze);
+        }
+        assertSame(Strategy.BFS, portfolio.getWinner());
+        assertEquals(3, portfolio.getWins(maze, Strategy.BFS));
+        assertSame(Strategy.BFS, portfolio.getPreferredStrategy(maze));
+        assertTrue(portfolio.getDefaultSearch(maze) instanceof BreadthFirstSearch);
+    }
+}
@@ -0,0 +1,99 @@
+package tests.dev;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import maze.Maze;
+import maze.PackedGrid;
+import maze.Tile;
+import maze.generation.RecursiveDivision;
+
+public class RecursiveDivisionTest {
+
+    // ~~~~~~~~~~ Functionality tests ~~~~~~~~~~
+
+    @Test
+    public void ensureGeneratedMazeHasCornerEntranceAndExit() {
+        Maze maze = Maze.fromRecursiveDevision(31, 17);
+        List<List<Tile>> tiles = maze.getTiles();
+        assertEquals(17, tiles.size());
+        assertEquals(31, tiles.get(0).size());
+        assertSame(maze.getEntrance(), tiles.get(0).get(0));
+        assertSame(maze.getExit(), tiles.get(16).get(30));
+        int entrances = 0;
+        int exits = 0;
+        for (List<Tile> row: tiles) {
+            for (Tile tile: row) {
+                if (tile.getType() == Tile.Type.ENTRANCE) entrances++;
+                if (tile.getType() == Tile.Type.EXIT) exits++;
+            }
+        }
+        assertEquals(1, entrances);
+        assertEquals(1, exits);
+    }
+
+    @Test
+    public void ensureWallsAlwaysHaveAnOpening() {
+        PackedGrid grid = RecursiveDivision.generate(40, 40, 7);
+        for (int row = 0; row < grid.getHeight(); row++) {
+            boolean open = false;
+            for (int column = 0; column < grid.getWidth(); column++) {
+                open |= grid.isNavigable(grid.index(column, row));
+            }
+            assertTrue(open);
+        }
+    }
+
+    @Test
+    public void ensureLargeMazeDoesNotOverflowSmallStack() throws Exception {
+        final Throwable[] error = new Throwable[1];
+        Thread thread = new Thread(null, () -> {
+            try {
+                RecursiveDivision.generate(3000, 3000, 1);
+            } catch (Throwable e) {
+                error[0] = e;
+            }
+        }, "small-stack", 64 * 1024);
+        thread.start();
+        thread.join();
+        assertNull(error[0]);
+    }
+
+    @Test
+    public void ensureParallelMatchesSequentialForSeed() {
+        PackedGrid sequential = RecursiveDivision.generate(700, 500, 42L);
+        for (int threads: new int[] {1, 4}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                PackedGrid parallel = RecursiveDivision.generateParallel(700, 500, 42L, pool);
+                for (int i = 0; i < sequential.size(); i++) {
+                    assertEquals(sequential.get(i), parallel.get(i));
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void ensureSeedIdentifiesMaze() {
+        Maze first = Maze.fromRecursiveDevision(45, 30, 1234L);
+        Maze second = Maze.fromRecursiveDevision(45, 30, 1234L);
+        Maze parallel = Maze.fromRecursiveDevisionParallel(45, 30, 1234L);
+        assertEquals(first.toString(), second.toString());
+        assertEquals(first.toString(), parallel.toString());
+        assertEquals(Long.valueOf(1234L), first.getSeed());
+        assertNotEquals(first.toString(), Maze.fromRecursiveDevision(45, 30, 4321L).toString());
+    }
+
+    @Test
+    public void ensureRandomMazeCanBeRegeneratedFromItsSeed() {
+        Maze random = Maze.fromRecursiveDevision(20, 20);
+        assertNotNull(random.getSeed());
+        Maze again = Maze.fromRecursiveDevision(20, 20, random.getSeed());
+        assertEquals(random.toString(), again.toString());
+    }
+}
@@ -0,0 +1,195 @@
+package tests.dev;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import maze.BinaryFormat;
+import maze.InvalidMazeException;
+import maze.Maze;
+import maze.MultipleExitException;
+import maze.NoExitException;
+import maze.PackedGrid;
+import maze.RaggedMazeException;
+import maze.TxtParser;
+
+public class RegionLoadingTest {
+
+    private static final String SYMBOLS = ".ex#,~%";
+
+    private PackedGrid randomGrid(int width, int height, long seed) {
+        Random random = new Random(seed);
+        PackedGrid grid = new PackedGrid(width, height);
+        for (int i = 0; i < grid.size(); i++) {
+            int roll = random.nextInt(10);
+            grid.set(i, roll < 4 ? PackedGrid.WALL
+                        : roll < 6 ? (byte) (PackedGrid.ROUGH + roll % 3)
+                        : PackedGrid.CORRIDOR);
+        }
+        grid.set(10, 8, PackedGrid.ENTRANCE);
+        grid.set(20, 15, PackedGrid.EXIT);
+        return grid;
+    }
+
+    private Path writeText(PackedGrid grid, String lineEnd) throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int row = 0; row < grid.getHeight(); row++) {
+            for (int column = 0; column < grid.getWidth(); column++) {
+                text.append(SYMBOLS.charAt(grid.get(column, row)));
+            }
+            text.append(lineEnd);
+        }
+        Path file = Files.createTempFile("region", ".txt");
+        Files.write(file, text.toString().getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+
+    private void assertWindow(PackedGrid full, PackedGrid region, int column, int row) {
+        for (int y = 0; y < region.getHeight(); y++) {
+            for (int x = 0; x < region.getWidth(); x++) {
+                assertEquals(full.get(column + x, row + y), region.get(x, y));
+            }
+        }
+    }
+
+    // ~~~~~~~~~~ Functionality tests ~~~~~~~~~~
+
+    @Test
+    public void ensureTextWindowMatchesWholeMaze() throws Exception {
+        PackedGrid full = randomGrid(41, 30, 3);
+        for (String lineEnd : new String[] {"\n", "\r\n"}) {
+            Path file = writeText(full, lineEnd);
+            try {
+                Maze maze = Maze.fromTxt(file.toString(), 7, 5, 17, 14);
+                assertEquals(17, maze.getGrid().getWidth());
+                assertEquals(14, maze.getGrid().getHeight());
+                assertWindow(full, maze.getGrid(), 7, 5);
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void ensureBinaryWindowMatchesWholeMaze() throws Exception {
+        PackedGrid full = randomGrid(43, 30, 5);
+        Path file = Files.createTempFile("region", ".maze");
+        try {
+            BinaryFormat.write(full, file);
+            for (int column = 0; column < 11; column++) {
+                Maze maze = Maze.fromBinary(file.toString(), column, 8, 21 - column, 8);
+                assertWindow(full, maze.getGrid(), column, 8);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void ensureCoordinatesTranslateToWholeMaze() throws Exception {
+        PackedGrid full = randomGrid(41, 30, 7);
+        Path file = writeText(full, "\n");
+        try {
+            Maze whole = Maze.fromTxt(file.toString());
+            Maze window = Maze.fromTxt(file.toString(), 7, 5, 17, 14);
+            assertEquals("(0, 0)", whole.getOrigin().toString());
+            assertEquals("(7, 11)", window.getOrigin().toString());
+            assertEquals(whole.getTileLocation(whole.getEntrance()).toString(),
+                         window.toOriginal(window.getTileLocation(window.getEntrance()))
+                               .toString());
+            Maze.Coordinate exit = whole.getTileLocation(whole.getExit());
+            assertEquals(window.getTileLocation(window.getExit()).toString(),
+                         window.fromOriginal(exit).toString());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void ensureInvalidCharacterOutsideWindowIsNotRead() throws Exception {
+        Path file = Files.createTempFile("region", ".txt");
+        try {
+            Files.write(file, "?#####\n#e..x#\n######\n".getBytes(StandardCharsets.US_ASCII));
+            PackedGrid region = TxtParser.parseRegion(file, 1, 1, 4, 1);
+            assertEquals(PackedGrid.ENTRANCE, region.get(0, 0));
+            assertEquals(PackedGrid.EXIT, region.get(3, 0));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void ensureTextWindowKeepsMultipleExits() throws Exception {
+        Path file = Files.createTempFile("region", ".txt");
+        try {
+            Files.write(file, "#######\n#x.e.x#\n#######\n".getBytes(StandardCharsets.US_ASCII));
+            Maze maze = Maze.fromTxt(file.toString(), 1, 1, 5, 1, true);
+            assertEquals(2, maze.getExits().size());
+            assertEquals("(1, 1)", maze.getOrigin().toString());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    // ~~~~~~~~~~ Error tests ~~~~~~~~~~
+
+    @Test(expected = InvalidMazeException.class)
+    public void ensureInvalidCharacterInWindowIsRejected() throws Exception {
+        Path file = Files.createTempFile("region", ".txt");
+        try {
+            Files.write(file, "######\n#e.?x#\n######\n".getBytes(StandardCharsets.US_ASCII));
+            TxtParser.parseRegion(file, 1, 1, 4, 1);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(expected = RaggedMazeException.class)
+    public void ensureRaggedFileIsRejected() throws Exception {
+        Path file = Files.createTempFile("region", ".txt");
+        try {
+            Files.write(file, "######\n#e..x#\n####\n".getBytes(StandardCharsets.US_ASCII));
+            TxtParser.parseRegion(file, 1, 1, 4, 1);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(expected = MultipleExitException.class)
+    public void ensureTextWindowWithTwoExitsIsRejectedByDefault() throws Exception {
+        Path file = Files.createTempFile("region", ".txt");
+        try {
+            Files.write(file, "#######\n#x.e.x#\n#######\n".getBytes(StandardCharsets.US_ASCII));
+            Maze.fromTxt(file.toString(), 1, 1, 5, 1);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ensureWindowOutsideMazeIsRejected() throws Exception {
+        Path file = writeText(randomGrid(41, 30, 3), "\n");
+        try {
+            Maze.fromTxt(file.toString(), 30, 5, 12, 14);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(expected = NoExitException.class)
+    public void ensureWindowWithoutExitIsRejected() throws Exception {
+        PackedGrid full = randomGrid(41, 30, 3);
+        Path file = Files.createTempFile("region", ".maze");
+        try {
+            BinaryFormat.write(full, file);
+            Maze.fromBinary(file.toString(), 0, 0, 15, 15);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
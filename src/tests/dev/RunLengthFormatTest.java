@@ -0,0 +1,163 @@
+package tests.dev;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import maze.Maze;
+import maze.PackedGrid;
+import maze.RunLengthFormat;
+import maze.generation.CaveGenerator;
+import maze.generation.KruskalGenerator;
+import maze.generation.RecursiveDivision;
+
+public class RunLengthFormatTest {
+
+    private byte[] write(PackedGrid grid) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RunLengthFormat.write(grid, Channels.newChannel(out));
+        return out.toByteArray();
+    }
+
+    private PackedGrid read(byte[] bytes) throws IOException {
+        return RunLengthFormat.read(Channels.newChannel(new ByteArrayInputStream(bytes)));
+    }
+
+    private void assertSameGrid(PackedGrid expected, PackedGrid actual) {
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    // ~~~~~~~~~~ Functionality tests ~~~~~~~~~~
+
+    @Test
+    public void ensureGeneratedGridsSurviveRoundTrip() throws Exception {
+        PackedGrid[] grids = {RecursiveDivision.generate(301, 207, 1),
+                              KruskalGenerator.generate(150, 100, 2),
+                              CaveGenerator.generate(200, 130, 3)};
+        for (PackedGrid grid: grids) {
+            assertSameGrid(grid, read(write(grid)));
+        }
+    }
+
+    @Test
+    public void ensureStreamArrivingInSmallPiecesDecodes() throws Exception {
+        PackedGrid grid = RecursiveDivision.generate(401, 301, 9);
+        ByteBuffer bytes = ByteBuffer.wrap(write(grid));
+        // Hands out at most three bytes per read
+        ReadableByteChannel trickle = new ReadableByteChannel() {
+            public int read(ByteBuffer dst) {
+                if (!bytes.hasRemaining()) {
+                    return -1;
+                }
+                int count = Math.min(3, Math.min(dst.remaining(), bytes.remaining()));
+                for (int i = 0; i < count; i++) {
+                    dst.put(bytes.get());
+                }
+                return count;
+            }
+            public boolean isOpen() {
+                return true;
+            }
+            public void close() {
+            }
+        };
+        assertSameGrid(grid, RunLengthFormat.read(trickle));
+    }
+
+    @Test
+    public void ensureTerrainSurvivesRoundTrip() throws Exception {
+        PackedGrid grid = new PackedGrid(40, 3);
+        grid.fill(0, 40, PackedGrid.WATER);
+        grid.set(0, 1, PackedGrid.ENTRANCE);
+        grid.set(39, 2, PackedGrid.EXIT);
+        grid.set(5, 2, PackedGrid.MUD);
+        grid.set(6, 2, PackedGrid.ROUGH);
+        assertSameGrid(grid, read(write(grid)));
+    }
+
+    @Test
+    public void ensureDivisionMazeShrinks() throws Exception {
+        PackedGrid grid = RecursiveDivision.generate(1001, 1001, 4);
+        long text = (long) (grid.getWidth() + 1) * grid.getHeight();
+        assertTrue(write(grid).length * 3 < text);
+    }
+
+    @Test
+    public void ensureRegionMatchesWholeGrid() throws Exception {
+        PackedGrid grid = RecursiveDivision.generate(301, 401, 6);
+        Path file = Files.createTempFile("runs", ".mzr");
+        try {
+            RunLengthFormat.write(grid, file);
+            int[][] regions = {{0, 0, 301, 401}, {10, 60, 50, 10}, {250, 128, 51, 200},
+                               {0, 400, 1, 1}, {7, 63, 3, 2}};
+            for (int[] region: regions) {
+                PackedGrid part = RunLengthFormat.readRegion(file, region[0], region[1],
+                                                             region[2], region[3]);
+                for (int row = 0; row < region[3]; row++) {
+                    for (int column = 0; column < region[2]; column++) {
+                        assertEquals(grid.get(region[0] + column, region[1] + row),
+                                     part.get(column, row));
+                    }
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void ensureMazeSurvivesRoundTrip() throws Exception {
+        Maze maze = Maze.fromRecursiveDevision(31, 21, 3);
+        Path file = Files.createTempFile("runs", ".mzr");
+        try {
+            maze.toRunLength(file.toString());
+            assertEquals(maze.toString(), Maze.fromRunLength(file.toString()).toString());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    // ~~~~~~~~~~ Error tests ~~~~~~~~~~
+
+    @Test(expected = IOException.class)
+    public void ensureChangedByteFailsChecksum() throws Exception {
+        byte[] bytes = write(KruskalGenerator.generate(20, 20, 1));
+        bytes[30] ^= 1;
+        read(bytes);
+    }
+
+    @Test(expected = IOException.class)
+    public void ensureTruncatedStreamIsRejected() throws Exception {
+        byte[] bytes = write(KruskalGenerator.generate(20, 20, 1));
+        read(Arrays.copyOf(bytes, bytes.length - 20));
+    }
+
+    @Test(expected = IOException.class)
+    public void ensureOtherFormatIsRejected() throws Exception {
+        read("e.#\n#.x\n................".getBytes());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ensureRegionOutsideMazeIsRejected() throws Exception {
+        Path file = Files.createTempFile("runs", ".mzr");
+        try {
+            RunLengthFormat.write(KruskalGenerator.generate(10, 10, 1), file);
+            RunLengthFormat.readRegion(file, 15, 0, 10, 5);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package tests.dev;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import maze.PackedGrid;
+import maze.generation.RecursiveDivision;
+import maze.generation.Solvability;
+
+public class SolvabilityTest {
+
+    private PackedGrid fromRows(String... rows) {
+        PackedGrid grid = new PackedGrid(rows[0].length(), rows.length);
+        for (int row = 0; row < rows.length; row++) {
+            for (int column = 0; column < rows[row].length(); column++) {
+                grid.set(column, row, PackedGrid.codeOf(rows[row].charAt(column)));
+            }
+        }
+        return grid;
+    }
+
+    private int countWalls(PackedGrid grid) {
+        int walls = 0;
+        for (int i = 0; i < grid.size(); i++) {
+            if (!grid.isNavigable(i)) walls++;
+        }
+        return walls;
+    }
+
+    // ~~~~~~~~~~ Functionality tests ~~~~~~~~~~
+
+    @Test
+    public void ensureConnectedGridIsSolvable() {
+        PackedGrid grid = fromRows("e.#.",
+                                   "#...",
+                                   "##.x");
+        assertTrue(Solvability.isSolvable(grid));
+        assertEquals(0, Solvability.repair(grid));
+        assertEquals(4, countWalls(grid));
+    }
+
+    @Test
+    public void ensureRepairCarvesThroughEachWall() {
+        PackedGrid grid = fromRows("e.#.#..",
+                                   "..#.#..",
+                                   "..#.#.x");
+        assertFalse(Solvability.isSolvable(grid));
+        assertEquals(2, Solvability.repair(grid));
+        assertTrue(Solvability.isSolvable(grid));
+        assertEquals(4, countWalls(grid));
+    }
+
+    @Test
+    public void ensureRepairCarvesFewestWalls() {
+        // Straight across is three walls, but the gap needs only one
+        PackedGrid grid = fromRows("e.###..",
+                                   "..###..",
+                                   "..###..",
+                                   "...#..x");
+        assertEquals(1, Solvability.repair(grid));
+        assertEquals(PackedGrid.CORRIDOR, grid.get(3, 3));
+        assertTrue(Solvability.isSolvable(grid));
+    }
+
+    @Test
+    public void ensureRecursiveDivisionIsAlwaysSolvable() {
+        for (int seed = 0; seed < 200; seed++) {
+            int size = 5 + seed % 40;
+            assertTrue(Solvability.isSolvable(RecursiveDivision.generate(size, size + 7, seed)));
+        }
+    }
+
+    @Test
+    public void ensureGridWithoutExitIsNotSolvable() {
+        assertFalse(Solvability.isSolvable(fromRows("e..", "...")));
+    }
+
+    // ~~~~~~~~~~ Error tests ~~~~~~~~~~
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ensureRepairNeedsAnExit() {
+        Solvability.repair(fromRows("e..", "..."));
+    }
+}
@@ -0,0 +1,110 @@
+package tests.dev;
+
+import java.util.List;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import maze.Maze;
+import maze.PackedGrid;
+import maze.Tile;
+import maze.generation.KruskalGenerator;
+import maze.generation.PrimGenerator;
+import maze.generation.WilsonGenerator;
+import maze.routing.BreadthFirstSearch;
+
+public class SpanningTreeGeneratorTest {
+
+    private PackedGrid[] generate(int width, int height, long seed) {
+        return new PackedGrid[] {
+            KruskalGenerator.generate(width, height, seed),
+            WilsonGenerator.generate(width, height, seed),
+            PrimGenerator.generate(width, height, seed)
+        };
+    }
+
+    private int countCells(PackedGrid grid) {
+        int cells = 0;
+        for (int row = 1; row < grid.getHeight(); row += 2) {
+            for (int column = 1; column < grid.getWidth(); column += 2) {
+                if (grid.isNavigable(grid.index(column, row))) cells++;
+            }
+        }
+        return cells;
+    }
+
+    private int countPassages(PackedGrid grid) {
+        // Only inside the cells, leaving out the entrance and exit
+        int height = (grid.getHeight() - 1) / 2 * 2;
+        int width = (grid.getWidth() - 1) / 2 * 2;
+        int passages = 0;
+        for (int row = 1; row < height; row++) {
+            for (int column = 1; column < width; column++) {
+                if ((row + column) % 2 == 1 && grid.isNavigable(grid.index(column, row))) {
+                    passages++;
+                }
+            }
+        }
+        return passages;
+    }
+
+    // ~~~~~~~~~~ Functionality tests ~~~~~~~~~~
+
+    @Test
+    public void ensureEveryCellIsCarvedAsASpanningTree() {
+        for (PackedGrid grid: generate(41, 31, 9)) {
+            assertEquals(20 * 15, countCells(grid));
+            assertEquals(20 * 15 - 1, countPassages(grid));
+        }
+    }
+
+    @Test
+    public void ensureEvenSizedMazeKeepsItsBorder() {
+        for (PackedGrid grid: generate(20, 14, 2)) {
+            for (int row = 0; row < grid.getHeight(); row++) {
+                assertFalse(grid.isNavigable(grid.index(19, row)));
+            }
+            assertEquals(9 * 6 - 1, countPassages(grid));
+        }
+    }
+
+    @Test
+    public void ensureGeneratedMazesAreSolvable() {
+        Maze[] mazes = {Maze.fromKruskal(61, 41, 4), Maze.fromWilson(61, 41, 4),
+                        Maze.fromPrim(61, 41, 4)};
+        for (Maze maze: mazes) {
+            List<List<Tile>> tiles = maze.getTiles();
+            assertSame(maze.getEntrance(), tiles.get(0).get(1));
+            assertSame(maze.getExit(), tiles.get(40).get(59));
+            List<Tile> route = new BreadthFirstSearch().findRoute(maze);
+            assertSame(maze.getExit(), route.get(route.size() - 1));
+            assertEquals(Long.valueOf(4), maze.getSeed());
+        }
+    }
+
+    @Test
+    public void ensureSmallestMazeIsSolvable() {
+        for (PackedGrid grid: generate(3, 3, 0)) {
+            Maze maze = Maze.fromGrid(grid);
+            assertEquals(3, new BreadthFirstSearch().findRoute(maze).size());
+        }
+    }
+
+    @Test
+    public void ensureSameSeedGivesSameMaze() {
+        PackedGrid[] first = generate(51, 51, 77);
+        PackedGrid[] second = generate(51, 51, 77);
+        for (int i = 0; i < first.length; i++) {
+            for (int j = 0; j < first[i].size(); j++) {
+                assertEquals(first[i].get(j), second[i].get(j));
+            }
+        }
+    }
+
+    // ~~~~~~~~~~ Error tests ~~~~~~~~~~
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ensureTooSmallMazeIsRejected() {
+        KruskalGenerator.generate(2, 10, 1);
+    }
+}
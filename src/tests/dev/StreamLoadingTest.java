@@ -0,0 +1,110 @@
+package tests.dev;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import maze.InvalidMazeException;
+import maze.Maze;
+import maze.NoExitException;
+import maze.RaggedMazeException;
+
+public class StreamLoadingTest {
+
+    private byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream zip = new GZIPOutputStream(out)) {
+            zip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    // Hands out a few bytes per read, as a pipe might
+    private InputStream trickle(byte[] bytes) {
+        return new FilterInputStream(new ByteArrayInputStream(bytes)) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return super.read(b, off, Math.min(len, 3));
+            }
+        };
+    }
+
+    // ~~~~~~~~~~ Functionality tests ~~~~~~~~~~
+
+    @Test
+    public void ensureStreamMatchesFile() throws Exception {
+        for (String file: new String[] {"../mazes/maze1.txt", "../mazes/maze3.txt"}) {
+            byte[] bytes = Files.readAllBytes(Paths.get(file));
+            String expected = Maze.fromTxt(file).toString();
+            assertEquals(expected, Maze.fromTxt(new ByteArrayInputStream(bytes)).toString());
+            assertEquals(expected, Maze.fromTxt(trickle(bytes)).toString());
+            assertEquals(expected, Maze.fromTxt(Channels.newChannel(
+                new ByteArrayInputStream(bytes)), false).toString());
+        }
+    }
+
+    @Test
+    public void ensureGzipIsDecompressed() throws Exception {
+        byte[] bytes = Files.readAllBytes(Paths.get("../mazes/weighted.txt"));
+        String expected = Maze.fromTxt("../mazes/weighted.txt").toString();
+        byte[] zipped = gzip(bytes);
+        assertEquals(expected, Maze.fromTxt(trickle(zipped)).toString());
+        assertEquals(expected, Maze.fromTxt(Channels.newChannel(
+            new ByteArrayInputStream(zipped)), false).toString());
+    }
+
+    @Test
+    public void ensureGzipFileIsDecompressed() throws Exception {
+        byte[] bytes = Files.readAllBytes(Paths.get("../mazes/maze2.txt"));
+        Path file = Files.createTempFile("stream", ".txt.gz");
+        try {
+            Files.write(file, gzip(bytes));
+            assertEquals(Maze.fromTxt("../mazes/maze2.txt").toString(),
+                         Maze.fromTxt(file.toString()).toString());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void ensureMultipleExitsAreKept() throws Exception {
+        byte[] bytes = "e.x\n#.#\nx..\n".getBytes();
+        Maze maze = Maze.fromTxt(new ByteArrayInputStream(gzip(bytes)), true);
+        assertEquals(2, maze.getExits().size());
+    }
+
+    // ~~~~~~~~~~ Error tests ~~~~~~~~~~
+
+    @Test(expected = RaggedMazeException.class)
+    public void ensureRaggedStreamIsRejected() throws Exception {
+        Maze.fromTxt(trickle("e.#\n#.\n..x\n".getBytes()));
+    }
+
+    @Test(expected = InvalidMazeException.class)
+    public void ensureInvalidGzipContentIsRejected() throws Exception {
+        Maze.fromTxt(new ByteArrayInputStream(gzip("e.#\n#?x\n".getBytes())));
+    }
+
+    @Test(expected = NoExitException.class)
+    public void ensureEmptyStreamHasNoExit() throws Exception {
+        Maze.fromTxt(new ByteArrayInputStream(new byte[0]));
+    }
+
+    @Test(expected = IOException.class)
+    public void ensureTruncatedGzipIsRejected() throws Exception {
+        byte[] zipped = gzip(Files.readAllBytes(Paths.get("../mazes/maze3.txt")));
+        byte[] cut = new byte[zipped.length / 2];
+        System.arraycopy(zipped, 0, cut, 0, cut.length);
+        Maze.fromTxt(new ByteArrayInputStream(cut));
+    }
+}
@@ -0,0 +1,156 @@
+package tests.dev;
+
+import java.io.FileNotFoundException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import maze.InvalidMazeException;
+import maze.Maze;
+import maze.MultipleEntranceException;
+import maze.MultipleExitException;
+import maze.NoEntranceException;
+import maze.NoExitException;
+import maze.PackedGrid;
+import maze.RaggedMazeException;
+import maze.TxtParser;
+import maze.generation.EllerGenerator;
+
+public class TxtParserTest {
+
+    private PackedGrid parse(String text) {
+        TxtParser parser = new TxtParser(false);
+        parser.feed(ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII)));
+        return parser.finish();
+    }
+
+    // ~~~~~~~~~~ Functionality tests ~~~~~~~~~~
+
+    @Test
+    public void ensureLineEndingsAreAllAccepted() {
+        String[] texts = {"e.#\n#.x", "e.#\n#.x\n", "e.#\r\n#.x\r\n", "e.#\r#.x"};
+        for (String text: texts) {
+            PackedGrid grid = parse(text);
+            assertEquals(3, grid.getWidth());
+            assertEquals(2, grid.getHeight());
+            assertEquals(PackedGrid.ENTRANCE, grid.get(0, 0));
+            assertEquals(PackedGrid.EXIT, grid.get(2, 1));
+        }
+    }
+
+    @Test
+    public void ensureReturnRowFollowedByNewLineRowIsThreeRows() throws Exception {
+        String text = "e.\r..\n.x";
+        PackedGrid grid = parse(text);
+        assertEquals(2, grid.getWidth());
+        assertEquals(3, grid.getHeight());
+        assertEquals(PackedGrid.EXIT, grid.get(1, 2));
+        Path file = Files.createTempFile("parser", ".txt");
+        try {
+            Files.write(file, text.getBytes(StandardCharsets.US_ASCII));
+            assertEquals(3, Maze.fromTxt(file.toString()).getGrid().getHeight());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void ensureBytesFedInPiecesGiveSameGrid() {
+        byte[] text = "e.,~%\r\n#.#.#\r\n....x".getBytes(StandardCharsets.US_ASCII);
+        for (int split = 0; split <= text.length; split++) {
+            TxtParser parser = new TxtParser(false);
+            parser.feed(ByteBuffer.wrap(text, 0, split));
+            parser.feed(ByteBuffer.wrap(text, split, text.length - split));
+            PackedGrid grid = parser.finish();
+            assertEquals(3, grid.getHeight());
+            assertEquals(PackedGrid.MUD, grid.get(3, 0));
+            assertEquals(PackedGrid.EXIT, grid.get(4, 2));
+        }
+    }
+
+    @Test
+    public void ensureFromTxtMatchesGeneratedFile() throws Exception {
+        Path file = Files.createTempFile("parser", ".txt");
+        try {
+            EllerGenerator.write(300, 200, 4, file);
+            Maze maze = Maze.fromTxt(file.toString());
+            PackedGrid grid = maze.getGrid();
+            byte[] text = Files.readAllBytes(file);
+            int index = 0;
+            for (byte value: text) {
+                if (value != '\n') {
+                    assertEquals(PackedGrid.codeOf((char) value), grid.get(index++));
+                }
+            }
+            assertEquals(grid.size(), index);
+            assertEquals(401, maze.getTiles().size());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void ensureMultipleExitsAreKeptInFileOrder() {
+        TxtParser parser = new TxtParser(true);
+        parser.feed(ByteBuffer.wrap("e.x\n.#x".getBytes(StandardCharsets.US_ASCII)));
+        PackedGrid grid = parser.finish();
+        assertEquals(PackedGrid.EXIT, grid.get(2, 0));
+        assertEquals(PackedGrid.EXIT, grid.get(2, 1));
+    }
+
+    // ~~~~~~~~~~ Error tests ~~~~~~~~~~
+
+    @Test(expected = RaggedMazeException.class)
+    public void ensureRaggedRowIsReportedBeforeItsErrors() {
+        parse("e.#\n?ee#\n..x");
+    }
+
+    @Test(expected = RaggedMazeException.class)
+    public void ensureShortRowIsRagged() {
+        parse("e.#\n?e\n..x");
+    }
+
+    @Test(expected = RaggedMazeException.class)
+    public void ensureBlankLineAtEndIsRagged() {
+        parse("e.#\n..x\n\n");
+    }
+
+    @Test(expected = InvalidMazeException.class)
+    public void ensureInvalidCharacterIsReported() {
+        parse("e.#\n.?x");
+    }
+
+    @Test(expected = MultipleEntranceException.class)
+    public void ensureFirstErrorInRowWins() {
+        parse("e.#.\n.ex?\n..x.");
+    }
+
+    @Test(expected = MultipleExitException.class)
+    public void ensureMultipleExitsAreRejected() {
+        parse("e.x\n..x");
+    }
+
+    @Test(expected = NoExitException.class)
+    public void ensureNoExitIsCheckedBeforeNoEntrance() {
+        parse("...\n...");
+    }
+
+    @Test(expected = NoEntranceException.class)
+    public void ensureNoEntranceIsReported() {
+        parse("..x\n...");
+    }
+
+    @Test(expected = NoExitException.class)
+    public void ensureEmptyFileHasNoExit() {
+        parse("");
+    }
+
+    @Test(expected = FileNotFoundException.class)
+    public void ensureMissingFileIsNotFound() throws Exception {
+        Maze.fromTxt("../mazes/missing.txt");
+    }
+}
@@ -0,0 +1,130 @@
+package tests.dev;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import maze.Maze;
+import maze.PackedGrid;
+import maze.TxtWriter;
+
+public class TxtWriterTest {
+
+    // ~~~~~~~~~~ Functionality tests ~~~~~~~~~~
+
+    @Test
+    public void ensureMazeFilesAreWrittenBackExactly() throws Exception {
+        // Only files whose last row ends in a new line come back byte for byte
+        for (String file: new String[] {"../mazes/maze1.txt", "../mazes/maze2.txt",
+                                        "../mazes/maze3.txt"}) {
+            Path copy = Files.createTempFile("writer", ".txt");
+            try {
+                Maze.fromTxt(file).toTxt(copy);
+                assertArrayEquals(Files.readAllBytes(Paths.get(file)), Files.readAllBytes(copy));
+            } finally {
+                Files.delete(copy);
+            }
+        }
+    }
+
+    @Test
+    public void ensureFileWithoutFinalLineEndSurvivesRoundTrip() throws Exception {
+        // weighted.txt has no new line after its last row, which toTxt adds
+        Maze maze = Maze.fromTxt("../mazes/weighted.txt");
+        Path copy = Files.createTempFile("writer", ".txt");
+        try {
+            maze.toTxt(copy);
+            Maze loaded = Maze.fromTxt(copy.toString());
+            assertEquals(maze.toString(), loaded.toString());
+            assertEquals(maze.getGrid().getWidth(), loaded.getGrid().getWidth());
+            for (int i = 0; i < maze.getGrid().size(); i++) {
+                assertEquals(maze.getGrid().get(i), loaded.getGrid().get(i));
+            }
+        } finally {
+            Files.delete(copy);
+        }
+    }
+
+    @Test
+    public void ensureGeneratedMazeSurvivesRoundTrip() throws Exception {
+        Maze maze = Maze.fromRecursiveDevision(41, 31, 12);
+        Path file = Files.createTempFile("writer", ".txt");
+        try {
+            maze.toTxt(file.toString());
+            Maze loaded = Maze.fromTxt(file.toString());
+            assertEquals(maze.toString(), loaded.toString());
+            assertEquals(maze.getTileLocation(maze.getEntrance()).toString(),
+                         loaded.getTileLocation(loaded.getEntrance()).toString());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void ensureTerrainIsWritten() throws Exception {
+        Maze maze = Maze.fromTxt("../mazes/weighted.txt");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TxtWriter.write(maze.getGrid(), Channels.newChannel(out));
+        byte[] original = Files.readAllBytes(Paths.get("../mazes/weighted.txt"));
+        byte[] written = out.toByteArray();
+        assertEquals('\n', written[written.length - 1]);
+        assertArrayEquals(original, Arrays.copyOf(written, original.length));
+    }
+
+    @Test
+    public void ensureRowsWiderThanTheBufferAreWritten() throws Exception {
+        PackedGrid grid = new PackedGrid(1 << 21, 2);
+        grid.set(0, 0, PackedGrid.ENTRANCE);
+        grid.set((1 << 21) - 1, 1, PackedGrid.EXIT);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TxtWriter.write(grid, Channels.newChannel(out));
+        byte[] written = out.toByteArray();
+        assertEquals(2 * ((1 << 21) + 1), written.length);
+        assertEquals('e', written[0]);
+        assertEquals('x', written[written.length - 2]);
+        assertEquals('\n', written[1 << 21]);
+    }
+
+    @Test
+    public void ensureRowsAndBytesMatchGridWriter() throws Exception {
+        Maze maze = Maze.fromKruskal(23, 17, 3);
+        PackedGrid grid = maze.getGrid();
+        ByteArrayOutputStream whole = new ByteArrayOutputStream();
+        TxtWriter.write(grid, Channels.newChannel(whole));
+
+        ByteArrayOutputStream rows = new ByteArrayOutputStream();
+        TxtWriter writer = new TxtWriter(Channels.newChannel(rows), grid.getWidth());
+        byte[] row = new byte[grid.getWidth()];
+        for (int r = 0; r < grid.getHeight(); r++) {
+            for (int c = 0; c < row.length; c++) {
+                row[c] = grid.get(c, r);
+            }
+            writer.writeRow(row, 0, row.length);
+        }
+        writer.finish(false);
+
+        byte[] expected = whole.toByteArray();
+        byte[] withoutLineEnd = Arrays.copyOf(expected, expected.length - 1);
+        assertArrayEquals(withoutLineEnd, rows.toByteArray());
+        assertArrayEquals(withoutLineEnd, TxtWriter.toBytes(grid));
+    }
+
+    // ~~~~~~~~~~ Error tests ~~~~~~~~~~
+
+    @Test(expected = IOException.class)
+    public void ensureDirectoryIsNotOverwritten() throws Exception {
+        Path directory = Files.createTempDirectory("writer");
+        try {
+            Maze.fromTxt("../mazes/maze1.txt").toTxt(directory);
+        } finally {
+            Files.delete(directory);
+        }
+    }
+}